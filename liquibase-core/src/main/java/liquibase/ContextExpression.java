@@ -12,6 +12,8 @@ import java.util.regex.Pattern;
  */
 public class ContextExpression {
 
+    private static final Pattern PARENTHESIS_PATTERN = Pattern.compile("(.*?)\\((.*?)\\)(.*)");
+
     private HashSet<String> contexts = new HashSet<>();
     private String originalString;
 
@@ -88,7 +90,7 @@ public class ContextExpression {
         return false;
     }
 
-    private boolean matches(String expression, Contexts runtimeContexts) {
+    static boolean matches(String expression, Contexts runtimeContexts) {
         if (runtimeContexts.isEmpty()) {
             return true;
         }
@@ -101,8 +103,7 @@ public class ContextExpression {
         }
 
         while (expression.contains("(")) {
-            Pattern pattern = Pattern.compile("(.*?)\\((.*?)\\)(.*)");
-            Matcher matcher = pattern.matcher(expression);
+            Matcher matcher = PARENTHESIS_PATTERN.matcher(expression);
             if (!matcher.matches()) {
                 throw new UnexpectedLiquibaseException("Cannot parse context pattern "+expression);
             }
@@ -0,0 +1,65 @@
+package liquibase;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matches {@link ContextExpression}s against a fixed set of runtime contexts. Each distinct expression is only
+ * evaluated once, so matching the change sets of a large changelog, which tend to repeat the same few expressions,
+ * does not parse the same strings over and over.
+ * <p>
+ * Create one instance per run; the runtime contexts must not change while it is in use.
+ */
+public class ContextMatcher {
+
+    private final Contexts runtimeContexts;
+    private final Map<String, Boolean> results = new HashMap<>();
+
+    public ContextMatcher(Contexts runtimeContexts) {
+        this.runtimeContexts = runtimeContexts;
+    }
+
+    public Contexts getRuntimeContexts() {
+        return runtimeContexts;
+    }
+
+    /**
+     * Returns the same result as {@link ContextExpression#matches(Contexts)} for the runtime contexts.
+     */
+    public boolean matches(ContextExpression expression) {
+        if ((runtimeContexts == null) || runtimeContexts.isEmpty()) {
+            return true;
+        }
+        if ((expression == null) || expression.isEmpty()) {
+            return true;
+        }
+
+        for (String context : expression.getContexts()) {
+            Boolean result = results.get(context);
+            if (result == null) {
+                result = ContextExpression.matches(context, runtimeContexts);
+                results.put(context, result);
+            }
+            if (result) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the same result as {@link ContextExpression#matchesAll(Collection, Contexts)} for the runtime contexts.
+     */
+    public boolean matchesAll(Collection<ContextExpression> expressions) {
+        if ((expressions == null) || expressions.isEmpty()) {
+            return true;
+        }
+        for (ContextExpression expression : expressions) {
+            if (!matches(expression)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -9,6 +9,8 @@ import java.util.regex.Pattern;
 
 public class LabelExpression {
 
+    private static final Pattern PARENTHESIS_PATTERN = Pattern.compile("(.*?)\\(([^\\(\\)]*?)\\)(.*)");
+
     private HashSet<String> labels = new LinkedHashSet<>();
     private String originalString;
 
@@ -88,7 +90,7 @@ public class LabelExpression {
         return false;
     }
 
-    private boolean matches(String expression, Labels runtimeLabels) {
+    static boolean matches(String expression, Labels runtimeLabels) {
         if (runtimeLabels.isEmpty()) {
             return true;
         }
@@ -101,8 +103,7 @@ public class LabelExpression {
         }
 
         while (expression.contains("(")) {
-            Pattern pattern = Pattern.compile("(.*?)\\(([^\\(\\)]*?)\\)(.*)");
-            Matcher matcher = pattern.matcher(expression);
+            Matcher matcher = PARENTHESIS_PATTERN.matcher(expression);
             if (!matcher.matches()) {
                 throw new UnexpectedLiquibaseException("Cannot parse label pattern "+expression);
             }
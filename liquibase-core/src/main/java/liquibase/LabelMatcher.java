@@ -0,0 +1,44 @@
+package liquibase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches the {@link Labels} of change sets against a fixed {@link LabelExpression}. The result for each distinct
+ * set of labels is only computed once, so matching the change sets of a large changelog does not parse the
+ * expression over and over.
+ * <p>
+ * Create one instance per run; the expression must not change while it is in use.
+ */
+public class LabelMatcher {
+
+    private final LabelExpression labelExpression;
+    private final Map<Set<String>, Boolean> results = new HashMap<>();
+
+    public LabelMatcher(LabelExpression labelExpression) {
+        this.labelExpression = labelExpression;
+    }
+
+    public LabelExpression getLabelExpression() {
+        return labelExpression;
+    }
+
+    /**
+     * Returns the same result as {@link LabelExpression#matches(Labels)}.
+     */
+    public boolean matches(Labels labels) {
+        if ((labelExpression == null) || (labels == null) || labels.isEmpty()) {
+            return true;
+        }
+
+        Set<String> key = labels.getLabels();
+        Boolean result = results.get(key);
+        if (result == null) {
+            result = labelExpression.matches(labels);
+            results.put(new HashSet<>(key), result);
+        }
+        return result;
+    }
+}
@@ -8,12 +8,14 @@ import liquibase.changelog.visitor.*;
 import liquibase.command.CommandExecutionException;
 import liquibase.command.CommandFactory;
 import liquibase.command.core.DropAllCommand;
+import liquibase.configuration.GlobalConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.DatabaseFactory;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.OracleDatabase;
+import liquibase.database.jvm.JdbcConnection;
 import liquibase.diff.DiffGeneratorFactory;
 import liquibase.diff.DiffResult;
 import liquibase.diff.compare.CompareControl;
@@ -25,6 +27,7 @@ import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.lockservice.DatabaseChangeLogLock;
 import liquibase.lockservice.LockService;
 import liquibase.lockservice.LockServiceFactory;
@@ -47,6 +50,7 @@ import liquibase.util.LiquibaseUtil;
 import liquibase.util.StreamUtil;
 import liquibase.util.StringUtil;
 
+import javax.sql.DataSource;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.*;
 import java.text.DateFormat;
@@ -78,6 +82,9 @@ public class Liquibase {
 
     private boolean ignoreClasspathPrefix = true;
 
+    private DataSource parallelDataSource;
+    private int parallelConnections;
+
     /**
      * Creates a Liquibase instance for a given DatabaseConnection. The Database instance used will be found with {@link DatabaseFactory#findCorrectDatabaseImplementation(liquibase.database.DatabaseConnection)}
      *
@@ -222,9 +229,29 @@ public class Liquibase {
 
 
     protected UpdateVisitor createUpdateVisitor() {
+        if ((parallelDataSource != null) && ExecutorService.getInstance().getExecutor(database).updatesDatabase()) {
+            return new ParallelUpdateVisitor(database, changeExecListener, parallelDataSource, parallelConnections);
+        }
         return new UpdateVisitor(database, changeExecListener);
     }
 
+    /**
+     * Returns the visitor changeLogSync marks the changeSets with. When the statements are executed against the
+     * database, DATABASECHANGELOG is managed by the {@link StandardChangeLogHistoryService} and its rows are generated
+     * by the core generator, all rows are inserted at once by a {@link BulkChangeLogSyncVisitor}.
+     */
+    protected ChangeSetVisitor createChangeLogSyncVisitor() {
+        Executor executor = ExecutorService.getInstance().getExecutor(database);
+        ChangeLogHistoryService historyService = ChangeLogHistoryServiceFactory.getInstance()
+            .getChangeLogService(database);
+        if ((executor instanceof JdbcExecutor) && (database.getConnection() instanceof JdbcConnection) &&
+            historyService.getClass().equals(StandardChangeLogHistoryService.class) &&
+            BulkChangeLogSyncVisitor.supports(database)) {
+            return new BulkChangeLogSyncVisitor(database, changeLogSyncListener);
+        }
+        return new ChangeLogSyncVisitor(database, changeLogSyncListener);
+    }
+
     protected RollbackVisitor createRollbackVisitor() {
         return new RollbackVisitor(database, changeExecListener);
     }
@@ -259,8 +286,9 @@ public class Liquibase {
         /* We have no other choice than to save the current Executer here. */
         @SuppressWarnings("squid:S1941")
         Executor oldTemplate = ExecutorService.getInstance().getExecutor(database);
+        Writer sqlOutput = bufferSqlOutput(output);
         LoggingExecutor loggingExecutor = new LoggingExecutor(
-            ExecutorService.getInstance().getExecutor(database), output, database
+            ExecutorService.getInstance().getExecutor(database), sqlOutput, database
         );
         ExecutorService.getInstance().setExecutor(database, loggingExecutor);
 
@@ -273,7 +301,7 @@ public class Liquibase {
 
             update(contexts, labelExpression, checkLiquibaseTables);
 
-            output.flush();
+            sqlOutput.flush();
         } catch (IOException e) {
             throw new LiquibaseException(e);
         }
@@ -379,8 +407,9 @@ public class Liquibase {
         /* We have no other choice than to save the current Executer here. */
         @SuppressWarnings("squid:S1941")
         Executor oldTemplate = ExecutorService.getInstance().getExecutor(database);
+        Writer sqlOutput = bufferSqlOutput(output);
         LoggingExecutor loggingExecutor = new LoggingExecutor(
-            ExecutorService.getInstance().getExecutor(database), output, database
+            ExecutorService.getInstance().getExecutor(database), sqlOutput, database
         );
         ExecutorService.getInstance().setExecutor(database, loggingExecutor);
 
@@ -389,7 +418,7 @@ public class Liquibase {
         update(changesToApply, contexts, labelExpression);
 
         try {
-            output.flush();
+            sqlOutput.flush();
         } catch (IOException e) {
             throw new LiquibaseException(e);
         }
@@ -418,8 +447,9 @@ public class Liquibase {
         /* We have no other choice than to save the current Executer here. */
         @SuppressWarnings("squid:S1941")
         Executor oldTemplate = ExecutorService.getInstance().getExecutor(database);
+        Writer sqlOutput = bufferSqlOutput(output);
         LoggingExecutor loggingExecutor = new LoggingExecutor(
-            ExecutorService.getInstance().getExecutor(database), output, database
+            ExecutorService.getInstance().getExecutor(database), sqlOutput, database
         );
         ExecutorService.getInstance().setExecutor(database, loggingExecutor);
 
@@ -428,7 +458,7 @@ public class Liquibase {
         update(tag, contexts, labelExpression);
 
         try {
-            output.flush();
+            sqlOutput.flush();
         } catch (IOException e) {
             throw new LiquibaseException(e);
         }
@@ -437,6 +467,17 @@ public class Liquibase {
         ExecutorService.getInstance().setExecutor(database, oldTemplate);
     }
 
+    /**
+     * Buffers the SQL written by the update methods, so the statements are passed on to the output in large chunks as
+     * they are generated instead of one fragment at a time.
+     */
+    private static Writer bufferSqlOutput(Writer output) {
+        if ((output == null) || (output instanceof BufferedWriter)) {
+            return output;
+        }
+        return new BufferedWriter(output);
+    }
+
     private void outputHeader(String message) throws DatabaseException {
         Executor executor = ExecutorService.getInstance().getExecutor(database);
         executor.comment("*********************************************************************");
@@ -882,7 +923,7 @@ public class Liquibase {
                     new IgnoreChangeSetFilter(),
                     new DbmsChangeSetFilter(database));
 
-            logIterator.run(new ChangeLogSyncVisitor(database, changeLogSyncListener),
+            logIterator.run(createChangeLogSyncVisitor(),
                 new RuntimeEnvironment(database, contexts, labelExpression)
             );
         } finally {
@@ -1561,6 +1602,20 @@ public class Liquibase {
         this.changeExecListener = listener;
     }
 
+    /**
+     * Runs adjacent changeSets marked with parallel="true" that only contain loadData changes at the same time during
+     * update, each on its own connection from the given DataSource. The DataSource must connect to the same database
+     * as this Liquibase instance. generateChangeLog also reads the metadata of the database on these connections.
+     *
+     * @param dataSource the source of the additional connections, or null to run all changeSets one after another
+     * @param maxConnections the maximum number of connections to use at once
+     * @see ParallelUpdateVisitor
+     */
+    public void setParallelDataSource(DataSource dataSource, int maxConnections) {
+        this.parallelDataSource = dataSource;
+        this.parallelConnections = maxConnections;
+    }
+
     public void setChangeLogSyncListener(ChangeLogSyncListener changeLogSyncListener) {
         this.changeLogSyncListener = changeLogSyncListener;
     }
@@ -1592,6 +1647,9 @@ public class Liquibase {
         }
 
         SnapshotControl snapshotControl = new SnapshotControl(this.getDatabase(), snapshotTypes);
+        if (parallelDataSource != null) {
+            snapshotControl.setParallelDataSource(parallelDataSource, parallelConnections);
+        }
         CompareControl compareControl = new CompareControl(new CompareControl.SchemaComparison[] {
             new CompareControl.SchemaComparison(catalogAndSchema, catalogAndSchema)
         }, finalCompareTypes);
@@ -208,25 +208,27 @@ public class Scope {
         }
 
         String key = type.getName();
-        T singleton = get(key, type);
-        if (singleton == null) {
-            try {
+        synchronized (this) { //singletons can be looked up from worker threads
+            T singleton = get(key, type);
+            if (singleton == null) {
                 try {
-                    Constructor<T> constructor = type.getDeclaredConstructor(Scope.class);
-                    constructor.setAccessible(true);
-                    singleton = constructor.newInstance(this);
-                } catch (NoSuchMethodException e) { //try without scope
-                    Constructor<T> constructor = type.getDeclaredConstructor();
-                    constructor.setAccessible(true);
-                    singleton = constructor.newInstance();
+                    try {
+                        Constructor<T> constructor = type.getDeclaredConstructor(Scope.class);
+                        constructor.setAccessible(true);
+                        singleton = constructor.newInstance(this);
+                    } catch (NoSuchMethodException e) { //try without scope
+                        Constructor<T> constructor = type.getDeclaredConstructor();
+                        constructor.setAccessible(true);
+                        singleton = constructor.newInstance();
+                    }
+                } catch (Exception e) {
+                    throw new UnexpectedLiquibaseException(e);
                 }
-            } catch (Exception e) {
-                throw new UnexpectedLiquibaseException(e);
-            }
 
-            values.put(key, singleton);
+                values.put(key, singleton);
+            }
+            return singleton;
         }
-        return singleton;
     }
 
     public Database getDatabase() {
@@ -0,0 +1,31 @@
+package liquibase.bulkload;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.plugin.Plugin;
+import liquibase.statement.BulkLoadStatement;
+
+/**
+ * Loads large amounts of rows into a table using a database-specific mechanism that is faster than individual
+ * INSERT statements, such as the PostgreSQL COPY protocol.
+ * <p>
+ * Implementations are looked up through the {@link BulkLoaderFactory}. If no implementation supports the target
+ * database, {@link liquibase.change.core.LoadDataChange} falls back to (batched) INSERT statements.
+ */
+public interface BulkLoader extends Plugin {
+
+    /**
+     * Returns the priority of this loader for the given database, or {@link #PRIORITY_NOT_APPLICABLE} if the database
+     * is not supported.
+     */
+    int getPriority(Database database);
+
+    /**
+     * Loads all rows of the given statement. The rows are read from {@link BulkLoadStatement#openRows()} while they
+     * are being loaded, so implementations should not hold more than a bounded number of them in memory.
+     *
+     * @return the number of rows loaded
+     * @throws DatabaseException if the rows cannot be read or loaded
+     */
+    long load(BulkLoadStatement statement, Database database) throws DatabaseException;
+}
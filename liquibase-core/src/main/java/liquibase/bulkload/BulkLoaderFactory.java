@@ -0,0 +1,40 @@
+package liquibase.bulkload;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+
+/**
+ * Finds the {@link BulkLoader} to use for a given {@link Database}.
+ * Obtain the instance through {@link liquibase.Scope#getSingleton(Class)}.
+ */
+public class BulkLoaderFactory extends AbstractPluginFactory<BulkLoader> {
+
+    private BulkLoaderFactory() {
+    }
+
+    @Override
+    protected Class<BulkLoader> getPluginClass() {
+        return BulkLoader.class;
+    }
+
+    @Override
+    protected int getPriority(BulkLoader obj, Object... args) {
+        return obj.getPriority((Database) args[0]);
+    }
+
+    /**
+     * Returns the bulk loader with the highest priority for the given database.
+     *
+     * @return null if no bulk loader supports the database
+     */
+    public BulkLoader getBulkLoader(Database database) {
+        return getPlugin(database);
+    }
+
+    /**
+     * Unregisters the given bulk loader. Normally used for testing, but can be called manually if needed.
+     */
+    public void unregister(BulkLoader bulkLoader) {
+        removeInstance(bulkLoader);
+    }
+}
@@ -0,0 +1,212 @@
+package liquibase.bulkload.core;
+
+import liquibase.bulkload.BulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.BulkLoadStatement;
+import liquibase.util.StreamUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Loads rows into PostgreSQL tables with <code>COPY ... FROM STDIN</code> through the CopyManager of the PostgreSQL
+ * JDBC driver. The rows are converted to CSV while the driver reads them, so only one row is held in memory at a time.
+ * <p>
+ * The driver is accessed reflectively so Liquibase does not depend on it at compile time. Connections that cannot be
+ * unwrapped to <code>org.postgresql.PGConnection</code> (e.g. other drivers or pools that hide the connection) are not
+ * supported and fall back to regular INSERT statements.
+ */
+public class PostgresCopyBulkLoader implements BulkLoader {
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+
+    @Override
+    public int getPriority(Database database) {
+        if ((database instanceof PostgresDatabase) && (getPgConnectionClass(database) != null)) {
+            return PRIORITY_DEFAULT;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public long load(BulkLoadStatement statement, Database database) throws DatabaseException {
+        Class<?> pgConnectionClass = getPgConnectionClass(database);
+        if (pgConnectionClass == null) {
+            throw new DatabaseException("Connection does not support the PostgreSQL COPY API");
+        }
+
+        BulkLoadStatement.RowSource rows = statement.openRows();
+        try {
+            List<ColumnConfig> firstRow = rows.next();
+            if (firstRow == null) {
+                return 0;
+            }
+
+            Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI")
+                .invoke(connection.unwrap(pgConnectionClass));
+            Method copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+
+            return (Long) copyIn.invoke(copyManager, generateCopySql(statement, firstRow, database),
+                new CsvRowReader(statement, firstRow, rows));
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if ((cause instanceof IOException) && (cause.getCause() instanceof DatabaseException)) {
+                throw (DatabaseException) cause.getCause();
+            }
+            throw new DatabaseException("Error loading data into " + statement.getTableName() + ": " +
+                cause.getMessage(), cause);
+        } catch (ReflectiveOperationException | SQLException e) {
+            throw new DatabaseException(e);
+        } finally {
+            StreamUtil.closeQuietly(rows);
+        }
+    }
+
+    protected String generateCopySql(BulkLoadStatement statement, List<ColumnConfig> row, Database database) {
+        StringBuilder sql = new StringBuilder("COPY ");
+        sql.append(database.escapeTableName(statement.getCatalogName(), statement.getSchemaName(),
+            statement.getTableName()));
+        sql.append(" (");
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(database.escapeColumnName(statement.getCatalogName(), statement.getSchemaName(),
+                statement.getTableName(), row.get(i).getName()));
+        }
+        sql.append(") FROM STDIN WITH CSV");
+        return sql.toString();
+    }
+
+    /**
+     * Appends a single row in the CSV format understood by COPY: NULL is an unquoted empty value, every other value is
+     * quoted.
+     */
+    protected void appendCsvRow(BulkLoadStatement statement, List<ColumnConfig> row, StringBuilder csv)
+            throws DatabaseException {
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            String value = toCopyValue(statement, row.get(i));
+            if (value != null) {
+                csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+        }
+        csv.append('\n');
+    }
+
+    private String toCopyValue(BulkLoadStatement statement, ColumnConfig column) throws DatabaseException {
+        if ((column.getValueComputed() != null) || (column.getValueSequenceNext() != null) ||
+            (column.getValueSequenceCurrent() != null) || (column.getValueBlobFile() != null) ||
+            (column.getValueClobFile() != null)) {
+            throw new DatabaseException("Column " + column.getName() + " of " + statement.getTableName() +
+                " has a computed or LOB value which cannot be loaded with COPY. Set usePreparedStatements=\"true\" " +
+                "on the loadData change, or disable " + GlobalConfiguration.LOAD_DATA_USE_BULK_LOADER + ", to load " +
+                "it with INSERT statements instead.");
+        }
+
+        if (column.getValue() != null) {
+            return column.getValue();
+        } else if (column.getValueBoolean() != null) {
+            return column.getValueBoolean().toString();
+        } else if (column.getValueNumeric() != null) {
+            Number number = column.getValueNumeric();
+            if (number instanceof BigDecimal) {
+                return ((BigDecimal) number).toPlainString();
+            }
+            return number.toString();
+        } else if (column.getValueDate() != null) {
+            java.util.Date date = column.getValueDate();
+            if ((date instanceof java.sql.Date) || (date instanceof java.sql.Time) || (date instanceof Timestamp)) {
+                return date.toString();
+            }
+            return new Timestamp(date.getTime()).toString();
+        }
+        return null;
+    }
+
+    private Class<?> getPgConnectionClass(Database database) {
+        if (!(database.getConnection() instanceof JdbcConnection)) {
+            return null;
+        }
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        if (connection == null) {
+            return null;
+        }
+        try {
+            Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, true,
+                connection.getClass().getClassLoader());
+            if (connection.isWrapperFor(pgConnectionClass)) {
+                return pgConnectionClass;
+            }
+        } catch (ClassNotFoundException | SQLException | LinkageError e) {
+            // not the PostgreSQL driver, or a driver too old to support the copy API
+        }
+        return null;
+    }
+
+    /**
+     * Presents the rows as CSV text, converting the next row only when the previous one has been read.
+     */
+    private class CsvRowReader extends Reader {
+        private final BulkLoadStatement statement;
+        private final BulkLoadStatement.RowSource rows;
+        private final StringBuilder buffer = new StringBuilder();
+        private int position;
+        private boolean exhausted;
+
+        CsvRowReader(BulkLoadStatement statement, List<ColumnConfig> firstRow, BulkLoadStatement.RowSource rows)
+                throws DatabaseException {
+            this.statement = statement;
+            this.rows = rows;
+            appendCsvRow(statement, firstRow, buffer);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position == buffer.length()) {
+                if (exhausted) {
+                    return -1;
+                }
+                buffer.setLength(0);
+                position = 0;
+                try {
+                    List<ColumnConfig> row = rows.next();
+                    if (row == null) {
+                        exhausted = true;
+                    } else {
+                        appendCsvRow(statement, row, buffer);
+                    }
+                } catch (DatabaseException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+            int count = Math.min(len, buffer.length() - position);
+            buffer.getChars(position, position + count, cbuf, off);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package liquibase.change.core;
 
 import liquibase.CatalogAndSchema;
+import liquibase.Scope;
+import liquibase.bulkload.BulkLoader;
+import liquibase.bulkload.BulkLoaderFactory;
 import liquibase.change.*;
 import liquibase.changelog.ChangeSet;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
 import liquibase.database.core.MSSQLDatabase;
 import liquibase.database.core.MySQLDatabase;
 import liquibase.database.core.PostgresDatabase;
@@ -13,7 +19,9 @@ import liquibase.datatype.LiquibaseDataType;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.DateParseException;
 import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
+import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
 import liquibase.io.EmptyLineAndCommentSkippingInputStream;
@@ -24,13 +32,20 @@ import liquibase.resource.ResourceAccessor;
 import liquibase.resource.UtfBomAwareReader;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
+import liquibase.statement.BulkLoadStatement;
+import liquibase.statement.ExecutablePreparedStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.InsertExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingBatchDmlExecutablePreparedStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.statement.core.InsertSetStatement;
 import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RuntimeStatement;
 import liquibase.structure.core.Column;
 import liquibase.structure.core.DataType;
 import liquibase.structure.core.Table;
@@ -89,6 +104,9 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     private List<LoadDataColumnConfig> columns = new ArrayList<>();
 
     private Boolean usePreparedStatements;
+    private Boolean streaming;
+    private Integer batchSize;
+    private Integer commitEvery;
 
     /**
      * Transform a value read from a CSV file into a string to be written into the database if the column type
@@ -177,6 +195,67 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
         this.usePreparedStatements = usePreparedStatements;
     }
 
+    @DatabaseChangeProperty(
+        description = "If true, the CSV file is read one line at a time while the change executes and the rows are " +
+            "sent to the database in JDBC batches, so memory use does not depend on the size of the file",
+        since = "3.7"
+    )
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    protected boolean isStreaming() {
+        return (streaming != null) && streaming;
+    }
+
+    @DatabaseChangeProperty(
+        description = "Number of rows sent to the database in a single JDBC batch. Defaults to the " +
+            "liquibase.loadDataBatchSize setting",
+        exampleValue = "1000",
+        since = "3.7"
+    )
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @DatabaseChangeProperty(
+        description = "Number of rows after which to commit while loading, instead of committing once the changeSet " +
+            "is complete. Rows committed before a failure are not rolled back. Defaults to the " +
+            "liquibase.loadDataCommitEvery setting, 0 means no intermediate commits",
+        exampleValue = "10000",
+        since = "3.7"
+    )
+    public Integer getCommitEvery() {
+        return commitEvery;
+    }
+
+    public void setCommitEvery(Integer commitEvery) {
+        this.commitEvery = commitEvery;
+    }
+
+    protected int getEffectiveBatchSize() {
+        if (batchSize != null) {
+            return batchSize;
+        }
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getLoadDataBatchSize();
+    }
+
+    protected int getEffectiveCommitEvery() {
+        if (commitEvery != null) {
+            return commitEvery;
+        }
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+            .getLoadDataCommitEvery();
+    }
+
     public String getCommentLineStartsWith() {
         return commentLineStartsWith;
     }
@@ -250,6 +329,18 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
         this.columns = columns;
     }
 
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = super.validate(database);
+        if (getEffectiveBatchSize() < 1) {
+            errors.addError("batchSize must be at least 1");
+        }
+        if (getEffectiveCommitEvery() < 0) {
+            errors.addError("commitEvery must not be negative");
+        }
+        return errors;
+    }
+
     @Override
     public SqlStatement[] generateStatements(Database database) {
         boolean databaseSupportsBatchUpdates = false;
@@ -285,160 +376,56 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
                 throw new UnexpectedLiquibaseException(e);
             }
 
+            // A database-specific bulk loader beats any kind of INSERT statement. Like streaming, it only reads the
+            // rows from the CSV file while the statement executes.
+            BulkLoader bulkLoader = getBulkLoader(database);
+            if (bulkLoader != null) {
+                return new SqlStatement[] {
+                        new BulkLoadStatement(database, bulkLoader, getCatalogName(), getSchemaName(), getTableName(),
+                                new CsvRowSupplier(database, headers))
+                };
+            }
+
+            // When only writing SQL, the INSERT statements are created from the CSV file while they are written out
+            if (isSqlOutputStreamable(database)) {
+                return new SqlStatement[] {
+                        new SqlOutputStatement(new CsvRowSupplier(database, headers),
+                                (database instanceof MSSQLDatabase) || (database instanceof MySQLDatabase) ||
+                                (database instanceof PostgresDatabase))
+                };
+            }
+
+            // Streaming needs JDBC batching when executing against the database, in SQL mode the rows are simply
+            // written out one at a time.
+            if (isStreaming() && hasPreparedStatementsImplemented() && (databaseSupportsBatchUpdates ||
+                (ExecutorService.getInstance().getExecutor(database) instanceof LoggingExecutor))) {
+                // Rows are only read from the CSV file while the statement executes
+                return new SqlStatement[] {
+                        new StreamingBatchDmlExecutablePreparedStatement(
+                                database, getCatalogName(), getSchemaName(),
+                                getTableName(), columns,
+                                getChangeSet(), getResourceAccessor(),
+                                new CsvRowSupplier(database, headers),
+                                getEffectiveBatchSize(), getEffectiveCommitEvery())
+                };
+            }
+
             List<ExecutablePreparedStatementBase> batchedStatements = new ArrayList<>();
             boolean anyPreparedStatements = false;
             String[] line;
             // Start at '1' to take into account the header (already processed):
             int lineNumber = 1;
 
-            boolean isCommentingEnabled = StringUtil.isNotEmpty(commentLineStartsWith);
-
             List<SqlStatement> statements = new ArrayList<>();
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
-                if
-                ((line.length == 0) || ((line.length == 1) && (StringUtil.trimToNull(line[0]) == null)) ||
-                    (isCommentingEnabled && isLineCommented(line))
-                ) {
+                List<ColumnConfig> columnsFromCsv = getColumnsFromLine(headers, line, lineNumber, database);
+                if (columnsFromCsv == null) {
                     //nothing interesting on this line
                     continue;
                 }
 
-                // Ensure each line has the same number of columns defined as does the header.
-                // (Failure could indicate unquoted strings with commas, for example).
-                if (line.length != headers.length) {
-                    throw new UnexpectedLiquibaseException(
-                        "CSV file " + getFile() + " Line " + lineNumber + " has " + line.length +
-                            " values defined, Header has " + headers.length +
-                            ". Numbers MUST be equal (check for unquoted string with embedded commas)"
-                    );
-                }
-
-                boolean needsPreparedStatement = false;
-                if (usePreparedStatements != null && usePreparedStatements) {
-                    needsPreparedStatement = true;
-                }
-
-                List<ColumnConfig> columnsFromCsv = new ArrayList<>();
-                for (int i = 0; i < headers.length; i++) {
-                    Object value = line[i];
-                    String columnName = headers[i].trim();
-
-                    ColumnConfig valueConfig = new ColumnConfig();
-
-                    ColumnConfig columnConfig = getColumnConfig(i, headers[i].trim());
-                    if (columnConfig != null) {
-                        if ("skip".equalsIgnoreCase(columnConfig.getType())) {
-                            continue;
-                        }
-
-                        // don't overwrite header name unless there is actually a value to override it with
-                        if (columnConfig.getName() != null) {
-                            columnName = columnConfig.getName();
-                        }
-
-                        valueConfig.setName(columnName);
-
-                        if (columnConfig.getType() != null) {
-                            if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.BOOLEAN.toString())) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    valueConfig.setValueBoolean(
-                                        BooleanParser.parseBoolean(value.toString().toLowerCase())
-                                    );
-                                }
-                            } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.NUMERIC.toString())) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    valueConfig.setValueNumeric(value.toString());
-                                }
-                            } else if
-                            (
-                                columnConfig.getType().toLowerCase().contains("date")
-                                    || columnConfig.getType().toLowerCase().contains("time")
-                            ) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    try {
-                                        // Need the column type for handling 'NOW' or 'TODAY' type column value
-                                        valueConfig.setType(columnConfig.getType());
-                                        valueConfig.setValueDate(value.toString());
-                                    } catch (DateParseException e) {
-                                        throw new UnexpectedLiquibaseException(e);
-                                    }
-                                }
-                            } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.STRING.toString())) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    valueConfig.setValue(value.toString());
-                                }
-                            } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.COMPUTED.toString())) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    liquibase.statement.DatabaseFunction function =
-                                        new liquibase.statement.DatabaseFunction(value.toString());
-                                    valueConfig.setValueComputed(function);
-                                }
-                            } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.SEQUENCE.toString())) {
-                                String sequenceName;
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    sequenceName = columnConfig.getDefaultValue();
-                                    if (sequenceName == null) {
-                                        throw new UnexpectedLiquibaseException(
-                                            "Must set a sequence name in the loadData column defaultValue attribute"
-                                        );
-                                    }
-                                } else {
-                                    sequenceName = value.toString();
-                                }
-                                liquibase.statement.SequenceNextValueFunction function =
-                                    new liquibase.statement.SequenceNextValueFunction(sequenceName);
-                                valueConfig.setValueComputed(function);
-
-                            } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.BLOB.toString())) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    valueConfig.setValueBlobFile(value.toString());
-                                    needsPreparedStatement = true;
-                                }
-                            } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.CLOB.toString())) {
-                                if ("NULL".equalsIgnoreCase(value.toString())) {
-                                    valueConfig.setValue(null);
-                                } else {
-                                    valueConfig.setValueClobFile(value.toString());
-                                    needsPreparedStatement = true;
-                                }
-                            } else {
-                                throw new UnexpectedLiquibaseException(
-                                    String.format(coreBundle.getString("loaddata.type.is.not.supported"),
-                                        columnConfig.getType()
-                                    )
-                                );
-                            }
-                        } else {
-                            // columnConfig did not specify a type
-                            valueConfig.setValue(getValueToWrite(value));
-                        }
-                    } else {
-                        // No columnConfig found. Assume header column name to be the table column name.
-                        if (columnName.contains("(") || (columnName.contains(")") && (database instanceof
-                            AbstractJdbcDatabase))) {
-                            columnName = ((AbstractJdbcDatabase) database).quoteObject(columnName, Column.class);
-                        }
-
-                        valueConfig.setName(columnName);
-
-                        valueConfig.setValue(getValueToWrite(value));
-                    }
-                    columnsFromCsv.add(valueConfig);
-                }
-                // end of: iterate through all the columns of a CSV line
+                boolean needsPreparedStatement = needsPreparedStatement(columnsFromCsv);
 
                 // Try to use prepared statements if any of the two following conditions apply:
                 // 1. There is no other option than using a prepared statement (e.g. in cases of LOBs)
@@ -461,21 +448,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
                         );
                     batchedStatements.add(stmt);
                 } else {
-                    InsertStatement insertStatement =
-                        this.createStatement(getCatalogName(), getSchemaName(), getTableName());
-
-                    for (ColumnConfig column : columnsFromCsv) {
-                        String columnName = column.getName();
-                        Object value = column.getValueObject();
-
-                        if (value == null) {
-                            value = "NULL";
-                        }
-
-                        insertStatement.addColumnValue(columnName, value);
-                    }
-
-                    statements.add(insertStatement);
+                    statements.add(createStatement(columnsFromCsv));
                 }
                 // end of: will we use a PreparedStatement?
             }
@@ -490,10 +463,10 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
                                     database, getCatalogName(), getSchemaName(),
                                     getTableName(), columns,
                                     getChangeSet(), getResourceAccessor(),
-                                    batchedStatements)
+                                    batchedStatements, getEffectiveBatchSize(), getEffectiveCommitEvery())
                     };
                 } else {
-                    return statements.toArray(new SqlStatement[statements.size()]);
+                    return withIntermediateCommits(statements, database);
                 }
             } else {
             	if (statements.isEmpty()) {
@@ -501,6 +474,10 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
             		return new SqlStatement[0];
             	}
 
+                if (getEffectiveCommitEvery() > 0) {
+                    return withIntermediateCommits(statements, database);
+                }
+
                 InsertSetStatement statementSet = this.createStatementSet(
                         getCatalogName(), getSchemaName(), getTableName()
                 );
@@ -545,6 +522,239 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
         }
     }
 
+    /**
+     * Converts a single line of the CSV file into the column values to load into the table.
+     * @param headers the headers of the CSV file
+     * @param line the values of the line
+     * @param lineNumber the line number within the CSV file, used in error messages
+     * @param database the target database
+     * @return the column values, or null if the line is empty or commented out
+     */
+    private List<ColumnConfig> getColumnsFromLine(String[] headers, String[] line, int lineNumber,
+                                                  Database database) {
+        if
+        ((line.length == 0) || ((line.length == 1) && (StringUtil.trimToNull(line[0]) == null)) ||
+            (StringUtil.isNotEmpty(commentLineStartsWith) && isLineCommented(line))
+        ) {
+            return null;
+        }
+
+        // Ensure each line has the same number of columns defined as does the header.
+        // (Failure could indicate unquoted strings with commas, for example).
+        if (line.length != headers.length) {
+            throw new UnexpectedLiquibaseException(
+                "CSV file " + getFile() + " Line " + lineNumber + " has " + line.length +
+                    " values defined, Header has " + headers.length +
+                    ". Numbers MUST be equal (check for unquoted string with embedded commas)"
+            );
+        }
+
+        List<ColumnConfig> columnsFromCsv = new ArrayList<>();
+        for (int i = 0; i < headers.length; i++) {
+            Object value = line[i];
+            String columnName = headers[i].trim();
+
+            ColumnConfig valueConfig = new ColumnConfig();
+
+            ColumnConfig columnConfig = getColumnConfig(i, headers[i].trim());
+            if (columnConfig != null) {
+                if ("skip".equalsIgnoreCase(columnConfig.getType())) {
+                    continue;
+                }
+
+                // don't overwrite header name unless there is actually a value to override it with
+                if (columnConfig.getName() != null) {
+                    columnName = columnConfig.getName();
+                }
+
+                valueConfig.setName(columnName);
+
+                if (columnConfig.getType() != null) {
+                    if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.BOOLEAN.toString())) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            valueConfig.setValueBoolean(
+                                BooleanParser.parseBoolean(value.toString().toLowerCase())
+                            );
+                        }
+                    } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.NUMERIC.toString())) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            valueConfig.setValueNumeric(value.toString());
+                        }
+                    } else if
+                    (
+                        columnConfig.getType().toLowerCase().contains("date")
+                            || columnConfig.getType().toLowerCase().contains("time")
+                    ) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            try {
+                                // Need the column type for handling 'NOW' or 'TODAY' type column value
+                                valueConfig.setType(columnConfig.getType());
+                                valueConfig.setValueDate(value.toString());
+                            } catch (DateParseException e) {
+                                throw new UnexpectedLiquibaseException(e);
+                            }
+                        }
+                    } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.STRING.toString())) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            valueConfig.setValue(value.toString());
+                        }
+                    } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.COMPUTED.toString())) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            liquibase.statement.DatabaseFunction function =
+                                new liquibase.statement.DatabaseFunction(value.toString());
+                            valueConfig.setValueComputed(function);
+                        }
+                    } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.SEQUENCE.toString())) {
+                        String sequenceName;
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            sequenceName = columnConfig.getDefaultValue();
+                            if (sequenceName == null) {
+                                throw new UnexpectedLiquibaseException(
+                                    "Must set a sequence name in the loadData column defaultValue attribute"
+                                );
+                            }
+                        } else {
+                            sequenceName = value.toString();
+                        }
+                        liquibase.statement.SequenceNextValueFunction function =
+                            new liquibase.statement.SequenceNextValueFunction(sequenceName);
+                        valueConfig.setValueComputed(function);
+
+                    } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.BLOB.toString())) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            valueConfig.setValueBlobFile(value.toString());
+                        }
+                    } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.CLOB.toString())) {
+                        if ("NULL".equalsIgnoreCase(value.toString())) {
+                            valueConfig.setValue(null);
+                        } else {
+                            valueConfig.setValueClobFile(value.toString());
+                        }
+                    } else {
+                        throw new UnexpectedLiquibaseException(
+                            String.format(coreBundle.getString("loaddata.type.is.not.supported"),
+                                columnConfig.getType()
+                            )
+                        );
+                    }
+                } else {
+                    // columnConfig did not specify a type
+                    valueConfig.setValue(getValueToWrite(value));
+                }
+            } else {
+                // No columnConfig found. Assume header column name to be the table column name.
+                if (columnName.contains("(") || (columnName.contains(")") && (database instanceof
+                    AbstractJdbcDatabase))) {
+                    columnName = ((AbstractJdbcDatabase) database).quoteObject(columnName, Column.class);
+                }
+
+                valueConfig.setName(columnName);
+
+                valueConfig.setValue(getValueToWrite(value));
+            }
+            columnsFromCsv.add(valueConfig);
+        }
+        // end of: iterate through all the columns of a CSV line
+        return columnsFromCsv;
+    }
+
+    /**
+     * Returns the {@link BulkLoader} to load the CSV file with, or null if the rows should be loaded with INSERT
+     * statements. Bulk loading is only used when executing against the database, when every column can be loaded as a
+     * plain value and when neither prepared statements nor intermediate commits were requested.
+     */
+    protected BulkLoader getBulkLoader(Database database) {
+        if (!LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+            .getLoadDataUseBulkLoader()) {
+            return null;
+        }
+        if (!hasPreparedStatementsImplemented() || ((usePreparedStatements != null) && usePreparedStatements) ||
+            (getEffectiveCommitEvery() > 0)) {
+            return null;
+        }
+        Executor executor = ExecutorService.getInstance().getExecutor(database);
+        if (!executor.updatesDatabase() || (executor instanceof LoggingExecutor)) {
+            return null;
+        }
+        for (LoadDataColumnConfig column : columns) {
+            String type = column.getType();
+            if ((type != null) && (LOAD_DATA_TYPE.COMPUTED.toString().equalsIgnoreCase(type) ||
+                LOAD_DATA_TYPE.SEQUENCE.toString().equalsIgnoreCase(type) ||
+                LOAD_DATA_TYPE.BLOB.toString().equalsIgnoreCase(type) ||
+                LOAD_DATA_TYPE.CLOB.toString().equalsIgnoreCase(type))) {
+                return null;
+            }
+        }
+        return Scope.getCurrentScope().getSingleton(BulkLoaderFactory.class).getBulkLoader(database);
+    }
+
+    /**
+     * Returns true if the SQL of this change is only written out (e.g. updateSQL) and can be generated one CSV line at
+     * a time. That is the case unless streaming was explicitly set, or prepared statements or intermediate commits
+     * are needed. It is also not the case when the change set has failOnError=false: an invalid CSV line would
+     * only be found after part of the SQL was written, while the whole change has to be skipped.
+     */
+    protected boolean isSqlOutputStreamable(Database database) {
+        if ((streaming != null) || ((usePreparedStatements != null) && usePreparedStatements) ||
+            (getEffectiveCommitEvery() > 0)) {
+            return false;
+        }
+        if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet().getFailOnError()) {
+            return false;
+        }
+        if (!(ExecutorService.getInstance().getExecutor(database) instanceof LoggingExecutor)) {
+            return false;
+        }
+        for (LoadDataColumnConfig column : columns) {
+            String type = column.getType();
+            if ((type != null) && (LOAD_DATA_TYPE.BLOB.toString().equalsIgnoreCase(type) ||
+                LOAD_DATA_TYPE.CLOB.toString().equalsIgnoreCase(type))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether the values of a CSV line can only be loaded through a prepared statement, either because
+     * prepared statements were requested or because there is no other option (e.g. in cases of LOBs).
+     */
+    private boolean needsPreparedStatement(List<ColumnConfig> columnsFromCsv) {
+        if ((usePreparedStatements != null) && usePreparedStatements) {
+            return true;
+        }
+        for (ColumnConfig column : columnsFromCsv) {
+            if ((column.getValueBlobFile() != null) || (column.getValueClobFile() != null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the given per-row statements, wrapped in a {@link CommittingStatement} if intermediate commits were
+     * requested.
+     */
+    private SqlStatement[] withIntermediateCommits(List<SqlStatement> statements, Database database) {
+        int commitEvery = getEffectiveCommitEvery();
+        if (commitEvery <= 0) {
+            return statements.toArray(new SqlStatement[statements.size()]);
+        }
+        return new SqlStatement[] {new CommittingStatement(database, statements, commitEvery)};
+    }
+
     /**
      * Iterate through the List of LoadDataColumnConfig and ask the database for any column types that we have
      * no data type of.
@@ -737,6 +947,25 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
         return new InsertStatement(catalogName, schemaName, tableName);
     }
 
+    /**
+     * Creates the (non-prepared) statement that loads the values of a single CSV line.
+     */
+    private InsertStatement createStatement(List<ColumnConfig> columnsFromCsv) {
+        InsertStatement insertStatement = this.createStatement(getCatalogName(), getSchemaName(), getTableName());
+
+        for (ColumnConfig column : columnsFromCsv) {
+            String columnName = column.getName();
+            Object value = column.getValueObject();
+
+            if (value == null) {
+                value = "NULL";
+            }
+
+            insertStatement.addColumnValue(columnName, value);
+        }
+        return insertStatement;
+    }
+
     protected InsertSetStatement createStatementSet(String catalogName, String schemaName, String tableName) {
         return new InsertSetStatement(catalogName, schemaName, tableName);
     }
@@ -800,6 +1029,227 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
         return STANDARD_CHANGELOG_NAMESPACE;
     }
 
+    /**
+     * Supplies the rows of a {@link StreamingBatchDmlExecutablePreparedStatement} or {@link BulkLoadStatement} by
+     * reading the CSV file one line at a time.
+     */
+    private class CsvRowSupplier implements StreamingBatchDmlExecutablePreparedStatement.RowSupplier,
+            BulkLoadStatement.RowSupplier {
+        private final Database database;
+        private final String[] headers;
+
+        CsvRowSupplier(Database database, String[] headers) {
+            this.database = database;
+            this.headers = headers;
+        }
+
+        @Override
+        public BulkLoadStatement.RowSource openRows() throws DatabaseException {
+            return new CsvRows(database, headers);
+        }
+
+        @Override
+        public StreamingSqlStatement.Source<ExecutablePreparedStatementBase> openPreparedStatements()
+                throws DatabaseException {
+            return new CsvRowSource<ExecutablePreparedStatementBase>(openRows()) {
+                @Override
+                protected ExecutablePreparedStatementBase createRowStatement(List<ColumnConfig> columnsFromCsv) {
+                    return createPreparedStatement(database, getCatalogName(), getSchemaName(), getTableName(),
+                        columnsFromCsv, getChangeSet(), getResourceAccessor());
+                }
+            };
+        }
+
+        @Override
+        public StreamingSqlStatement.Source<InsertStatement> openStatements() throws DatabaseException {
+            return new CsvRowSource<InsertStatement>(openRows()) {
+                @Override
+                protected InsertStatement createRowStatement(List<ColumnConfig> columnsFromCsv) {
+                    return createStatement(columnsFromCsv);
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads the data lines of the CSV file and converts each of them into the column values to load.
+     */
+    private class CsvRows implements BulkLoadStatement.RowSource {
+        private final Database database;
+        private final String[] headers;
+        private final CSVReader reader;
+        // Start at '1' to take into account the header:
+        private int lineNumber = 1;
+
+        CsvRows(Database database, String[] headers) throws DatabaseException {
+            this.database = database;
+            this.headers = headers;
+            try {
+                this.reader = getCSVReader();
+                if (reader == null) {
+                    throw new DatabaseException("Unable to read file " + getFile());
+                }
+                // skip the header line, it was already processed when the statement was generated
+                reader.readNext();
+            } catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+        }
+
+        @Override
+        public List<ColumnConfig> next() throws DatabaseException {
+            try {
+                String[] line;
+                while ((line = reader.readNext()) != null) {
+                    lineNumber++;
+                    List<ColumnConfig> columnsFromCsv = getColumnsFromLine(headers, line, lineNumber, database);
+                    if (columnsFromCsv != null) {
+                        return columnsFromCsv;
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                throw new DatabaseException("Error reading line " + lineNumber + " of " + getFile(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Turns each data line of the CSV file into a statement.
+     */
+    private abstract class CsvRowSource<T extends SqlStatement> implements StreamingSqlStatement.Source<T> {
+        private final BulkLoadStatement.RowSource rows;
+
+        CsvRowSource(BulkLoadStatement.RowSource rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public T next() throws DatabaseException {
+            List<ColumnConfig> columnsFromCsv = rows.next();
+            if (columnsFromCsv == null) {
+                return null;
+            }
+            return createRowStatement(columnsFromCsv);
+        }
+
+        protected abstract T createRowStatement(List<ColumnConfig> columnsFromCsv);
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    /**
+     * Stands for the INSERT statements of all CSV lines when the SQL is only written out. The rows are combined into
+     * {@link InsertSetStatement}s of the same size {@link liquibase.sqlgenerator.core.InsertSetGenerator} would split
+     * a set of all rows into, so the output does not change.
+     */
+    private class SqlOutputStatement extends RuntimeStatement implements StreamingSqlStatement {
+        private final CsvRowSupplier rowSupplier;
+        private final boolean useInsertSets;
+
+        SqlOutputStatement(CsvRowSupplier rowSupplier, boolean useInsertSets) {
+            this.rowSupplier = rowSupplier;
+            this.useInsertSets = useInsertSets;
+        }
+
+        @Override
+        public Source<? extends SqlStatement> openStatements() throws DatabaseException {
+            final Source<InsertStatement> rows = rowSupplier.openStatements();
+            if (!useInsertSets) {
+                return rows;
+            }
+            return new Source<SqlStatement>() {
+                @Override
+                public SqlStatement next() throws DatabaseException {
+                    InsertStatement row = rows.next();
+                    if ((row == null) || (row instanceof InsertOrUpdateStatement)) {
+                        //cannot do insert or update in a single statement
+                        return row;
+                    }
+                    InsertSetStatement statementSet = createStatementSet(getCatalogName(), getSchemaName(),
+                        getTableName());
+                    statementSet.addInsertStatement(row);
+                    while (statementSet.getStatements().size() <= statementSet.getBatchThreshold()) {
+                        row = rows.next();
+                        if (row == null) {
+                            break;
+                        }
+                        statementSet.addInsertStatement(row);
+                    }
+                    return statementSet;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    rows.close();
+                }
+            };
+        }
+    }
+
+    /**
+     * Executes per-row statements and commits after every commitEvery rows. The commits are only made when the
+     * statement is executed against the database, generating or writing out its SQL gives the rows without them.
+     * Like the batch statements, the rows are executed without the SQL visitors of the change set.
+     */
+    private static class CommittingStatement extends RuntimeStatement
+            implements ExecutablePreparedStatement, StreamingSqlStatement {
+        private final Database database;
+        private final List<SqlStatement> statements;
+        private final int commitEvery;
+
+        CommittingStatement(Database database, List<SqlStatement> statements, int commitEvery) {
+            this.database = database;
+            this.statements = statements;
+            this.commitEvery = commitEvery;
+        }
+
+        @Override
+        public void execute(PreparedStatementFactory factory) throws DatabaseException {
+            Executor executor = ExecutorService.getInstance().getExecutor(database);
+            int rows = 0;
+            for (SqlStatement statement : statements) {
+                executor.execute(statement);
+                rows++;
+                if (((rows % commitEvery) == 0) && (rows < statements.size())) {
+                    long startTime = System.currentTimeMillis();
+                    database.commit();
+                    LOG.info(LogType.LOG, String.format("Committed after %d rows in %d ms", rows,
+                        System.currentTimeMillis() - startTime));
+                }
+            }
+        }
+
+        @Override
+        public Source<SqlStatement> openStatements() {
+            final Iterator<SqlStatement> iterator = statements.iterator();
+            return new Source<SqlStatement>() {
+                @Override
+                public SqlStatement next() {
+                    return iterator.hasNext() ? iterator.next() : null;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public Sql[] generate(Database database) {
+            return SqlGeneratorFactory.getInstance().generateSql(statements.toArray(new SqlStatement[statements.size()]),
+                database);
+        }
+    }
+
     @SuppressWarnings("HardCodedStringLiteral")
     public enum LOAD_DATA_TYPE {
         BOOLEAN, NUMERIC, DATE, STRING, COMPUTED, SEQUENCE, BLOB, CLOB, SKIP
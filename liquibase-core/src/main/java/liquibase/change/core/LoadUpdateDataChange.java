@@ -4,15 +4,19 @@ import liquibase.change.*;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
 import liquibase.datatype.DataTypeFactory;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.RollbackImpossibleException;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.resource.ResourceAccessor;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.statement.core.DeleteStatement;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.statement.core.InsertStatement;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -91,12 +95,19 @@ public class LoadUpdateDataChange extends LoadDataChange {
                 finalForwardList.addAll(
                         ((BatchDmlExecutablePreparedStatement)thisForward).getIndividualStatements()
                 );
+            } else if (thisForward instanceof StreamingSqlStatement) {
+                // e.g. the statements that are only created from the CSV file while the SQL is written out
+                finalForwardList.addAll(getIndividualStatements((StreamingSqlStatement) thisForward));
             } else {
                 finalForwardList.add(thisForward);
             }
         }
 
         for (SqlStatement thisForward : finalForwardList) {
+            if (!(thisForward instanceof InsertOrUpdateStatement)) {
+                // e.g. the intermediate commits of commitEvery
+                continue;
+            }
             InsertOrUpdateStatement thisInsert = (InsertOrUpdateStatement) thisForward;
             DeleteStatement delete = new DeleteStatement(getCatalogName(), getSchemaName(), getTableName());
             delete.setWhere(getWhere(thisInsert, database));
@@ -106,6 +117,19 @@ public class LoadUpdateDataChange extends LoadDataChange {
         return statements.toArray(new SqlStatement[statements.size()]);
     }
 
+    private List<SqlStatement> getIndividualStatements(StreamingSqlStatement statement) {
+        List<SqlStatement> statements = new ArrayList<>();
+        try (StreamingSqlStatement.Source<? extends SqlStatement> source = statement.openStatements()) {
+            SqlStatement individualStatement;
+            while ((individualStatement = source.next()) != null) {
+                statements.add(individualStatement);
+            }
+        } catch (DatabaseException | IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        return statements;
+    }
+
     private String getWhere(InsertOrUpdateStatement insertOrUpdateStatement, Database database) {
         StringBuilder where = new StringBuilder();
 
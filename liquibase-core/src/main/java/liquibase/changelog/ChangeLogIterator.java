@@ -6,6 +6,7 @@ import liquibase.RuntimeEnvironment;
 import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.changelog.visitor.ChangeSetVisitor;
+import liquibase.changelog.visitor.FinishingChangeSetVisitor;
 import liquibase.changelog.visitor.SkippedChangeSetVisitor;
 import liquibase.exception.LiquibaseException;
 import liquibase.logging.LogService;
@@ -28,8 +29,10 @@ public class ChangeLogIterator {
 
     public ChangeLogIterator(List<RanChangeSet> changeSetList, DatabaseChangeLog changeLog, ChangeSetFilter... changeSetFilters) {
         final List<ChangeSet> changeSets = new ArrayList<>();
-        for (RanChangeSet ranChangeSet : changeSetList) {
-            ChangeSet changeSet = changeLog.getChangeSet(ranChangeSet);
+        List<ChangeSet> foundChangeSets = changeLog.getChangeSets(changeSetList);
+        for (int i = 0; i < changeSetList.size(); i++) {
+            RanChangeSet ranChangeSet = changeSetList.get(i);
+            ChangeSet changeSet = foundChangeSets.get(i);
             if (changeSet != null) {
                 if (changeLog.ignoreClasspathPrefix()) {
                     changeSet.setFilePath(ranChangeSet.getChangeLog());
@@ -59,7 +62,7 @@ public class ChangeLogIterator {
             for (ChangeSet changeSet : changeSetList) {
                 boolean shouldVisit = true;
                 Set<ChangeSetFilterResult> reasonsAccepted = new HashSet<>();
-                Set<ChangeSetFilterResult> reasonsDenied = new HashSet<>();
+                Set<ChangeSetFilterResult> reasonsDenied = Collections.emptySet();
                 if (changeSetFilters != null) {
                     for (ChangeSetFilter filter : changeSetFilters) {
                         ChangeSetFilterResult acceptsResult = filter.accepts(changeSet);
@@ -67,6 +70,7 @@ public class ChangeLogIterator {
                             reasonsAccepted.add(acceptsResult);
                         } else {
                             shouldVisit = false;
+                            reasonsDenied = new HashSet<>();
                             reasonsDenied.add(acceptsResult);
                             break;
                         }
@@ -84,6 +88,10 @@ public class ChangeLogIterator {
                     }
                 }
             }
+
+            if (visitor instanceof FinishingChangeSetVisitor) {
+                ((FinishingChangeSetVisitor) visitor).finished(databaseChangeLog, env.getTargetDatabase());
+            }
         } finally {
             databaseChangeLog.setRuntimeEnvironment(null);
         }
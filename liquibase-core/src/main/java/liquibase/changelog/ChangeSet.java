@@ -152,6 +152,12 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     private boolean runInTransaction;
 
+    /**
+     * If true, the changeSet may run at the same time as the adjacent parallel changeSets when a
+     * {@link liquibase.changelog.visitor.ParallelUpdateVisitor} is used.  Defaults to false
+     */
+    private boolean parallel;
+
     /**
      * Behavior if the validation of any of the changeSet changes fails.  Does not include checksum validation
      */
@@ -251,6 +257,12 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     public CheckSum generateCheckSum() {
         if (checkSum == null) {
+            CheckSumCache checkSumCache = CheckSumCache.getInstance();
+            checkSum = checkSumCache.get(this);
+            if (checkSum != null) {
+                return checkSum;
+            }
+
             StringBuffer stringToMD5 = new StringBuffer();
             for (Change change : getChanges()) {
                 stringToMD5.append(change.generateCheckSum()).append(":");
@@ -262,6 +274,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
 
             checkSum = CheckSum.compute(stringToMD5.toString());
+            checkSumCache.put(this, checkSum);
         }
 
         return checkSum;
@@ -280,6 +293,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         this.created = node.getChildValue(null, "created", String.class);
         this.runOrder = node.getChildValue(null, "runOrder", String.class);
         this.ignore = node.getChildValue(null, "ignore", false);
+        this.parallel = node.getChildValue(null, "parallel", false);
         this.comments = StringUtil.join(node.getChildren(null, "comment"), "\n", new StringUtil.StringUtilFormatter() {
             @Override
             public String toString(Object obj) {
@@ -783,6 +797,14 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         this.ignore = ignore;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     public Collection<ContextExpression> getInheritableContexts() {
         Collection<ContextExpression> expressions = new ArrayList<>();
         DatabaseChangeLog changeLog = getChangeLog();
@@ -1015,7 +1037,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             Arrays.asList(
                 "id", "author", "runAlways", "runOnChange", "failOnError", "context", "labels", "dbms",
                 "objectQuotingStrategy", "comment", "preconditions", "changes", "rollback", "labels",
-                "objectQuotingStrategy", "created"
+                "objectQuotingStrategy", "created", "parallel"
             )
         );
     }
@@ -1045,6 +1067,14 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             }
         }
 
+        if ("parallel".equals(field)) {
+            if (this.isParallel()) {
+                return true;
+            } else {
+                return null;
+            }
+        }
+
         if ("failOnError".equals(field)) {
             return this.getFailOnError();
         }
@@ -0,0 +1,107 @@
+package liquibase.changelog;
+
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes the checksums of many changeSets at once on a fork-join pool, by default the common pool of the JVM.
+ * {@link ChangeSet#generateCheckSum()} caches the result on the changeSet, so later calls on the calling thread return
+ * immediately.
+ */
+public class ChangeSetCheckSumGenerator {
+
+    /**
+     * Lists with fewer changeSets are not split further.
+     */
+    private static final int THRESHOLD = 32;
+
+    private final ForkJoinPool pool;
+
+    public ChangeSetCheckSumGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a generator that runs on the given pool. The pool is not shut down by the generator.
+     */
+    public ChangeSetCheckSumGenerator(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Generates the checksums of all the given changeSets. Exceptions thrown while generating a checksum are rethrown
+     * on the calling thread.
+     */
+    public void generateCheckSums(List<ChangeSet> changeSets) {
+        generateCheckSums(changeSets, false);
+    }
+
+    /**
+     * Generates the checksums of the given changeSets ahead of the code that needs them. Exceptions are ignored: the
+     * checksum of a changeSet that failed is not cached, so the failure is reported again, in order, when the
+     * checksum is generated on the calling thread later.
+     */
+    public void precomputeCheckSums(List<ChangeSet> changeSets) {
+        generateCheckSums(changeSets, true);
+    }
+
+    private void generateCheckSums(List<ChangeSet> changeSets, boolean ignoreErrors) {
+        if ((pool.getParallelism() == 1) || (changeSets.size() <= THRESHOLD)) {
+            if (!ignoreErrors) {
+                generate(changeSets, 0, changeSets.size(), false);
+            }
+            return;
+        }
+
+        //resolve the cache on this thread so the workers don't all race to create it
+        CheckSumCache.getInstance();
+
+        pool.invoke(new GenerateCheckSums(changeSets, 0, changeSets.size(), ignoreErrors));
+    }
+
+    private static void generate(List<ChangeSet> changeSets, int start, int end, boolean ignoreErrors) {
+        for (int i = start; i < end; i++) {
+            try {
+                changeSets.get(i).generateCheckSum();
+            } catch (RuntimeException e) {
+                if (!ignoreErrors) {
+                    throw e;
+                }
+                LogService.getLog(ChangeSetCheckSumGenerator.class).debug(LogType.LOG, "Could not precompute the " +
+                    "checksum of " + changeSets.get(i), e);
+            }
+        }
+    }
+
+    private static class GenerateCheckSums extends RecursiveAction {
+        private final List<ChangeSet> changeSets;
+        private final int start;
+        private final int end;
+        private final boolean ignoreErrors;
+
+        GenerateCheckSums(List<ChangeSet> changeSets, int start, int end, boolean ignoreErrors) {
+            this.changeSets = changeSets;
+            this.start = start;
+            this.end = end;
+            this.ignoreErrors = ignoreErrors;
+        }
+
+        @Override
+        protected void compute() {
+            if ((end - start) <= THRESHOLD) {
+                generate(changeSets, start, end, ignoreErrors);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new GenerateCheckSums(changeSets, start, middle, ignoreErrors),
+                new GenerateCheckSums(changeSets, middle, end, ignoreErrors));
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package liquibase.changelog;
+
+import liquibase.ContextExpression;
+import liquibase.Labels;
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.change.Change;
+import liquibase.change.ChangeFactory;
+import liquibase.change.ChangeParameterMetaData;
+import liquibase.change.CheckSum;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.FileUtil;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.MD5Util;
+import liquibase.util.StreamUtil;
+import liquibase.util.StringUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Optional on-disk cache of changeSet checksums, enabled with {@link GlobalConfiguration#CHECKSUM_CACHE_ENABLED}.
+ * <p>
+ * The checksums are stored per changelog file. Each file's entries are valid for one "source": the MD5 of the file
+ * content, read through the changelog's {@link ResourceAccessor}, combined with the values of the changelog
+ * parameters the file references. When either changes, the file's entries are discarded automatically.
+ * ChangeSets with changes that read other files (any change with a "path" or "file" parameter, like sqlFile or
+ * loadData) are never cached, since their checksum depends on content the source does not cover.
+ * <p>
+ * Entries are kept in memory and written to disk by {@link #save()}.
+ */
+public class CheckSumCache implements SingletonObject {
+
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{([^\\}]+)\\}");
+    private static final String SOURCE_KEY = "#source";
+    private static final String VERSION_KEY = "#version";
+
+    private final Logger log = LogService.getLog(getClass());
+
+    private final Map<String, CachedChangeLog> changeLogsByPath = new ConcurrentHashMap<>();
+
+    private CheckSumCache() {
+    }
+
+    public static CheckSumCache getInstance() {
+        return Scope.getCurrentScope().getSingleton(CheckSumCache.class);
+    }
+
+    public boolean isEnabled() {
+        Boolean enabled = getConfiguration().getCheckSumCacheEnabled();
+        return (enabled != null) && enabled;
+    }
+
+    /**
+     * Returns the cached checksum of the changeSet, or null if it is not cached or cannot be cached.
+     */
+    public CheckSum get(ChangeSet changeSet) {
+        CachedChangeLog changeLog = getCachedChangeLog(changeSet);
+        if (changeLog == null) {
+            return null;
+        }
+        String checkSum = changeLog.checkSums.getProperty(getKey(changeSet));
+        if (checkSum == null) {
+            return null;
+        }
+        return CheckSum.parse(checkSum);
+    }
+
+    public void put(ChangeSet changeSet, CheckSum checkSum) {
+        CachedChangeLog changeLog = getCachedChangeLog(changeSet);
+        if ((changeLog == null) || (checkSum == null)) {
+            return;
+        }
+        Object previous = changeLog.checkSums.setProperty(getKey(changeSet), checkSum.toString());
+        if (!checkSum.toString().equals(previous)) {
+            changeLog.dirty = true;
+        }
+    }
+
+    /**
+     * Writes the entries added since the last save to the cache directory. Errors are logged and otherwise ignored,
+     * the cache only makes checksums faster to get.
+     */
+    public synchronized void save() {
+        for (Map.Entry<String, CachedChangeLog> entry : changeLogsByPath.entrySet()) {
+            CachedChangeLog changeLog = entry.getValue();
+            if (!changeLog.dirty) {
+                continue;
+            }
+            changeLog.dirty = false;
+            File file = getCacheFile(entry.getKey());
+            try {
+                Properties properties = new Properties();
+                properties.putAll(changeLog.checkSums);
+                properties.setProperty(SOURCE_KEY, changeLog.source);
+                properties.setProperty(VERSION_KEY, LiquibaseUtil.getBuildVersion());
+                String comments = "Liquibase checksums of " + entry.getKey();
+                FileUtil.writeAtomically(file, outputStream -> properties.store(outputStream, comments));
+            } catch (IOException e) {
+                log.warning(LogType.LOG, "Cannot write checksum cache " + file.getAbsolutePath() + ": " +
+                    e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forgets the entries held in memory. The files on disk are kept.
+     */
+    public synchronized void reset() {
+        changeLogsByPath.clear();
+    }
+
+    private CachedChangeLog getCachedChangeLog(ChangeSet changeSet) {
+        if (!isEnabled() || !isCacheable(changeSet)) {
+            return null;
+        }
+        DatabaseChangeLog databaseChangeLog = changeSet.getChangeLog();
+        String path = databaseChangeLog.getPhysicalFilePath();
+        String source = getSource(databaseChangeLog);
+        if (source == null) {
+            return null;
+        }
+
+        CachedChangeLog changeLog = changeLogsByPath.get(path);
+        if ((changeLog == null) || !changeLog.source.equals(source)) {
+            synchronized (this) {
+                changeLog = changeLogsByPath.get(path);
+                if ((changeLog == null) || !changeLog.source.equals(source)) {
+                    changeLog = load(path, source);
+                    changeLogsByPath.put(path, changeLog);
+                }
+            }
+        }
+        return changeLog;
+    }
+
+    protected boolean isCacheable(ChangeSet changeSet) {
+        DatabaseChangeLog changeLog = changeSet.getChangeLog();
+        if ((changeLog == null) || (changeLog.getPhysicalFilePath() == null) ||
+            (changeLog.getResourceAccessor() == null)) {
+            return false;
+        }
+        ChangeFactory changeFactory = Scope.getCurrentScope().getSingleton(ChangeFactory.class);
+        for (Change change : changeSet.getChanges()) {
+            Map<String, ChangeParameterMetaData> parameters = changeFactory.getChangeMetaData(change).getParameters();
+            for (String name : new String[]{"path", "file"}) {
+                ChangeParameterMetaData parameter = parameters.get(name);
+                if ((parameter != null) && (parameter.getCurrentValue(change) != null)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the MD5 of the changelog file content and the parameters it references, or null if the file cannot be
+     * read. The value is computed once per changelog.
+     */
+    private String getSource(DatabaseChangeLog changeLog) {
+        String source = changeLog.getCheckSumCacheSource();
+        if (source == null) {
+            source = computeSource(changeLog);
+            changeLog.setCheckSumCacheSource((source == null) ? "" : source);
+        }
+        return "".equals(source) ? null : source;
+    }
+
+    private String computeSource(DatabaseChangeLog changeLog) {
+        byte[] content;
+        try (InputStream stream = StreamUtil.singleInputStream(changeLog.getPhysicalFilePath(),
+            changeLog.getResourceAccessor())) {
+            if (stream == null) {
+                return null;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            StreamUtil.copy(stream, buffer);
+            content = buffer.toByteArray();
+        } catch (IOException e) {
+            log.debug(LogType.LOG, "Cannot read " + changeLog.getPhysicalFilePath() + " for the checksum cache", e);
+            return null;
+        }
+
+        StringBuilder source = new StringBuilder(MD5Util.computeMD5(new ByteArrayInputStream(content)));
+        ChangeLogParameters parameters = changeLog.getChangeLogParameters();
+        if (parameters != null) {
+            for (Map.Entry<String, Object> parameter : getReferencedParameters(new String(content,
+                StandardCharsets.UTF_8), changeLog, parameters).entrySet()) {
+                source.append('\n').append(parameter.getKey()).append('=').append(parameter.getValue());
+            }
+        }
+        return MD5Util.computeMD5(source.toString());
+    }
+
+    /**
+     * Returns the values of the parameters referenced in the text, and in the values of those parameters.
+     */
+    private SortedMap<String, Object> getReferencedParameters(String text, DatabaseChangeLog changeLog,
+                                                             ChangeLogParameters parameters) {
+        SortedMap<String, Object> values = new TreeMap<>();
+        List<String> pending = new ArrayList<>();
+        pending.add(text);
+        while (!pending.isEmpty()) {
+            Matcher matcher = EXPRESSION_PATTERN.matcher(pending.remove(pending.size() - 1));
+            while (matcher.find()) {
+                String key = matcher.group(1);
+                if (values.containsKey(key)) {
+                    continue;
+                }
+                Object value = parameters.getValue(key, changeLog);
+                values.put(key, value);
+                if (value != null) {
+                    pending.add(value.toString());
+                }
+            }
+        }
+        return values;
+    }
+
+    private CachedChangeLog load(String path, String source) {
+        CachedChangeLog changeLog = new CachedChangeLog(source);
+        File file = getCacheFile(path);
+        if (!file.exists()) {
+            return changeLog;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            log.debug(LogType.LOG, "Cannot read checksum cache " + file.getAbsolutePath(), e);
+            return changeLog;
+        }
+        if (source.equals(properties.getProperty(SOURCE_KEY)) &&
+            LiquibaseUtil.getBuildVersion().equals(properties.getProperty(VERSION_KEY))) {
+            properties.remove(SOURCE_KEY);
+            properties.remove(VERSION_KEY);
+            changeLog.checkSums.putAll(properties);
+        } else {
+            log.debug(LogType.LOG, "Discarding checksum cache of changed file " + path);
+        }
+        return changeLog;
+    }
+
+    private File getCacheFile(String path) {
+        return new File(new File(getConfiguration().getCheckSumCacheDirectory(), "checksums"),
+            MD5Util.computeMD5(path) + ".properties");
+    }
+
+    /**
+     * Returns the key of the changeSet within its file. Besides id and author it includes the dbms, contexts and
+     * labels, since a file may hold changeSets that only differ in those.
+     */
+    private String getKey(ChangeSet changeSet) {
+        Set<String> dbms = changeSet.getDbmsSet();
+        ContextExpression contexts = changeSet.getContexts();
+        Labels labels = changeSet.getLabels();
+        return changeSet.getId() + "::" + changeSet.getAuthor() +
+            "::" + ((dbms == null) ? "" : StringUtil.join(dbms, ",", true)) +
+            "::" + (((contexts == null) || contexts.isEmpty()) ? "" : contexts.toString()) +
+            "::" + (((labels == null) || labels.isEmpty()) ? "" : labels.toString());
+    }
+
+    private GlobalConfiguration getConfiguration() {
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+    }
+
+    private static class CachedChangeLog {
+        private final String source;
+        private final Properties checkSums = new Properties();
+        private volatile boolean dirty;
+
+        CachedChangeLog(String source) {
+            this.source = source;
+        }
+    }
+}
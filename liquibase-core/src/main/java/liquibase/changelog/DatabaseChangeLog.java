@@ -8,6 +8,8 @@ import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.changelog.filter.LabelChangeSetFilter;
 import liquibase.changelog.visitor.ValidatingVisitor;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseList;
 import liquibase.database.ObjectQuotingStrategy;
@@ -19,6 +21,7 @@ import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
+import liquibase.parser.core.xml.AbstractChangeLogParser;
 import liquibase.precondition.Conditional;
 import liquibase.precondition.core.PreconditionContainer;
 import liquibase.resource.ResourceAccessor;
@@ -31,6 +34,13 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Encapsulates the information stored in the change log XML file.
@@ -59,6 +69,20 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
     private ContextExpression includeContexts;
 
+    private ResourceAccessor resourceAccessor;
+    private volatile String checkSumCacheSource;
+
+    /**
+     * Trees of included files that are being parsed in the background, by file name.
+     */
+    private final Map<String, Future<ParsedNode>> preParsedChangeLogs = new ConcurrentHashMap<>();
+
+    /**
+     * Parses included files in the background for this changelog and all the changelogs it includes. Only set on the
+     * root changelog.
+     */
+    private ThreadPoolExecutor parseExecutor;
+
     public DatabaseChangeLog() {
     }
 
@@ -113,6 +137,25 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         this.changeLogParameters = changeLogParameters;
     }
 
+    /**
+     * Returns the ResourceAccessor the changelog file was read with, or null if it was not read from a file.
+     */
+    public ResourceAccessor getResourceAccessor() {
+        return resourceAccessor;
+    }
+
+    public void setResourceAccessor(ResourceAccessor resourceAccessor) {
+        this.resourceAccessor = resourceAccessor;
+    }
+
+    String getCheckSumCacheSource() {
+        return checkSumCacheSource;
+    }
+
+    void setCheckSumCacheSource(String checkSumCacheSource) {
+        this.checkSumCacheSource = checkSumCacheSource;
+    }
+
     public String getPhysicalFilePath() {
         return physicalFilePath;
     }
@@ -178,10 +221,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
     public ChangeSet getChangeSet(String path, String author, String id) {
         for (ChangeSet changeSet : changeSets) {
-            if (normalizePath(changeSet.getFilePath()).equalsIgnoreCase(normalizePath(path))
-                    && changeSet.getAuthor().equalsIgnoreCase(author)
-                    && changeSet.getId().equalsIgnoreCase(id)
-                    && isDbmsMatch(changeSet.getDbmsSet())) {
+            if (isChangeSetMatch(changeSet, path, author, id)) {
                 return changeSet;
             }
         }
@@ -189,6 +229,51 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         return null;
     }
 
+    /**
+     * Looks up the changeSet of each of the given ranChangeSets the same way {@link #getChangeSet(RanChangeSet)} does,
+     * but indexes the changeSets once instead of scanning all of them for every ranChangeSet.
+     *
+     * @return the changeSets in the order of the ranChangeSets, with null for ranChangeSets that are not in this
+     * changelog
+     */
+    public List<ChangeSet> getChangeSets(List<RanChangeSet> ranChangeSets) {
+        Map<String, List<ChangeSet>> changeSetsByKey = new HashMap<>();
+        for (ChangeSet changeSet : changeSets) {
+            String key = RanChangeSetIndex.createKey(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor());
+            List<ChangeSet> bucket = changeSetsByKey.get(key);
+            if (bucket == null) {
+                bucket = new ArrayList<>(1);
+                changeSetsByKey.put(key, bucket);
+            }
+            bucket.add(changeSet);
+        }
+
+        List<ChangeSet> result = new ArrayList<>(ranChangeSets.size());
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            ChangeSet found = null;
+            List<ChangeSet> bucket = changeSetsByKey.get(RanChangeSetIndex.createKey(ranChangeSet.getChangeLog(),
+                ranChangeSet.getId(), ranChangeSet.getAuthor()));
+            if (bucket != null) {
+                for (ChangeSet changeSet : bucket) {
+                    if (isChangeSetMatch(changeSet, ranChangeSet.getChangeLog(), ranChangeSet.getAuthor(),
+                        ranChangeSet.getId())) {
+                        found = changeSet;
+                        break;
+                    }
+                }
+            }
+            result.add(found);
+        }
+        return result;
+    }
+
+    private boolean isChangeSetMatch(ChangeSet changeSet, String path, String author, String id) {
+        return normalizePath(changeSet.getFilePath()).equalsIgnoreCase(normalizePath(path))
+                && changeSet.getAuthor().equalsIgnoreCase(author)
+                && changeSet.getId().equalsIgnoreCase(id)
+                && isDbmsMatch(changeSet.getDbmsSet());
+    }
+
     public List<ChangeSet> getChangeSets() {
         return changeSets;
     }
@@ -264,9 +349,12 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
                 new LabelChangeSetFilter(labelExpression)
         );
 
-        ValidatingVisitor validatingVisitor = new ValidatingVisitor(database.getRanChangeSetList());
+        List<RanChangeSet> ranChangeSets = database.getRanChangeSetList();
+        ValidatingVisitor validatingVisitor = new ValidatingVisitor(ranChangeSets);
         validatingVisitor.validate(database, this);
+        precomputeCheckSums(ranChangeSets);
         logIterator.run(validatingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
+        CheckSumCache.getInstance().save();
 
         for (String message : validatingVisitor.getWarnings().getMessages()) {
             LogService.getLog(getClass()).warning(LogType.LOG, message);
@@ -277,23 +365,68 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         }
     }
 
+    /**
+     * Computes the checksums the validation compares against DATABASECHANGELOG in parallel, before the changeSets
+     * are validated in order. Only changeSets that may have been ran need a checksum.
+     */
+    private void precomputeCheckSums(List<RanChangeSet> ranChangeSets) {
+        if (ranChangeSets.isEmpty()) {
+            return;
+        }
+        RanChangeSetIndex ranChangeSetIndex = new RanChangeSetIndex(ranChangeSets);
+        List<ChangeSet> ranCandidates = new ArrayList<>();
+        for (ChangeSet changeSet : getChangeSets()) {
+            if (!ranChangeSetIndex.getCandidates(changeSet).isEmpty()) {
+                ranCandidates.add(changeSet);
+            }
+        }
+        new ChangeSetCheckSumGenerator().precomputeCheckSums(ranCandidates);
+    }
+
     public ChangeSet getChangeSet(RanChangeSet ranChangeSet) {
         return getChangeSet(ranChangeSet.getChangeLog(), ranChangeSet.getAuthor(), ranChangeSet.getId());
     }
 
     public void load(ParsedNode parsedNode, ResourceAccessor resourceAccessor)
             throws ParsedNodeException, SetupException {
+        setResourceAccessor(resourceAccessor);
         setLogicalFilePath(parsedNode.getChildValue(null, "logicalFilePath", String.class));
         setContexts(new ContextExpression(parsedNode.getChildValue(null, "context", String.class)));
         String objectQuotingStrategy = parsedNode.getChildValue(null, "objectQuotingStrategy", String.class);
         if (objectQuotingStrategy != null) {
             setObjectQuotingStrategy(ObjectQuotingStrategy.valueOf(objectQuotingStrategy));
         }
-        for (ParsedNode childNode : parsedNode.getChildren()) {
-            handleChildNode(childNode, resourceAccessor);
+        // included files are only parsed ahead once the properties their paths may use are set
+        List<ParsedNode> childNodes = parsedNode.getChildren();
+        int firstNodeAfterProperties = 0;
+        for (int i = 0; i < childNodes.size(); i++) {
+            if ("property".equals(childNodes.get(i).getName())) {
+                firstNodeAfterProperties = i + 1;
+            }
+        }
+        List<String> preParsedFileNames = new ArrayList<>();
+        try {
+            for (int i = 0; i < childNodes.size(); i++) {
+                if (i == firstNodeAfterProperties) {
+                    preParsedFileNames = preParse(getIncludeFileNames(childNodes.subList(i, childNodes.size())),
+                        resourceAccessor);
+                }
+                handleChildNode(childNodes.get(i), resourceAccessor);
+            }
+        } finally {
+            discardPreParsed(preParsedFileNames);
         }
     }
 
+    /**
+     * Loads a single child node, for parsers that stream the file instead of passing the whole tree to
+     * {@link #load(ParsedNode, ResourceAccessor)}. load must have been called with the root node first.
+     */
+    public void loadChildNode(ParsedNode childNode, ResourceAccessor resourceAccessor)
+            throws ParsedNodeException, SetupException {
+        handleChildNode(childNode, resourceAccessor);
+    }
+
     protected void expandExpressions(ParsedNode parsedNode) {
         if (changeLogParameters == null) {
             return;
@@ -486,8 +619,13 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
                         "Could not find directory or directory was empty for includeAll '" + pathName + "'");
             }
 
-            for (String path : resources) {
-                include(path, false, resourceAccessor, includeContexts, false);
+            List<String> preParsedFileNames = preParse(resources, resourceAccessor);
+            try {
+                for (String path : resources) {
+                    include(path, false, resourceAccessor, includeContexts, false);
+                }
+            } finally {
+                discardPreParsed(preParsedFileNames);
             }
         } catch (Exception e) {
             throw new SetupException(e);
@@ -503,15 +641,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         }
 
         String relativeBaseFileName = this.getPhysicalFilePath();
-        if (isRelativePath) {
-            // workaround for FilenameUtils.normalize() returning null for relative paths like ../conf/liquibase.xml
-            String tempFile = FilenameUtils.concat(FilenameUtils.getFullPath(relativeBaseFileName), fileName);
-            if (tempFile != null && new File(tempFile).exists() == true) {
-                fileName = tempFile;
-            } else {
-                fileName = FilenameUtils.getFullPath(relativeBaseFileName) + fileName;
-            }
-        }
+        fileName = getIncludeFileName(fileName, isRelativePath);
         DatabaseChangeLog changeLog;
         try {
             DatabaseChangeLog rootChangeLog = ROOT_CHANGE_LOG.get();
@@ -522,7 +652,13 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             PARENT_CHANGE_LOG.set(this);
             try {
                 ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(fileName, resourceAccessor);
-                changeLog = parser.parse(fileName, changeLogParameters, resourceAccessor);
+                Future<ParsedNode> preParsedNode = preParsedChangeLogs.remove(fileName);
+                if ((preParsedNode != null) && (parser instanceof AbstractChangeLogParser)) {
+                    changeLog = ((AbstractChangeLogParser) parser).parse(fileName, changeLogParameters,
+                        resourceAccessor, getPreParsedNode(preParsedNode));
+                } else {
+                    changeLog = parser.parse(fileName, changeLogParameters, resourceAccessor);
+                }
                 changeLog.setIncludeContexts(includeContexts);
             } finally {
                 if (rootChangeLog == null) {
@@ -558,6 +694,130 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         return true;
     }
 
+    private String getIncludeFileName(String fileName, boolean isRelativePath) {
+        if (!isRelativePath) {
+            return fileName;
+        }
+        String relativeBaseFileName = this.getPhysicalFilePath();
+        // workaround for FilenameUtils.normalize() returning null for relative paths like ../conf/liquibase.xml
+        String tempFile = FilenameUtils.concat(FilenameUtils.getFullPath(relativeBaseFileName), fileName);
+        if (tempFile != null && new File(tempFile).exists() == true) {
+            return tempFile;
+        } else {
+            return FilenameUtils.getFullPath(relativeBaseFileName) + fileName;
+        }
+    }
+
+    /**
+     * Returns the files the include nodes among the given nodes refer to. Paths with expressions that cannot be
+     * expanded yet are left out.
+     */
+    private List<String> getIncludeFileNames(List<ParsedNode> nodes) throws ParsedNodeException {
+        List<String> fileNames = new ArrayList<>();
+        for (ParsedNode childNode : nodes) {
+            if (!"include".equals(childNode.getName())) {
+                continue;
+            }
+            String path = childNode.getChildValue(null, "file", String.class);
+            if (path == null) {
+                continue;
+            }
+            if (changeLogParameters != null) {
+                path = changeLogParameters.expandExpressions(path, this);
+            }
+            if (path.contains("${")) {
+                continue;
+            }
+            fileNames.add(getIncludeFileName(path.replace('\\', '/'),
+                childNode.getChildValue(null, "relativeToChangelogFile", false)));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Starts parsing the given files in the background, when {@link GlobalConfiguration#CHANGELOG_PARSE_THREADS} is
+     * more than 1. All changelogs of a parse share the executor of the root changelog, so there are never more
+     * parse threads than configured. Only the trees are built in the background: {@link #include(String, boolean,
+     * ResourceAccessor, ContextExpression, boolean)} still loads the files one at a time in the declared order, so
+     * changeSets, properties and errors come out exactly as with sequential parsing.
+     *
+     * @return the files that are being parsed, to pass to {@link #discardPreParsed(List)}
+     */
+    private List<String> preParse(Collection<String> fileNames, ResourceAccessor resourceAccessor) {
+        List<String> preParsedFileNames = new ArrayList<>();
+        Integer threads = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+            .getChangeLogParseThreads();
+        if ((threads == null) || (threads <= 1) || (fileNames.size() < 2)) {
+            return preParsedFileNames;
+        }
+
+        for (String fileName : fileNames) {
+            if (preParsedChangeLogs.containsKey(fileName)) {
+                continue;
+            }
+            ChangeLogParser parser;
+            try {
+                parser = ChangeLogParserFactory.getInstance().getParser(fileName, resourceAccessor);
+            } catch (LiquibaseException e) {
+                continue;
+            }
+            if (!(parser instanceof AbstractChangeLogParser)) {
+                continue;
+            }
+            AbstractChangeLogParser changeLogParser = (AbstractChangeLogParser) parser;
+            preParsedChangeLogs.put(fileName, getRootChangeLog().getParseExecutor(threads).submit(() ->
+                changeLogParser.getParsedNode(fileName, changeLogParameters, resourceAccessor)));
+            preParsedFileNames.add(fileName);
+        }
+        return preParsedFileNames;
+    }
+
+    /**
+     * Returns the executor included files are parsed on. Its threads end once they have been idle for a while, so it
+     * does not need to be shut down.
+     */
+    private synchronized ExecutorService getParseExecutor(int threads) {
+        if (parseExecutor == null) {
+            parseExecutor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "liquibase-changelog-parser");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            parseExecutor.allowCoreThreadTimeOut(true);
+        }
+        return parseExecutor;
+    }
+
+    private ParsedNode getPreParsedNode(Future<ParsedNode> preParsedNode) throws ChangeLogParseException {
+        try {
+            return preParsedNode.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChangeLogParseException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ChangeLogParseException) {
+                throw (ChangeLogParseException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ChangeLogParseException(e.getCause());
+        }
+    }
+
+    /**
+     * Forgets the trees of files that were not included after all.
+     */
+    private void discardPreParsed(List<String> fileNames) {
+        for (String fileName : fileNames) {
+            Future<ParsedNode> preParsedNode = preParsedChangeLogs.remove(fileName);
+            if (preParsedNode != null) {
+                preParsedNode.cancel(false);
+            }
+        }
+    }
+
     protected ChangeSet createChangeSet(ParsedNode node, ResourceAccessor resourceAccessor) throws ParsedNodeException {
         ChangeSet changeSet = new ChangeSet(this);
         changeSet.setChangeLogParameters(this.getChangeLogParameters());
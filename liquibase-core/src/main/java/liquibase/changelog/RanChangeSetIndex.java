@@ -0,0 +1,121 @@
+package liquibase.changelog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed index of {@link RanChangeSet}s keyed by file path, id and author, so a changeSet can be looked up without
+ * scanning the whole history.
+ * <p>
+ * The various places that match changeSets against the history differ slightly in how they compare the values
+ * (case sensitivity, "classpath:" prefixes, path separators). The key is therefore deliberately coarse: it is built
+ * from the case-folded id, author and file name (the part of the path after the last separator), so every
+ * ranChangeSet that could match under any of these rules ends up in the same bucket. Callers apply their own exact
+ * comparison to the few {@link #getCandidates(ChangeSet) candidates} of a bucket.
+ */
+public class RanChangeSetIndex {
+
+    private final Map<String, List<RanChangeSet>> ranChangeSetsByKey = new HashMap<>();
+
+    public RanChangeSetIndex() {
+    }
+
+    public RanChangeSetIndex(Collection<RanChangeSet> ranChangeSets) {
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            add(ranChangeSet);
+        }
+    }
+
+    public void add(RanChangeSet ranChangeSet) {
+        String key = createKey(ranChangeSet.getChangeLog(), ranChangeSet.getId(), ranChangeSet.getAuthor());
+        List<RanChangeSet> bucket = ranChangeSetsByKey.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<>(1);
+            ranChangeSetsByKey.put(key, bucket);
+        }
+        bucket.add(ranChangeSet);
+    }
+
+    /**
+     * Removes the first indexed ranChangeSet that {@link RanChangeSet#equals(Object) equals} the given one.
+     *
+     * @return true if a ranChangeSet was removed
+     */
+    public boolean remove(RanChangeSet ranChangeSet) {
+        String key = createKey(ranChangeSet.getChangeLog(), ranChangeSet.getId(), ranChangeSet.getAuthor());
+        List<RanChangeSet> bucket = ranChangeSetsByKey.get(key);
+        if ((bucket == null) || !bucket.remove(ranChangeSet)) {
+            return false;
+        }
+        if (bucket.isEmpty()) {
+            ranChangeSetsByKey.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ranChangeSets that may match the given changeSet, in the order they were added.
+     */
+    public List<RanChangeSet> getCandidates(ChangeSet changeSet) {
+        List<RanChangeSet> bucket = ranChangeSetsByKey.get(
+            createKey(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor()));
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(bucket);
+    }
+
+    /**
+     * Returns the first ranChangeSet that {@link RanChangeSet#isSameAs(ChangeSet) is the same as} the given changeSet.
+     *
+     * @return null if the changeSet has not been ran
+     */
+    public RanChangeSet get(ChangeSet changeSet) {
+        for (RanChangeSet ranChangeSet : getCandidates(changeSet)) {
+            if (ranChangeSet.isSameAs(changeSet)) {
+                return ranChangeSet;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the key under which changeSets with the given path, id and author are indexed. Values that are equal
+     * ignoring case, "classpath:" prefixes and the kind of path separator always have the same key.
+     */
+    public static String createKey(String filePath, String id, String author) {
+        StringBuilder key = new StringBuilder();
+        appendFolded(id, 0, key);
+        key.append("::");
+        appendFolded(author, 0, key);
+        key.append("::");
+        if (filePath != null) {
+            int fileNameStart = 0;
+            for (int i = filePath.length() - 1; i >= 0; i--) {
+                char c = filePath.charAt(i);
+                if ((c == '/') || (c == '\\') || (c == ':')) {
+                    fileNameStart = i + 1;
+                    break;
+                }
+            }
+            appendFolded(filePath, fileNameStart, key);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Appends the value folded the same way {@link String#equalsIgnoreCase(String)} compares characters.
+     */
+    private static void appendFolded(String value, int start, StringBuilder key) {
+        if (value == null) {
+            return;
+        }
+        for (int i = start; i < value.length(); i++) {
+            key.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+    }
+}
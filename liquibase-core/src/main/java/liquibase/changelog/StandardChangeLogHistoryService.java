@@ -16,6 +16,8 @@ import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.executor.jvm.RowMapper;
 import liquibase.logging.LogService;
 import liquibase.logging.LogType;
 import liquibase.snapshot.InvalidExampleException;
@@ -27,7 +29,11 @@ import liquibase.statement.core.*;
 import liquibase.structure.core.Column;
 import liquibase.structure.core.DataType;
 import liquibase.structure.core.Table;
+import liquibase.util.JdbcUtils;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -36,6 +42,7 @@ import java.util.*;
 public class StandardChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
     private List<RanChangeSet> ranChangeSetList;
+    private RanChangeSetIndex ranChangeSetIndex;
     private boolean serviceInitialized;
     private Boolean hasDatabaseChangeLogTable;
     private boolean databaseChecksumsCompatible = true;
@@ -73,6 +80,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     @Override
     public void reset() {
         this.ranChangeSetList = null;
+        this.ranChangeSetIndex = null;
         this.serviceInitialized = false;
         this.hasDatabaseChangeLogTable = null;
     }
@@ -305,58 +313,82 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             List<RanChangeSet> ranChangeSets = new ArrayList<>();
             if (hasDatabaseChangeLogTable()) {
                 LogService.getLog(getClass()).info(LogType.LOG, "Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    String fileName = rs.get("FILENAME").toString();
-                    String author = rs.get("AUTHOR").toString();
-                    String id = rs.get("ID").toString();
-                    String md5sum = ((rs.get("MD5SUM") == null) || !databaseChecksumsCompatible) ? null : rs.get
-                        ("MD5SUM").toString();
-                    String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
-                    String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = null;
-                    if (tmpDateExecuted instanceof Date) {
-                        dateExecuted = (Date) tmpDateExecuted;
-                    } else {
-                        DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-                        try {
-                            dateExecuted = df.parse((String) tmpDateExecuted);
-                        } catch (ParseException e) {
-                            // Ignore ParseException and assume dateExecuted == null instead of aborting.
-                        }
-                    }
-                    String tmpOrderExecuted = rs.get("ORDEREXECUTED").toString();
-                    Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
-                    String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
-                    String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-                    String deploymentId = (String) rs.get("DEPLOYMENT_ID");
-
+                Executor executor = ExecutorService.getInstance().getExecutor(database);
+                if (executor instanceof JdbcExecutor) {
+                    // map the rows straight from the result set, without building a Map for each of them first
+                    ranChangeSets.addAll(((JdbcExecutor) executor).query(createSelectFromDatabaseChangeLogStatement(),
+                        new RanChangeSetRowMapper()));
+                } else {
                     try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
-                            dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
-                            labels, deploymentId);
-                        ranChangeSet.setOrderExecuted(orderExecuted);
-                        ranChangeSets.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        LogService.getLog(getClass()).severe(LogType.LOG, "Unknown EXECTYPE from database: " +
-                            execType);
-                        throw e;
+                        for (final Map<String, ?> rs : queryDatabaseChangeLogTable(database)) {
+                            ranChangeSets.add(createRanChangeSet(new ColumnValues() {
+                                @Override
+                                public Object get(String columnName) {
+                                    return rs.get(columnName);
+                                }
+                            }));
+                        }
+                    } catch (SQLException e) {
+                        throw new DatabaseException(e);
                     }
                 }
             }
 
             this.ranChangeSetList = ranChangeSets;
+            this.ranChangeSetIndex = new RanChangeSetIndex(ranChangeSets);
         }
         return Collections.unmodifiableList(ranChangeSetList);
     }
 
     public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
-        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(new ColumnConfig()
-            .setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
-        return ExecutorService.getInstance().getExecutor(database).queryForList(select);
+        return ExecutorService.getInstance().getExecutor(database).queryForList(
+            createSelectFromDatabaseChangeLogStatement());
+    }
+
+    protected SelectFromDatabaseChangeLogStatement createSelectFromDatabaseChangeLogStatement() {
+        return new SelectFromDatabaseChangeLogStatement(new ColumnConfig().setName("*").setComputed(true))
+            .setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+    }
+
+    private RanChangeSet createRanChangeSet(ColumnValues rs) throws SQLException {
+        String fileName = rs.get("FILENAME").toString();
+        String author = rs.get("AUTHOR").toString();
+        String id = rs.get("ID").toString();
+        String md5sum = ((rs.get("MD5SUM") == null) || !databaseChecksumsCompatible) ? null : rs.get
+            ("MD5SUM").toString();
+        String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
+        String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
+        Object tmpDateExecuted = rs.get("DATEEXECUTED");
+        Date dateExecuted = null;
+        if (tmpDateExecuted instanceof Date) {
+            dateExecuted = (Date) tmpDateExecuted;
+        } else {
+            DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            try {
+                dateExecuted = df.parse((String) tmpDateExecuted);
+            } catch (ParseException e) {
+                // Ignore ParseException and assume dateExecuted == null instead of aborting.
+            }
+        }
+        String tmpOrderExecuted = rs.get("ORDEREXECUTED").toString();
+        Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
+        String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
+        String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
+        ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
+        Labels labels = new Labels((String) rs.get("LABELS"));
+        String deploymentId = (String) rs.get("DEPLOYMENT_ID");
+
+        try {
+            RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
+                dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
+                labels, deploymentId);
+            ranChangeSet.setOrderExecuted(orderExecuted);
+            return ranChangeSet;
+        } catch (IllegalArgumentException e) {
+            LogService.getLog(getClass()).severe(LogType.LOG, "Unknown EXECTYPE from database: " +
+                execType);
+            throw e;
+        }
     }
 
     @Override
@@ -374,7 +406,8 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             return null;
         }
 
-        return super.getRanChangeSet(changeSet);
+        getRanChangeSets();
+        return ranChangeSetIndex.get(changeSet);
     }
 
     @Override
@@ -384,7 +417,9 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         ExecutorService.getInstance().getExecutor(database).execute(new MarkChangeSetRanStatement(changeSet, execType));
         getDatabase().commit();
         if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.add(new RanChangeSet(changeSet, execType, null, null));
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet, execType, null, null);
+            this.ranChangeSetList.add(ranChangeSet);
+            this.ranChangeSetIndex.add(ranChangeSet);
         }
 
     }
@@ -396,7 +431,9 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         getDatabase().commit();
 
         if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.remove(new RanChangeSet(changeSet));
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet);
+            this.ranChangeSetList.remove(ranChangeSet);
+            this.ranChangeSetIndex.remove(ranChangeSet);
         }
     }
 
@@ -471,4 +508,37 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             throw new UnexpectedLiquibaseException(e);
         }
     }
+
+    /**
+     * Gives access to the column values of a single DATABASECHANGELOG row.
+     */
+    private interface ColumnValues {
+        Object get(String columnName) throws SQLException;
+    }
+
+    /**
+     * Maps DATABASECHANGELOG rows to {@link RanChangeSet}s. The column positions are looked up once, from the
+     * metadata of the first row.
+     */
+    private class RanChangeSetRowMapper implements RowMapper {
+        private Map<String, Integer> columnIndexes;
+
+        @Override
+        public Object mapRow(final ResultSet rs, int rowNum) throws SQLException {
+            if (columnIndexes == null) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                columnIndexes = new HashMap<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columnIndexes.put(metaData.getColumnLabel(i).toUpperCase(), i);
+                }
+            }
+            return createRanChangeSet(new ColumnValues() {
+                @Override
+                public Object get(String columnName) throws SQLException {
+                    Integer index = columnIndexes.get(columnName);
+                    return (index == null) ? null : JdbcUtils.getResultSetValue(rs, index);
+                }
+            });
+        }
+    }
 }
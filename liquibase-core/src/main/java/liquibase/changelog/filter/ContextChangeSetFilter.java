@@ -1,6 +1,7 @@
 package liquibase.changelog.filter;
 
 import liquibase.ContextExpression;
+import liquibase.ContextMatcher;
 import liquibase.Contexts;
 import liquibase.changelog.ChangeSet;
 import liquibase.sql.visitor.SqlVisitor;
@@ -11,6 +12,7 @@ import java.util.List;
 
 public class ContextChangeSetFilter implements ChangeSetFilter {
     private Contexts contexts;
+    private ContextMatcher contextMatcher;
 
     public ContextChangeSetFilter() {
         this(new Contexts());
@@ -18,13 +20,14 @@ public class ContextChangeSetFilter implements ChangeSetFilter {
 
     public ContextChangeSetFilter(Contexts contexts) {
         this.contexts = contexts;
+        this.contextMatcher = new ContextMatcher(contexts);
     }
 
     @Override
     public ChangeSetFilterResult accepts(ChangeSet changeSet) {
         List<SqlVisitor> visitorsToRemove = new ArrayList<>();
         for (SqlVisitor visitor : changeSet.getSqlVisitors()) {
-            if ((visitor.getContexts() != null) && !visitor.getContexts().matches(contexts)) {
+            if ((visitor.getContexts() != null) && !contextMatcher.matches(visitor.getContexts())) {
                 visitorsToRemove.add(visitor);
             }
         }
@@ -39,7 +42,7 @@ public class ContextChangeSetFilter implements ChangeSetFilter {
             return new ChangeSetFilterResult(true, "Change set runs under all contexts", this.getClass());
         }
 
-        if (changeSet.getContexts().matches(contexts) && ContextExpression.matchesAll(inheritableContexts, contexts)) {
+        if (contextMatcher.matches(changeSet.getContexts()) && contextMatcher.matchesAll(inheritableContexts)) {
             return new ChangeSetFilterResult(true, "Context matches '"+contexts.toString()+"'", this.getClass());
         } else {
             return new ChangeSetFilterResult(false, "Context does not match '"+contexts.toString()+"'", this.getClass());
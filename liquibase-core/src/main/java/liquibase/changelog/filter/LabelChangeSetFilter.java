@@ -1,6 +1,7 @@
 package liquibase.changelog.filter;
 
 import liquibase.LabelExpression;
+import liquibase.LabelMatcher;
 import liquibase.changelog.ChangeSet;
 import liquibase.sql.visitor.SqlVisitor;
 
@@ -9,6 +10,7 @@ import java.util.List;
 
 public class LabelChangeSetFilter implements ChangeSetFilter {
     private LabelExpression labelExpression;
+    private LabelMatcher labelMatcher;
 
     public LabelChangeSetFilter() {
         this(new LabelExpression());
@@ -16,13 +18,14 @@ public class LabelChangeSetFilter implements ChangeSetFilter {
 
     public LabelChangeSetFilter(LabelExpression labels) {
         this.labelExpression = labels;
+        this.labelMatcher = new LabelMatcher(labels);
     }
 
     @Override
     public ChangeSetFilterResult accepts(ChangeSet changeSet) {
         List<SqlVisitor> visitorsToRemove = new ArrayList<>();
         for (SqlVisitor visitor : changeSet.getSqlVisitors()) {
-            if ((visitor.getLabels() != null) && !labelExpression.matches(visitor.getLabels())) {
+            if ((visitor.getLabels() != null) && !labelMatcher.matches(visitor.getLabels())) {
                 visitorsToRemove.add(visitor);
             }
         }
@@ -36,7 +39,7 @@ public class LabelChangeSetFilter implements ChangeSetFilter {
             return new ChangeSetFilterResult(true, "Change set runs under all labels", this.getClass());
         }
 
-        if (labelExpression.matches(changeSet.getLabels())) {
+        if (labelMatcher.matches(changeSet.getLabels())) {
             return new ChangeSetFilterResult(true, "Labels matches '"+labelExpression.toString()+"'", this.getClass());
         } else {
             return new ChangeSetFilterResult(false, "Labels does not match '"+labelExpression.toString()+"'", this.getClass());
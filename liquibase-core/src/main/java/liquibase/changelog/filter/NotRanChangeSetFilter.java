@@ -2,6 +2,7 @@ package liquibase.changelog.filter;
 
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetIndex;
 
 import java.util.List;
 
@@ -9,14 +10,17 @@ public class NotRanChangeSetFilter implements ChangeSetFilter {
 
     public List<RanChangeSet> ranChangeSets;
 
+    private final RanChangeSetIndex ranChangeSetIndex;
+
     public NotRanChangeSetFilter(List<RanChangeSet> ranChangeSets) {
         this.ranChangeSets = ranChangeSets;
+        this.ranChangeSetIndex = new RanChangeSetIndex(ranChangeSets);
     }
 
     @Override
     @SuppressWarnings({"RedundantIfStatement"})
     public ChangeSetFilterResult accepts(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : ranChangeSets) {
+        for (RanChangeSet ranChangeSet : ranChangeSetIndex.getCandidates(changeSet)) {
             if (ranChangeSet.getId().equalsIgnoreCase(changeSet.getId())
                     && ranChangeSet.getAuthor().equalsIgnoreCase(changeSet.getAuthor())
                     && ranChangeSet.getChangeLog().replaceFirst("^classpath:", "").equalsIgnoreCase(changeSet.getFilePath().replaceFirst("^classpath:", ""))) {
@@ -2,6 +2,7 @@ package liquibase.changelog.filter;
 
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetIndex;
 import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
 
@@ -12,6 +13,7 @@ import java.util.Map;
 public class ShouldRunChangeSetFilter implements ChangeSetFilter {
 
     private final Map<String, RanChangeSet> ranChangeSets;
+    private final RanChangeSetIndex ranChangeSetIndex;
     private final boolean ignoreClasspathPrefix;
 
     public ShouldRunChangeSetFilter(Database database, boolean ignoreClasspathPrefix) throws DatabaseException {
@@ -45,6 +47,7 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
                 this.ranChangeSets.put(ranChangeSet.toString(), ranChangeSet);
             }
         }
+        this.ranChangeSetIndex = new RanChangeSetIndex(this.ranChangeSets.values());
     }
 
     public ShouldRunChangeSetFilter(Database database) throws DatabaseException {
@@ -54,7 +57,7 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
     @Override
     @SuppressWarnings({"RedundantIfStatement"})
     public ChangeSetFilterResult accepts(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : this.ranChangeSets.values()) {
+        for (RanChangeSet ranChangeSet : this.ranChangeSetIndex.getCandidates(changeSet)) {
             if (changeSetsMatch(changeSet, ranChangeSet)) {
                 if (changeSet.shouldAlwaysRun()) {
                     return new ChangeSetFilterResult(true, "Change set always runs", this.getClass());
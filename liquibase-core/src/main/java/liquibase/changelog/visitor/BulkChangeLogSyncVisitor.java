@@ -0,0 +1,261 @@
+package liquibase.changelog.visitor;
+
+import liquibase.changelog.ChangeLogHistoryService;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.ChangeSetCheckSumGenerator;
+import liquibase.changelog.CheckSumCache;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.database.Database;
+import liquibase.database.core.DB2Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+import liquibase.sqlgenerator.SqlGenerator;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.sqlgenerator.core.MarkChangeSetRanGenerator;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.MarkChangeSetRanStatement;
+import liquibase.util.JdbcUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Marks changeSets as ran like {@link ChangeLogSyncVisitor}, but without a MarkChangeSetRanStatement per changeSet.
+ * The changeSets are collected while the changelog is iterated. Once the iteration has finished, their checksums are
+ * computed in parallel and all DATABASECHANGELOG rows are inserted through a single prepared statement, in JDBC
+ * batches. Databases that support it get multi-row <code>INSERT ... VALUES (...), (...)</code> statements.
+ * <p>
+ * The row values come from the INSERT {@link MarkChangeSetRanGenerator} creates for each changeSet, so this visitor
+ * is only used when that generator has not been replaced, see {@link #supports(Database)}. Only changeSets that have
+ * not been ran before can be synced this way, since every changeSet is inserted.
+ */
+public class BulkChangeLogSyncVisitor implements ChangeSetVisitor, FinishingChangeSetVisitor {
+
+    /**
+     * Maximum number of rows per multi-row INSERT, small enough to stay below the parameter limits of the databases.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 100;
+
+    /**
+     * Number of statements per JDBC batch.
+     */
+    private static final int BATCH_SIZE = 50;
+
+    private static final String[] COLUMNS = {"ID", "AUTHOR", "FILENAME", "DATEEXECUTED", "ORDEREXECUTED", "MD5SUM",
+        "DESCRIPTION", "COMMENTS", "EXECTYPE", "CONTEXTS", "LABELS", "LIQUIBASE", "DEPLOYMENT_ID", "TAG"};
+
+    private final Logger log = LogService.getLog(getClass());
+
+    private final Database database;
+    private final ChangeLogSyncListener listener;
+
+    private final List<ChangeSet> changeSets = new ArrayList<>();
+    private final List<DatabaseChangeLog> changeLogs = new ArrayList<>();
+
+    public BulkChangeLogSyncVisitor(Database database) {
+        this(database, null);
+    }
+
+    public BulkChangeLogSyncVisitor(Database database, ChangeLogSyncListener listener) {
+        this.database = database;
+        this.listener = listener;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return ChangeSetVisitor.Direction.FORWARD;
+    }
+
+    @Override
+    public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database,
+                      Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
+        changeSets.add(changeSet);
+        changeLogs.add(databaseChangeLog);
+    }
+
+    @Override
+    public void finished(DatabaseChangeLog databaseChangeLog, Database database) throws LiquibaseException {
+        if (changeSets.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        new ChangeSetCheckSumGenerator().generateCheckSums(changeSets);
+        CheckSumCache.getInstance().save();
+
+        ChangeLogHistoryService historyService = ChangeLogHistoryServiceFactory.getInstance()
+            .getChangeLogService(this.database);
+        MarkChangeSetRanGenerator generator = getGenerator(this.database);
+        if (generator == null) {
+            throw new LiquibaseException("DATABASECHANGELOG rows are not generated by " +
+                MarkChangeSetRanGenerator.class.getName() + ", use a " + ChangeLogSyncVisitor.class.getSimpleName());
+        }
+        List<Object[]> rows = new ArrayList<>(changeSets.size());
+        for (ChangeSet changeSet : changeSets) {
+            rows.add(createRow(changeSet, generator));
+        }
+        insertRows(rows);
+        this.database.commit();
+        historyService.reset();
+        log.info(LogType.LOG, "Marked " + rows.size() + " changeSets as ran in " +
+            (System.currentTimeMillis() - startTime) + " ms");
+
+        if (listener != null) {
+            for (int i = 0; i < changeSets.size(); i++) {
+                listener.markedRan(changeSets.get(i), changeLogs.get(i), this.database);
+            }
+        }
+        changeSets.clear();
+        changeLogs.clear();
+    }
+
+    /**
+     * Returns true if the DATABASECHANGELOG rows of the database are generated by the core
+     * {@link MarkChangeSetRanGenerator}, which is the only generator this visitor can build its rows with.
+     */
+    public static boolean supports(Database database) {
+        return getGenerator(database) != null;
+    }
+
+    private static MarkChangeSetRanGenerator getGenerator(Database database) {
+        SortedSet<SqlGenerator> generators = SqlGeneratorFactory.getInstance().getGenerators(
+            new MarkChangeSetRanStatement(null, ChangeSet.ExecType.EXECUTED), database);
+        if (generators.isEmpty() || !generators.first().getClass().equals(MarkChangeSetRanGenerator.class)) {
+            return null;
+        }
+        return (MarkChangeSetRanGenerator) generators.first();
+    }
+
+    /**
+     * Returns the values of all {@link #COLUMNS} except DATEEXECUTED, which is set by the database, taken from the
+     * INSERT the generator creates for the changeSet.
+     */
+    protected Object[] createRow(ChangeSet changeSet, MarkChangeSetRanGenerator generator) {
+        InsertStatement insert = (InsertStatement) generator.generateRunStatement(
+            new MarkChangeSetRanStatement(changeSet, ChangeSet.ExecType.EXECUTED), database);
+        List<Object> row = new ArrayList<>(COLUMNS.length - 1);
+        for (String column : COLUMNS) {
+            if (!"DATEEXECUTED".equals(column)) {
+                row.add(insert.getColumnValue(column));
+            }
+        }
+        return row.toArray();
+    }
+
+    protected boolean supportsMultiRowInsert(Database database) {
+        return (database instanceof PostgresDatabase) || (database instanceof MySQLDatabase) ||
+            (database instanceof H2Database) || (database instanceof HsqlDatabase) ||
+            (database instanceof MSSQLDatabase) || (database instanceof DB2Database);
+    }
+
+    /**
+     * Generates an INSERT into DATABASECHANGELOG with parameters for the given number of rows.
+     */
+    protected String generateInsertSql(int rowCount) {
+        String catalogName = database.getLiquibaseCatalogName();
+        String schemaName = database.getLiquibaseSchemaName();
+        String tableName = database.getDatabaseChangeLogTableName();
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+            .append(database.escapeTableName(catalogName, schemaName, tableName))
+            .append(" (");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(database.escapeColumnName(catalogName, schemaName, tableName, COLUMNS[i]));
+        }
+        sql.append(") VALUES ");
+
+        StringBuilder values = new StringBuilder("(");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append("DATEEXECUTED".equals(COLUMNS[i]) ? database.getCurrentDateTimeFunction() : "?");
+        }
+        values.append(")");
+
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+
+    private void insertRows(List<Object[]> rows) throws DatabaseException {
+        int rowsPerStatement = supportsMultiRowInsert(database) ? MAX_ROWS_PER_STATEMENT : 1;
+        int fullStatements = rows.size() / rowsPerStatement;
+        int remainingRows = rows.size() % rowsPerStatement;
+
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        PreparedStatement stmt = null;
+        String sql = null;
+        try {
+            if (fullStatements > 0) {
+                sql = generateInsertSql(rowsPerStatement);
+                log.debug(LogType.WRITE_SQL, sql);
+                stmt = connection.prepareStatement(sql);
+                int statementsInBatch = 0;
+                for (int i = 0; i < fullStatements; i++) {
+                    bindRows(stmt, rows.subList(i * rowsPerStatement, (i + 1) * rowsPerStatement));
+                    stmt.addBatch();
+                    if (++statementsInBatch == BATCH_SIZE) {
+                        stmt.executeBatch();
+                        statementsInBatch = 0;
+                    }
+                }
+                if (statementsInBatch > 0) {
+                    stmt.executeBatch();
+                }
+                JdbcUtils.closeStatement(stmt);
+                stmt = null;
+            }
+
+            if (remainingRows > 0) {
+                sql = generateInsertSql(remainingRows);
+                log.debug(LogType.WRITE_SQL, sql);
+                stmt = connection.prepareStatement(sql);
+                bindRows(stmt, rows.subList(rows.size() - remainingRows, rows.size()));
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException(e.getMessage() + " [Failed SQL: " + sql + "]", e);
+        } finally {
+            JdbcUtils.closeStatement(stmt);
+        }
+    }
+
+    private void bindRows(PreparedStatement stmt, List<Object[]> rows) throws SQLException {
+        int parameterIndex = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                if (value == null) {
+                    stmt.setNull(parameterIndex++, Types.VARCHAR);
+                } else if (value instanceof Integer) {
+                    stmt.setInt(parameterIndex++, (Integer) value);
+                } else {
+                    stmt.setString(parameterIndex++, value.toString());
+                }
+            }
+        }
+    }
+}
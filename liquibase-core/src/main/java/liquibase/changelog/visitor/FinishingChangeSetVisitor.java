@@ -0,0 +1,16 @@
+package liquibase.changelog.visitor;
+
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.exception.LiquibaseException;
+
+/**
+ * Called by {@link liquibase.changelog.ChangeLogIterator} once all changeSets have been visited successfully.
+ * To use, {@link liquibase.changelog.visitor.ChangeSetVisitor} implementations that defer work across changeSets
+ * should implement this interface as well.
+ */
+public interface FinishingChangeSetVisitor {
+
+    void finished(DatabaseChangeLog databaseChangeLog, Database database) throws LiquibaseException;
+
+}
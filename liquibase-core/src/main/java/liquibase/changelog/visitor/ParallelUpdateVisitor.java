@@ -0,0 +1,230 @@
+package liquibase.changelog.visitor;
+
+import liquibase.change.Change;
+import liquibase.change.core.LoadDataChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.ChangeSet.ExecType;
+import liquibase.changelog.ChangeSet.RunStatus;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.MigrationFailedException;
+import liquibase.logging.LogType;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link UpdateVisitor} that runs adjacent changeSets marked with <code>parallel="true"</code> at the same time.
+ * Only changeSets that consist entirely of {@link LoadDataChange}s are run in parallel, any other changeSet ends the
+ * current group and runs on the main connection as usual.
+ * <p>
+ * Each changeSet of a group runs on its own connection taken from the given {@link DataSource}, with at most
+ * <code>maxConnections</code> connections in use at once. Once the whole group has finished, the changeSets are marked
+ * as ran in DATABASECHANGELOG on the main connection, in the order they appear in the changelog. If a changeSet of the
+ * group fails, the other changeSets of the group are still marked as ran, since their data is already committed, and
+ * the first failure is rethrown afterwards.
+ */
+public class ParallelUpdateVisitor extends UpdateVisitor implements FinishingChangeSetVisitor {
+
+    private final DataSource dataSource;
+    private final int maxConnections;
+
+    private final List<PendingChangeSet> group = new ArrayList<>();
+
+    /**
+     * @param database the main database, used for everything except running the changes of parallel changeSets
+     * @param execListener the listener to notify, can be null. It is notified of the changes of parallel changeSets
+     *                     from the threads that run them
+     * @param dataSource the source of the connections to run parallel changeSets on
+     * @param maxConnections the maximum number of connections to use at once
+     */
+    public ParallelUpdateVisitor(Database database, ChangeExecListener execListener, DataSource dataSource,
+                                 int maxConnections) {
+        super(database, execListener);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("dataSource must not be null");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1");
+        }
+        this.dataSource = dataSource;
+        this.maxConnections = maxConnections;
+    }
+
+    @Override
+    public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database,
+                      Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
+        if (canRunInParallel(changeSet)) {
+            group.add(new PendingChangeSet(changeSet, databaseChangeLog, filterResults));
+            return;
+        }
+        if (changeSet.isParallel()) {
+            log.info(LogType.LOG, "ChangeSet " + changeSet.toString(false) + " contains changes other than " +
+                "loadData and does not run in parallel");
+        }
+
+        runGroup();
+        super.visit(changeSet, databaseChangeLog, database, filterResults);
+    }
+
+    @Override
+    public void finished(DatabaseChangeLog databaseChangeLog, Database database) throws LiquibaseException {
+        runGroup();
+    }
+
+    protected boolean canRunInParallel(ChangeSet changeSet) {
+        if (!changeSet.isParallel() || changeSet.getChanges().isEmpty()) {
+            return false;
+        }
+        for (Change change : changeSet.getChanges()) {
+            if (!(change instanceof LoadDataChange)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void runGroup() throws LiquibaseException {
+        if (group.isEmpty()) {
+            return;
+        }
+        List<PendingChangeSet> pending = new ArrayList<>(group);
+        group.clear();
+
+        Database database = getDatabase();
+        if (pending.size() == 1) {
+            PendingChangeSet single = pending.get(0);
+            super.visit(single.changeSet, single.databaseChangeLog, database, single.filterResults);
+            return;
+        }
+
+        int threads = Math.min(maxConnections, pending.size());
+        log.info(LogType.LOG, "Running " + pending.size() + " changeSets in parallel on " + threads + " connections");
+
+        String defaultCatalogName = database.getDefaultCatalogName();
+        String defaultSchemaName = database.getDefaultSchemaName();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ParallelThreadFactory());
+        try {
+            List<Future<ExecType>> results = new ArrayList<>(pending.size());
+            for (final PendingChangeSet changeSet : pending) {
+                changeSet.runStatus = database.getRunStatus(changeSet.changeSet);
+                changeSet.previousQuotingStrategy = database.getObjectQuotingStrategy();
+                log.debug(LogType.LOG, "Running Changeset:" + changeSet.changeSet);
+                fireWillRun(changeSet.changeSet, changeSet.databaseChangeLog, database, changeSet.runStatus);
+                results.add(executorService.submit(new Callable<ExecType>() {
+                    @Override
+                    public ExecType call() throws Exception {
+                        return execute(changeSet, defaultCatalogName, defaultSchemaName);
+                    }
+                }));
+            }
+            executorService.shutdown();
+
+            MigrationFailedException failure = null;
+            for (int i = 0; i < pending.size(); i++) {
+                PendingChangeSet changeSet = pending.get(i);
+                ExecType execType;
+                try {
+                    execType = getResult(changeSet, results.get(i));
+                } catch (MigrationFailedException e) {
+                    fireRunFailed(changeSet.changeSet, changeSet.databaseChangeLog, database, e);
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    continue;
+                }
+                changeSetRan(changeSet.changeSet, changeSet.databaseChangeLog, changeSet.runStatus, execType,
+                    changeSet.previousQuotingStrategy);
+            }
+            database.commit();
+
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the changes of a changeSet on a connection of its own.
+     */
+    private ExecType execute(PendingChangeSet changeSet, String defaultCatalogName, String defaultSchemaName)
+            throws SQLException, LiquibaseException {
+        Connection connection = dataSource.getConnection();
+        Database pooledDatabase;
+        try {
+            pooledDatabase = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                new JdbcConnection(connection));
+        } catch (DatabaseException e) {
+            connection.close();
+            throw e;
+        }
+        try {
+            pooledDatabase.setDefaultCatalogName(defaultCatalogName);
+            pooledDatabase.setDefaultSchemaName(defaultSchemaName);
+            pooledDatabase.setObjectQuotingStrategy(changeSet.previousQuotingStrategy);
+            return changeSet.changeSet.execute(changeSet.databaseChangeLog, getExecListener(), pooledDatabase);
+        } finally {
+            pooledDatabase.close();
+        }
+    }
+
+    private ExecType getResult(PendingChangeSet changeSet, Future<ExecType> result) throws MigrationFailedException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MigrationFailedException(changeSet.changeSet, "Interrupted while waiting for the changeSet", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MigrationFailedException) {
+                throw (MigrationFailedException) cause;
+            }
+            throw new MigrationFailedException(changeSet.changeSet, cause);
+        }
+    }
+
+    private static class PendingChangeSet {
+        private final ChangeSet changeSet;
+        private final DatabaseChangeLog databaseChangeLog;
+        private final Set<ChangeSetFilterResult> filterResults;
+        private RunStatus runStatus;
+        private ObjectQuotingStrategy previousQuotingStrategy;
+
+        PendingChangeSet(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog,
+                         Set<ChangeSetFilterResult> filterResults) {
+            this.changeSet = changeSet;
+            this.databaseChangeLog = databaseChangeLog;
+            this.filterResults = filterResults;
+        }
+    }
+
+    private static class ParallelThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "liquibase-parallel-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.MigrationFailedException;
 import liquibase.logging.LogService;
@@ -19,7 +20,7 @@ public class UpdateVisitor implements ChangeSetVisitor {
 
     private Database database;
 
-    private Logger log = LogService.getLog(getClass());
+    protected Logger log = LogService.getLog(getClass());
     
     private ChangeExecListener execListener;
 
@@ -36,6 +37,14 @@ public class UpdateVisitor implements ChangeSetVisitor {
       this.execListener = execListener;
     }
 
+    protected Database getDatabase() {
+        return database;
+    }
+
+    protected ChangeExecListener getExecListener() {
+        return execListener;
+    }
+
     @Override
     public Direction getDirection() {
         return ChangeSetVisitor.Direction.FORWARD;
@@ -55,6 +64,16 @@ public class UpdateVisitor implements ChangeSetVisitor {
             fireRunFailed(changeSet, databaseChangeLog, database, e);
             throw e;
         }
+        changeSetRan(changeSet, databaseChangeLog, runStatus, execType, previousStr);
+
+        this.database.commit();
+    }
+
+    /**
+     * Notifies the listener that the changeSet ran, restores the quoting strategy it changed and marks it as ran.
+     */
+    protected void changeSetRan(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, RunStatus runStatus,
+                                ExecType execType, ObjectQuotingStrategy previousStr) throws DatabaseException {
         if (!runStatus.equals(ChangeSet.RunStatus.NOT_RAN)) {
             execType = ChangeSet.ExecType.RERAN;
         }
@@ -62,8 +81,6 @@ public class UpdateVisitor implements ChangeSetVisitor {
         // reset object quoting strategy after running changeset
         this.database.setObjectQuotingStrategy(previousStr);
         this.database.markChangeSetExecStatus(changeSet, execType);
-
-        this.database.commit();
     }
 
     protected void fireRunFailed(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, MigrationFailedException e) {
@@ -5,6 +5,8 @@ import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.RanChangeSet;
 import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.exception.*;
 import liquibase.logging.LogService;
@@ -31,12 +33,28 @@ public class ValidatingVisitor implements ChangeSetVisitor {
 
     private Map<String, RanChangeSet> ranIndex;
     private Database database;
+    private boolean incremental;
 
     public ValidatingVisitor(List<RanChangeSet> ranChangeSets) {
         ranIndex = new HashMap<>();
         for(RanChangeSet changeSet:ranChangeSets) {
             ranIndex.put(changeSet.toString(), changeSet);
         }
+        Boolean incrementalValidation = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+            .getIncrementalValidation();
+        incremental = (incrementalValidation != null) && incrementalValidation;
+    }
+
+    /**
+     * In incremental mode, the changes of change sets that ran and whose checksum did not change are not validated,
+     * even if they are runOnChange. Only the checksum and duplicate checks are done for them.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
     }
 
     public void validate(Database database, DatabaseChangeLog changeLog) {
@@ -96,7 +114,13 @@ public class ValidatingVisitor implements ChangeSetVisitor {
     public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
         RanChangeSet ranChangeSet = findChangeSet(changeSet);
         boolean ran = ranChangeSet != null;
-        boolean shouldValidate = !ran || changeSet.shouldRunOnChange() || changeSet.shouldAlwaysRun();
+        boolean checkSumValid = !ran || changeSet.isCheckSumValid(ranChangeSet.getLastCheckSum());
+        boolean shouldValidate;
+        if (incremental) {
+            shouldValidate = !ran || !checkSumValid || changeSet.shouldAlwaysRun();
+        } else {
+            shouldValidate = !ran || changeSet.shouldRunOnChange() || changeSet.shouldAlwaysRun();
+        }
         for (Change change : changeSet.getChanges()) {
             try {
                 change.finishInitialization();
@@ -132,7 +156,7 @@ public class ValidatingVisitor implements ChangeSetVisitor {
         }
 
         if(ranChangeSet != null){
-            if (!changeSet.isCheckSumValid(ranChangeSet.getLastCheckSum())) {
+            if (!checkSumValid) {
                 if (!changeSet.shouldRunOnChange()) {
                     invalidMD5Sums.add(changeSet.toString(false)+" was: "+ranChangeSet.getLastCheckSum().toString()+" but is now: "+changeSet.generateCheckSum().toString());
                 }
@@ -31,6 +31,7 @@ public class DiffCommand extends AbstractCommand<CommandResult> {
     private SnapshotControl targetSnapshotControl;
     private ObjectChangeFilter objectChangeFilter;
     private CompareControl compareControl;
+    private SnapshotCache referenceSnapshotCache;
 
 
     @Override
@@ -130,6 +131,18 @@ public class DiffCommand extends AbstractCommand<CommandResult> {
         return this;
     }
 
+    public SnapshotCache getReferenceSnapshotCache() {
+        return referenceSnapshotCache;
+    }
+
+    /**
+     * Reuses the reference snapshot stored in the given cache while the reference database does not change.
+     */
+    public DiffCommand setReferenceSnapshotCache(SnapshotCache referenceSnapshotCache) {
+        this.referenceSnapshotCache = referenceSnapshotCache;
+        return this;
+    }
+
     @Override
     protected CommandResult run() throws Exception {
         DiffResult diffResult = createDiffResult();
@@ -218,6 +231,9 @@ public class DiffCommand extends AbstractCommand<CommandResult> {
         ObjectQuotingStrategy originalStrategy = referenceDatabase.getObjectQuotingStrategy();
         try {
             referenceDatabase.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
+            if (referenceSnapshotCache != null) {
+                return referenceSnapshotCache.getSnapshot(schemas, referenceDatabase, snapshotControl);
+            }
             return SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, referenceDatabase, snapshotControl);
         } finally {
             referenceDatabase.setObjectQuotingStrategy(originalStrategy);
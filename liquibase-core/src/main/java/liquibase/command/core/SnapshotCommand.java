@@ -1,22 +1,41 @@
 package liquibase.command.core;
 
 import liquibase.CatalogAndSchema;
+import liquibase.change.AbstractSQLChange;
+import liquibase.change.Change;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.filter.AfterTagChangeSetFilter;
+import liquibase.changelog.filter.ChangeSetFilter;
+import liquibase.changelog.filter.ExecutedAfterChangeSetFilter;
 import liquibase.command.AbstractCommand;
 import liquibase.command.CommandResult;
 import liquibase.command.CommandValidationErrors;
 import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.exception.LiquibaseException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
 import liquibase.serializer.SnapshotSerializerFactory;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.snapshot.SnapshotListener;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.DatabaseObjectCollection;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Relation;
+import liquibase.structure.core.Schema;
+import liquibase.structure.core.Sequence;
 import liquibase.util.StringUtil;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class SnapshotCommand extends AbstractCommand<SnapshotCommand.SnapshotCommandResult> {
 
@@ -25,6 +44,10 @@ public class SnapshotCommand extends AbstractCommand<SnapshotCommand.SnapshotCom
     private String serializerFormat;
     private SnapshotListener snapshotListener;
     private Map<String, Object> snapshotMetadata;
+    private DatabaseSnapshot baseSnapshot;
+    private DatabaseChangeLog changeLog;
+    private String sinceTag;
+    private Date sinceDate;
 
     @Override
     public String getName() {
@@ -89,6 +112,47 @@ public class SnapshotCommand extends AbstractCommand<SnapshotCommand.SnapshotCom
         this.snapshotMetadata = snapshotMetadata;
     }
 
+    public DatabaseSnapshot getBaseSnapshot() {
+        return baseSnapshot;
+    }
+
+    /**
+     * Takes an incremental snapshot: only the objects affected by the changeSets of {@link #setChangeLog(DatabaseChangeLog)}
+     * that ran after {@link #setSinceTag(String)} or {@link #setSinceDate(Date)} are snapshotted, and patched into the
+     * given, previously stored snapshot of the same database.
+     */
+    public SnapshotCommand setBaseSnapshot(DatabaseSnapshot baseSnapshot) {
+        this.baseSnapshot = baseSnapshot;
+        return this;
+    }
+
+    public DatabaseChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    public SnapshotCommand setChangeLog(DatabaseChangeLog changeLog) {
+        this.changeLog = changeLog;
+        return this;
+    }
+
+    public String getSinceTag() {
+        return sinceTag;
+    }
+
+    public SnapshotCommand setSinceTag(String sinceTag) {
+        this.sinceTag = sinceTag;
+        return this;
+    }
+
+    public Date getSinceDate() {
+        return sinceDate;
+    }
+
+    public SnapshotCommand setSinceDate(Date sinceDate) {
+        this.sinceDate = sinceDate;
+        return this;
+    }
+
     @Override
     protected SnapshotCommandResult run() throws Exception {
         SnapshotControl snapshotControl = new SnapshotControl(database);
@@ -99,21 +163,100 @@ public class SnapshotCommand extends AbstractCommand<SnapshotCommand.SnapshotCom
             schemas = new CatalogAndSchema[]{database.getDefaultSchema()};
         }
 
+        DatabaseObject[] examples = null;
+        if (baseSnapshot != null) {
+            examples = getAffectedObjects();
+        }
+
         ObjectQuotingStrategy originalQuotingStrategy = database.getObjectQuotingStrategy();
 
         database.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
         DatabaseSnapshot snapshot;
         try {
-            snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+            if (baseSnapshot == null) {
+                snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+            } else {
+                snapshotControl.setWarnIfObjectNotFound(false);
+                DatabaseSnapshot update = SnapshotGeneratorFactory.getInstance().createSnapshot(examples, database, snapshotControl);
+                baseSnapshot.patch(examples, update);
+                snapshot = baseSnapshot;
+            }
         } finally {
             database.setObjectQuotingStrategy(originalQuotingStrategy);
         }
 
-        snapshot.setMetadata(this.getSnapshotMetadata());
+        if ((baseSnapshot == null) || (this.getSnapshotMetadata() != null)) {
+            snapshot.setMetadata(this.getSnapshotMetadata());
+        }
 
         return new SnapshotCommandResult(snapshot);
     }
 
+    /**
+     * Returns the tables, views and other top level objects affected by the changeSets that ran after the tag or date.
+     */
+    protected DatabaseObject[] getAffectedObjects() throws LiquibaseException {
+        if (changeLog == null) {
+            throw new LiquibaseException("An incremental snapshot requires the changelog");
+        }
+        if ((sinceTag == null) && (sinceDate == null)) {
+            throw new LiquibaseException("An incremental snapshot requires a tag or date to start from");
+        }
+
+        List<RanChangeSet> ranChangeSets = ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database).getRanChangeSets();
+        ChangeSetFilter filter;
+        if (sinceTag != null) {
+            filter = new AfterTagChangeSetFilter(sinceTag, ranChangeSets);
+        } else {
+            filter = new ExecutedAfterChangeSetFilter(sinceDate, ranChangeSets);
+        }
+
+        DatabaseObjectCollection affectedObjects = new DatabaseObjectCollection(database);
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            if (!filter.accepts(changeSet).isAccepted()) {
+                continue;
+            }
+            for (Change change : changeSet.getChanges()) {
+                Set<DatabaseObject> changeObjects = change.getAffectedDatabaseObjects(database);
+                if (changeObjects.isEmpty() && (change instanceof AbstractSQLChange)) {
+                    LogService.getLog(getClass()).warning(LogType.LOG, "Cannot tell which objects " + change.getDescription() +
+                            " in " + changeSet + " changed, the incremental snapshot will not include them");
+                }
+                for (DatabaseObject object : changeObjects) {
+                    DatabaseObject owningObject = DatabaseSnapshot.getOwningObject(object);
+                    if ((owningObject instanceof Schema) || (owningObject instanceof Catalog)) {
+                        continue;
+                    }
+                    correctNames(owningObject);
+                    if (!affectedObjects.contains(owningObject, null)) {
+                        affectedObjects.add(owningObject);
+                    }
+                }
+            }
+        }
+
+        List<DatabaseObject> examples = new ArrayList<>();
+        for (Set<? extends DatabaseObject> objects : affectedObjects.toMap().values()) {
+            examples.addAll(objects);
+        }
+        return examples.toArray(new DatabaseObject[examples.size()]);
+    }
+
+    /**
+     * Corrects the names the changelog used the way the database does, since the snapshot quotes all names.
+     */
+    private void correctNames(DatabaseObject example) {
+        example.setName(database.correctObjectName(example.getName(), example.getClass()));
+
+        CatalogAndSchema schema = (example.getSchema() == null) ? new CatalogAndSchema(null, null) : example.getSchema().toCatalogAndSchema();
+        schema = schema.customize(database);
+        if (example instanceof Relation) {
+            ((Relation) example).setSchema(schema.getCatalogName(), schema.getSchemaName());
+        } else if (example instanceof Sequence) {
+            ((Sequence) example).setSchema(schema.getCatalogName(), schema.getSchemaName());
+        }
+    }
+
     @Override
     public CommandValidationErrors validate() {
         return new CommandValidationErrors(this);
@@ -1,5 +1,7 @@
 package liquibase.configuration;
 
+import java.io.File;
+
 /**
  * Configuration container for global properties.
  */
@@ -21,6 +23,18 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
     public static final String DIFF_COLUMN_ORDER = "diffColumnOrder";
     public static final String ALWAYS_OVERRIDE_STORED_LOGIC_SCHEMA = "alwaysOverrideStoredLogicSchema";
     public static final String GENERATED_CHANGESET_IDS_INCLUDE_DESCRIPTION = "generatedChangeSetIdsContainsDescription";
+    public static final String LOAD_DATA_BATCH_SIZE = "loadDataBatchSize";
+    public static final String LOAD_DATA_COMMIT_EVERY = "loadDataCommitEvery";
+    public static final String LOAD_DATA_USE_BULK_LOADER = "loadDataUseBulkLoader";
+    public static final String CHECKSUM_CACHE_ENABLED = "checkSumCacheEnabled";
+    public static final String CHECKSUM_CACHE_DIRECTORY = "checkSumCacheDirectory";
+    public static final String CHANGELOG_CACHE_ENABLED = "changeLogCacheEnabled";
+    public static final String CHANGELOG_CACHE_DIRECTORY = "changeLogCacheDirectory";
+    public static final String CHANGELOG_PARSE_THREADS = "changeLogParseThreads";
+    public static final String PREFER_INTERNAL_XSD = "preferInternalXsd";
+    public static final String VALIDATE_XML_CHANGELOG_ONCE = "validateXmlChangeLogOnce";
+    public static final String STREAMING_XML_PARSER_ENABLED = "streamingXmlParserEnabled";
+    public static final String INCREMENTAL_VALIDATION = "incrementalValidation";
 
     public GlobalConfiguration() {
         super("liquibase");
@@ -90,6 +104,67 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
         getContainer().addProperty(GENERATED_CHANGESET_IDS_INCLUDE_DESCRIPTION, Boolean.class)
             .setDescription("Should Liquibase include the change description in the id when generating changeSets?")
                 .setDefaultValue(false);
+
+        getContainer().addProperty(LOAD_DATA_BATCH_SIZE, Integer.class)
+            .setDescription("Number of rows loadData and loadUpdateData send to the database in a single JDBC batch, " +
+                "unless the change sets its own batchSize")
+                .setDefaultValue(1000);
+
+        getContainer().addProperty(LOAD_DATA_COMMIT_EVERY, Integer.class)
+            .setDescription("Number of rows after which loadData and loadUpdateData commit, unless the change sets " +
+                "its own commitEvery. 0 commits only once the changeSet is complete")
+                .setDefaultValue(0);
+
+        getContainer().addProperty(LOAD_DATA_USE_BULK_LOADER, Boolean.class)
+            .setDescription("Should loadData use a database-specific bulk loader (e.g. COPY on PostgreSQL) when one is " +
+                "available for the database. Bulk loaders only load plain values, so changes with computed values " +
+                "in their data fail when this is enabled")
+                .setDefaultValue(false);
+
+        getContainer().addProperty(CHECKSUM_CACHE_ENABLED, Boolean.class)
+            .setDescription("Should Liquibase keep the checksums of changeSets in an on-disk cache, so they are not " +
+                "computed again while the changelog files are unchanged?")
+                .setDefaultValue(false);
+
+        getContainer().addProperty(CHECKSUM_CACHE_DIRECTORY, String.class)
+            .setDescription("Directory of the checksum cache")
+                .setDefaultValue(System.getProperty("user.home") + File.separator + ".liquibase" + File.separator +
+                    "cache");
+
+        getContainer().addProperty(CHANGELOG_CACHE_ENABLED, Boolean.class)
+            .setDescription("Should Liquibase keep parsed changelog files in an on-disk cache, so they are not " +
+                "parsed again while they are unchanged?")
+                .setDefaultValue(false);
+
+        getContainer().addProperty(CHANGELOG_CACHE_DIRECTORY, String.class)
+            .setDescription("Directory of the changelog cache")
+                .setDefaultValue(System.getProperty("user.home") + File.separator + ".liquibase" + File.separator +
+                    "cache");
+
+        getContainer().addProperty(CHANGELOG_PARSE_THREADS, Integer.class)
+            .setDescription("Number of threads used to parse the files of include and includeAll concurrently. 1 " +
+                "parses them one at a time")
+                .setDefaultValue(1);
+
+        getContainer().addProperty(PREFER_INTERNAL_XSD, Boolean.class)
+            .setDescription("Should XML changelogs be validated against the dbchangelog XSD shipped with Liquibase, " +
+                "compiled once and shared by all parses, instead of the XSD each file references?")
+                .setDefaultValue(Boolean.getBoolean("liquibase.prefer.internal.xsd"));
+
+        getContainer().addProperty(VALIDATE_XML_CHANGELOG_ONCE, Boolean.class)
+            .setDescription("Should XML changelog files be validated only the first time they are parsed? Later " +
+                "parses of unchanged files reuse the validated result")
+                .setDefaultValue(false);
+
+        getContainer().addProperty(STREAMING_XML_PARSER_ENABLED, Boolean.class)
+            .setDescription("Should XML changelogs be read with the streaming StAX parser, which loads each " +
+                "changeSet as soon as it is read and validates the files against the XSD shipped with Liquibase?")
+                .setDefaultValue(false);
+
+        getContainer().addProperty(INCREMENTAL_VALIDATION, Boolean.class)
+            .setDescription("Should validate only check the changes of pending change sets and of change sets whose " +
+                "checksum changed? Change sets that ran unchanged only get the checksum and duplicate checks")
+                .setDefaultValue(false);
     }
 
     /**
@@ -240,4 +315,148 @@ public class GlobalConfiguration extends AbstractConfigurationContainer {
         getContainer().setValue(GENERATED_CHANGESET_IDS_INCLUDE_DESCRIPTION, containDescription);
         return this;
     }
+
+    /**
+     * Number of rows per JDBC batch used by loadData and loadUpdateData
+     */
+    public Integer getLoadDataBatchSize() {
+        return getContainer().getValue(LOAD_DATA_BATCH_SIZE, Integer.class);
+    }
+
+    public GlobalConfiguration setLoadDataBatchSize(Integer batchSize) {
+        getContainer().setValue(LOAD_DATA_BATCH_SIZE, batchSize);
+        return this;
+    }
+
+    /**
+     * Number of rows after which loadData and loadUpdateData commit. 0 means only commit at the end of the changeSet.
+     */
+    public Integer getLoadDataCommitEvery() {
+        return getContainer().getValue(LOAD_DATA_COMMIT_EVERY, Integer.class);
+    }
+
+    public GlobalConfiguration setLoadDataCommitEvery(Integer commitEvery) {
+        getContainer().setValue(LOAD_DATA_COMMIT_EVERY, commitEvery);
+        return this;
+    }
+
+    /**
+     * Should loadData use a database-specific bulk loader when one is available?
+     */
+    public Boolean getLoadDataUseBulkLoader() {
+        return getContainer().getValue(LOAD_DATA_USE_BULK_LOADER, Boolean.class);
+    }
+
+    public GlobalConfiguration setLoadDataUseBulkLoader(Boolean useBulkLoader) {
+        getContainer().setValue(LOAD_DATA_USE_BULK_LOADER, useBulkLoader);
+        return this;
+    }
+
+    /**
+     * Should checksums be kept in an on-disk cache?
+     */
+    public Boolean getCheckSumCacheEnabled() {
+        return getContainer().getValue(CHECKSUM_CACHE_ENABLED, Boolean.class);
+    }
+
+    public GlobalConfiguration setCheckSumCacheEnabled(Boolean enabled) {
+        getContainer().setValue(CHECKSUM_CACHE_ENABLED, enabled);
+        return this;
+    }
+
+    /**
+     * Directory of the checksum cache
+     */
+    public String getCheckSumCacheDirectory() {
+        return getContainer().getValue(CHECKSUM_CACHE_DIRECTORY, String.class);
+    }
+
+    public GlobalConfiguration setCheckSumCacheDirectory(String directory) {
+        getContainer().setValue(CHECKSUM_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    /**
+     * Should parsed changelog files be kept in an on-disk cache?
+     */
+    public Boolean getChangeLogCacheEnabled() {
+        return getContainer().getValue(CHANGELOG_CACHE_ENABLED, Boolean.class);
+    }
+
+    public GlobalConfiguration setChangeLogCacheEnabled(Boolean enabled) {
+        getContainer().setValue(CHANGELOG_CACHE_ENABLED, enabled);
+        return this;
+    }
+
+    /**
+     * Directory of the changelog cache
+     */
+    public String getChangeLogCacheDirectory() {
+        return getContainer().getValue(CHANGELOG_CACHE_DIRECTORY, String.class);
+    }
+
+    public GlobalConfiguration setChangeLogCacheDirectory(String directory) {
+        getContainer().setValue(CHANGELOG_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    /**
+     * Number of threads used to parse included changelog files
+     */
+    public Integer getChangeLogParseThreads() {
+        return getContainer().getValue(CHANGELOG_PARSE_THREADS, Integer.class);
+    }
+
+    public GlobalConfiguration setChangeLogParseThreads(Integer threads) {
+        getContainer().setValue(CHANGELOG_PARSE_THREADS, threads);
+        return this;
+    }
+
+    /**
+     * Should XML changelogs be validated against the XSD shipped with Liquibase?
+     */
+    public Boolean getPreferInternalXsd() {
+        return getContainer().getValue(PREFER_INTERNAL_XSD, Boolean.class);
+    }
+
+    public GlobalConfiguration setPreferInternalXsd(Boolean preferInternalXsd) {
+        getContainer().setValue(PREFER_INTERNAL_XSD, preferInternalXsd);
+        return this;
+    }
+
+    /**
+     * Should XML changelog files be validated only the first time they are parsed?
+     */
+    public Boolean getValidateXmlChangeLogOnce() {
+        return getContainer().getValue(VALIDATE_XML_CHANGELOG_ONCE, Boolean.class);
+    }
+
+    public GlobalConfiguration setValidateXmlChangeLogOnce(Boolean validateOnce) {
+        getContainer().setValue(VALIDATE_XML_CHANGELOG_ONCE, validateOnce);
+        return this;
+    }
+
+    /**
+     * Should XML changelogs be read with the streaming StAX parser?
+     */
+    public Boolean getStreamingXmlParserEnabled() {
+        return getContainer().getValue(STREAMING_XML_PARSER_ENABLED, Boolean.class);
+    }
+
+    public GlobalConfiguration setStreamingXmlParserEnabled(Boolean enabled) {
+        getContainer().setValue(STREAMING_XML_PARSER_ENABLED, enabled);
+        return this;
+    }
+
+    /**
+     * Should validate skip the changes of change sets that ran and did not change?
+     */
+    public Boolean getIncrementalValidation() {
+        return getContainer().getValue(INCREMENTAL_VALIDATION, Boolean.class);
+    }
+
+    public GlobalConfiguration setIncrementalValidation(Boolean incrementalValidation) {
+        getContainer().setValue(INCREMENTAL_VALIDATION, incrementalValidation);
+        return this;
+    }
 }
@@ -16,12 +16,14 @@ import java.io.FileInputStream;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 public class DatabaseFactory {
     private static final Logger LOG = LogService.getLog(DatabaseFactory.class);
-    private static DatabaseFactory instance;
-    private Map<String, SortedSet<Database>> implementedDatabases = new HashMap<>();
-    private Map<String, SortedSet<Database>> internalDatabases = new HashMap<>();
+    private static volatile DatabaseFactory instance;
+    private Map<String, SortedSet<Database>> implementedDatabases = new ConcurrentHashMap<>();
+    private Map<String, SortedSet<Database>> internalDatabases = new ConcurrentHashMap<>();
 
     private DatabaseFactory() {
         try {
@@ -34,11 +36,18 @@ public class DatabaseFactory {
 
     }
 
-    public static synchronized DatabaseFactory getInstance() {
-        if (instance == null) {
-            instance = new DatabaseFactory();
+    public static DatabaseFactory getInstance() {
+        DatabaseFactory result = instance;
+        if (result == null) {
+            synchronized (DatabaseFactory.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DatabaseFactory();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     /**
@@ -83,10 +92,8 @@ public class DatabaseFactory {
 
         }
 
-        if (!map.containsKey(database.getShortName())) {
-            map.put(database.getShortName(), new TreeSet<>(new TreeSet<>(new DatabaseComparator())));
-        }
-        map.get(database.getShortName()).add(database);
+        map.computeIfAbsent(database.getShortName(), shortName -> new ConcurrentSkipListSet<>(new DatabaseComparator()))
+            .add(database);
     }
 
     public Database findCorrectDatabaseImplementation(DatabaseConnection connection) throws DatabaseException {
@@ -17,10 +17,11 @@ import liquibase.util.StringUtil;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DataTypeFactory {
 
-    private static DataTypeFactory instance;
+    private static volatile DataTypeFactory instance;
 
     private Map<String, List<Class<? extends LiquibaseDataType>>> registry = new ConcurrentHashMap<>();
 
@@ -45,11 +46,18 @@ public class DataTypeFactory {
      * Get this factory singleton
      * @return a reference to this factory
      */
-    public static synchronized DataTypeFactory getInstance() {
-        if (instance == null) {
-            instance = new DataTypeFactory();
+    public static DataTypeFactory getInstance() {
+        DataTypeFactory result = instance;
+        if (result == null) {
+            synchronized (DataTypeFactory.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DataTypeFactory();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     /**
@@ -81,7 +89,7 @@ public class DataTypeFactory {
 
             for (String name : names) {
                 name = name.toLowerCase(Locale.US);
-                registry.computeIfAbsent(name, k -> new ArrayList<>());
+                registry.computeIfAbsent(name, k -> new CopyOnWriteArrayList<>());
                 List<Class<? extends LiquibaseDataType>> classes = registry.get(name);
                 classes.add(type.getClass());
                 classes.sort(comparator);
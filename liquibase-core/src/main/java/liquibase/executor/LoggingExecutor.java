@@ -11,6 +11,7 @@ import liquibase.sql.visitor.SqlVisitor;
 import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.ExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingSqlStatement;
 import liquibase.statement.core.*;
 import liquibase.util.StreamUtil;
 
@@ -89,6 +90,10 @@ public class LoggingExecutor extends AbstractExecutor {
     }
 
     private void outputStatement(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if (sql instanceof StreamingSqlStatement) {
+            outputStreamingStatement((StreamingSqlStatement) sql, sqlVisitors);
+            return;
+        }
         try {
             if (SqlGeneratorFactory.getInstance().generateStatementsVolatile(sql, database)) {
                 throw new DatabaseException(sql.getClass().getSimpleName()+" requires access to up to date database " +
@@ -154,6 +159,23 @@ public class LoggingExecutor extends AbstractExecutor {
         }
     }
 
+    /**
+     * Outputs the individual statements of a {@link StreamingSqlStatement} as they are read, so the whole set of
+     * statements is never held in memory.
+     */
+    private void outputStreamingStatement(StreamingSqlStatement sql, List<SqlVisitor> sqlVisitors)
+            throws DatabaseException {
+        StreamingSqlStatement.Source<? extends SqlStatement> statements = sql.openStatements();
+        try {
+            SqlStatement statement;
+            while ((statement = statements.next()) != null) {
+                outputStatement(statement, sqlVisitors);
+            }
+        } finally {
+            StreamUtil.closeQuietly(statements);
+        }
+    }
+
     @Override
     public <T> T queryForObject(SqlStatement sql, Class<T> requiredType) throws DatabaseException {
         if (sql instanceof SelectFromDatabaseChangeLogLockStatement) {
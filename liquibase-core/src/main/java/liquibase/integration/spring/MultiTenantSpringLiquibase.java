@@ -3,10 +3,13 @@
  */
 package liquibase.integration.spring;
 
+import liquibase.Scope;
 import liquibase.exception.LiquibaseException;
 import liquibase.logging.LogService;
 import liquibase.logging.LogType;
 import liquibase.logging.Logger;
+import liquibase.parser.SharedParsedNodeCache;
+import liquibase.util.StringUtil;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.core.io.ResourceLoader;
@@ -15,8 +18,15 @@ import javax.naming.*;
 import javax.sql.DataSource;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * A wrapper of Liquibase suitable in multi-tenant environments where multiple
@@ -29,6 +39,10 @@ import java.util.Map;
  * The wrapper scans the subtree for all data sources and creates
  * {@link SpringLiquibase} instances.<br/>
  * <br/>
+ * Set {@link #parallelism} to migrate several tenants at the same time. The
+ * changelog is parsed only once for all tenants. A failed tenant does not
+ * stop the others, the failed tenants are listed when all have run.<br/>
+ * <br/>
  * Example:<br/>
  * <br/><pre>
  * &lt;bean id="liquibase" class="liquibase.integration.spring.MultiTenantSpringLiquibase"&gt;
@@ -75,6 +89,11 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
     private boolean shouldRun = true;
 
     private File rollbackFile;
+
+	/** Defines how many tenants are migrated concurrently. */
+	private int parallelism = 1;
+
+	private final Map<String, Throwable> failedTenants = new LinkedHashMap<>();
 	
 
 	@Override
@@ -125,26 +144,93 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
 		}
 	}
 
-	private void runOnAllDataSources() throws LiquibaseException {
+	private void runOnAllDataSources() throws Exception {
+		Map<String, SpringLiquibase> tenants = new LinkedHashMap<>();
 		for(DataSource aDataSource : dataSources) {
-            log.info(LogType.LOG, "Initializing Liquibase for data source " + aDataSource);
-            SpringLiquibase liquibase = getSpringLiquibase(aDataSource);
-			liquibase.afterPropertiesSet();
-            log.info(LogType.LOG, "Liquibase ran for data source " + aDataSource);
-        }
+			tenants.put("data source " + aDataSource, getSpringLiquibase(aDataSource));
+		}
+		runOnAllTenants(tenants);
 	}
 	
-	private void runOnAllSchemas() throws LiquibaseException {
+	private void runOnAllSchemas() throws Exception {
+		Map<String, SpringLiquibase> tenants = new LinkedHashMap<>();
 		for(String schema : schemas) {
 			if("default".equals(schema)) {
 				schema = null;
 			}
-            log.info(LogType.LOG, "Initializing Liquibase for schema " + schema);
-            SpringLiquibase liquibase = getSpringLiquibase(dataSource);
+			SpringLiquibase liquibase = getSpringLiquibase(dataSource);
 			liquibase.setDefaultSchema(schema);
+			tenants.put("schema " + schema, liquibase);
+		}
+		runOnAllTenants(tenants);
+	}
+
+	/**
+	 * Runs Liquibase for every tenant, {@link #parallelism} tenants at a time. The changelog files are parsed once
+	 * and the parsed trees are shared, each tenant still loads its own changelog because the changelog parameters
+	 * depend on its database. A failed tenant does not stop the others, the failures are reported at the end.
+	 */
+	private void runOnAllTenants(Map<String, SpringLiquibase> tenants) throws Exception {
+		failedTenants.clear();
+		Map<String, Object> scopeValues = new HashMap<>();
+		scopeValues.put(SharedParsedNodeCache.SCOPE_KEY, new SharedParsedNodeCache());
+		Scope.child(scopeValues, () -> {
+			if (parallelism <= 1) {
+				for (Map.Entry<String, SpringLiquibase> tenant : tenants.entrySet()) {
+					try {
+						runTenant(tenant.getKey(), tenant.getValue());
+					} catch (LiquibaseException | RuntimeException e) {
+						failedTenants.put(tenant.getKey(), e);
+					}
+				}
+				return;
+			}
+
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, tenants.size())));
+			try {
+				Map<String, Future<?>> futures = new LinkedHashMap<>();
+				for (Map.Entry<String, SpringLiquibase> tenant : tenants.entrySet()) {
+					futures.put(tenant.getKey(), executor.submit(() -> {
+						runTenant(tenant.getKey(), tenant.getValue());
+						return null;
+					}));
+				}
+				for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+					try {
+						future.getValue().get();
+					} catch (ExecutionException e) {
+						failedTenants.put(future.getKey(), e.getCause());
+					}
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		});
+
+		log.info(LogType.LOG, "Liquibase ran successfully for " + (tenants.size() - failedTenants.size()) + " of " +
+			tenants.size() + " tenants");
+		if (!failedTenants.isEmpty()) {
+			LiquibaseException exception = new LiquibaseException("Liquibase failed for " + failedTenants.size() +
+				" of " + tenants.size() + " tenants: " + StringUtil.join(failedTenants.keySet(), ", "),
+				failedTenants.values().iterator().next());
+			for (Throwable failure : failedTenants.values()) {
+				if (failure != exception.getCause()) {
+					exception.addSuppressed(failure);
+				}
+			}
+			throw exception;
+		}
+	}
+
+	private void runTenant(String tenant, SpringLiquibase liquibase) throws LiquibaseException {
+		log.info(LogType.LOG, "Initializing Liquibase for " + tenant);
+		try {
 			liquibase.afterPropertiesSet();
-            log.info(LogType.LOG, "Liquibase ran for schema " + schema);
-        }
+		} catch (LiquibaseException | RuntimeException e) {
+			log.severe(LogType.LOG, "Liquibase failed for " + tenant + ": " + e.getMessage(), e);
+			throw e;
+		}
+		log.info(LogType.LOG, "Liquibase ran for " + tenant);
 	}
 
 	private SpringLiquibase getSpringLiquibase(DataSource dataSource) {
@@ -291,5 +377,20 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
 		this.dataSource = dataSource;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns the tenants the last run failed for, with the reason, in the order of the tenants.
+	 */
+	public Map<String, Throwable> getFailedTenants() {
+		return Collections.unmodifiableMap(failedTenants);
+	}
+
 	
 }
@@ -124,6 +124,8 @@ public class SpringLiquibase implements InitializingBean, BeanNameAware, Resourc
 
 	protected boolean testRollbackOnUpdate = false;
 
+	protected int parallelConnections;
+
 	public SpringLiquibase() {
 		super();
 	}
@@ -359,6 +361,9 @@ public class SpringLiquibase implements InitializingBean, BeanNameAware, Resourc
 		SpringResourceOpener resourceAccessor = createResourceOpener();
 		Liquibase liquibase = new Liquibase(getChangeLog(), resourceAccessor, createDatabase(c, resourceAccessor));
         liquibase.setIgnoreClasspathPrefix(isIgnoreClasspathPrefix());
+		if (parallelConnections > 1) {
+			liquibase.setParallelDataSource(getDataSource(), parallelConnections);
+		}
 		if (parameters != null) {
 			for (Map.Entry<String, String> entry : parameters.entrySet()) {
 				liquibase.setChangeLogParameter(entry.getKey(), entry.getValue());
@@ -460,6 +465,18 @@ public class SpringLiquibase implements InitializingBean, BeanNameAware, Resourc
 		this.rollbackFile = rollbackFile;
     }
 
+	public int getParallelConnections() {
+		return parallelConnections;
+	}
+
+	/**
+	 * Maximum number of connections from the DataSource used to run adjacent changeSets marked with parallel="true"
+	 * at the same time. Values below 2 run all changeSets one after another.
+	 */
+	public void setParallelConnections(int parallelConnections) {
+		this.parallelConnections = parallelConnections;
+	}
+
     public boolean isIgnoreClasspathPrefix() {
         return ignoreClasspathPrefix;
     }
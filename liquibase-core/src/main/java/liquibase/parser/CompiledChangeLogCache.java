@@ -0,0 +1,264 @@
+package liquibase.parser;
+
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.FileUtil;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.MD5Util;
+import liquibase.util.StreamUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional on-disk cache of parsed changelog files, enabled with {@link GlobalConfiguration#CHANGELOG_CACHE_ENABLED}.
+ * <p>
+ * The {@link ParsedNode} tree a parser builds from a file is stored in a compact binary form, together with the MD5 of
+ * the file content. As long as the content is unchanged, the tree is read back instead of parsing (and validating)
+ * the file again. Changelog parameters are expanded when the tree is loaded into a DatabaseChangeLog, so the cached
+ * tree does not depend on them. Every included file is cached on its own, since includes are parsed separately.
+ */
+public class CompiledChangeLogCache implements SingletonObject {
+
+    private static final int MAGIC = 0x4C424343;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte BIG_INTEGER = 5;
+    private static final byte BIG_DECIMAL = 6;
+    private static final byte LIST = 7;
+
+    private final Logger log = LogService.getLog(getClass());
+
+    private CompiledChangeLogCache() {
+    }
+
+    public static CompiledChangeLogCache getInstance() {
+        return Scope.getCurrentScope().getSingleton(CompiledChangeLogCache.class);
+    }
+
+    public boolean isEnabled() {
+        Boolean enabled = getConfiguration().getChangeLogCacheEnabled();
+        return (enabled != null) && enabled;
+    }
+
+    /**
+     * Returns the tree of the given changelog file, from the cache if the file is unchanged, otherwise from the
+     * parser, caching the result.
+     */
+    public ParsedNode getParsedNode(String physicalChangeLogLocation, ResourceAccessor resourceAccessor,
+                                    ChangeLogParser changeLogParser, Parser parser)
+            throws ChangeLogParseException {
+        if (!isEnabled()) {
+            return parser.parse();
+        }
+        String source = computeSource(physicalChangeLogLocation, resourceAccessor, changeLogParser);
+        if (source == null) {
+            return parser.parse();
+        }
+
+        File file = getCacheFile(physicalChangeLogLocation, changeLogParser);
+        ParsedNode parsedNode = read(file, source);
+        if (parsedNode != null) {
+            log.debug(LogType.LOG, "Read " + physicalChangeLogLocation + " from the changelog cache");
+            return parsedNode;
+        }
+
+        parsedNode = parser.parse();
+        if (parsedNode != null) {
+            write(file, source, parsedNode);
+        }
+        return parsedNode;
+    }
+
+    private String computeSource(String physicalChangeLogLocation, ResourceAccessor resourceAccessor,
+                                 ChangeLogParser changeLogParser) {
+        try (InputStream stream = StreamUtil.singleInputStream(physicalChangeLogLocation, resourceAccessor)) {
+            if (stream == null) {
+                return null;
+            }
+            return MD5Util.computeMD5(stream) + ":" + changeLogParser.getClass().getName() + ":" +
+                LiquibaseUtil.getBuildVersion();
+        } catch (IOException | RuntimeException e) {
+            log.debug(LogType.LOG, "Cannot read " + physicalChangeLogLocation + " for the changelog cache", e);
+            return null;
+        }
+    }
+
+    private ParsedNode read(File file, String source) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if ((input.readInt() != MAGIC) || (input.readInt() != FORMAT_VERSION) ||
+                !source.equals(readString(input))) {
+                return null;
+            }
+            return readNode(input);
+        } catch (IOException | ParsedNodeException e) {
+            log.debug(LogType.LOG, "Cannot read changelog cache " + file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private void write(File file, String source, ParsedNode parsedNode) {
+        try {
+            FileUtil.writeAtomically(file, outputStream -> {
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                writeString(output, source);
+                writeNode(output, parsedNode);
+                output.flush();
+            });
+        } catch (IOException e) {
+            log.debug(LogType.LOG, "Cannot write changelog cache " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    private void writeNode(DataOutputStream output, ParsedNode node) throws IOException {
+        writeString(output, node.getNamespace());
+        writeString(output, node.getName());
+        writeValue(output, node.getValue());
+        List<ParsedNode> children = node.getChildren();
+        output.writeInt(children.size());
+        for (ParsedNode child : children) {
+            writeNode(output, child);
+        }
+    }
+
+    private ParsedNode readNode(DataInputStream input) throws IOException, ParsedNodeException {
+        ParsedNode node = new ParsedNode(readString(input), readString(input));
+        Object value = readValue(input);
+        int childCount = input.readInt();
+        for (int i = 0; i < childCount; i++) {
+            node.addChild(readNode(input));
+        }
+        node.setValue(value);
+        return node;
+    }
+
+    private void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(BIG_INTEGER);
+            writeString(output, value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(BIG_DECIMAL);
+            writeString(output, value.toString());
+        } else if (value instanceof List) {
+            output.writeByte(LIST);
+            output.writeInt(((List) value).size());
+            for (Object item : (List) value) {
+                writeValue(output, item);
+            }
+        } else {
+            throw new IOException("Cannot cache values of type " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(input);
+            case BOOLEAN:
+                return input.readBoolean();
+            case INTEGER:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case BIG_INTEGER:
+                return new BigInteger(readString(input));
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(input));
+            case LIST:
+                int size = input.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(input));
+                }
+                return list;
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    /**
+     * Writes the string as UTF-8 with an int length, {@link DataOutputStream#writeUTF(String)} is limited to 64KB.
+     */
+    private void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private File getCacheFile(String physicalChangeLogLocation, ChangeLogParser changeLogParser) {
+        return new File(new File(getConfiguration().getChangeLogCacheDirectory(), "changelogs"),
+            MD5Util.computeMD5(changeLogParser.getClass().getName() + ":" + physicalChangeLogLocation) + ".bin");
+    }
+
+    private GlobalConfiguration getConfiguration() {
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+    }
+
+    /**
+     * Parses the changelog file to a tree, called when the file is not cached.
+     */
+    public interface Parser {
+        ParsedNode parse() throws ChangeLogParseException;
+    }
+}
@@ -0,0 +1,80 @@
+package liquibase.parser;
+
+import liquibase.Scope;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * In-memory cache of parsed changelog files, shared by everything that runs in a {@link Scope} holding it under
+ * {@link #SCOPE_KEY}. It is used to parse a changelog once when it is run against many databases, like the tenants
+ * of {@link liquibase.integration.spring.MultiTenantSpringLiquibase}.
+ * <p>
+ * Only the {@link ParsedNode} tree is shared. Every caller gets its own copy and loads its own DatabaseChangeLog, since
+ * the changelog parameters differ between databases and a DatabaseChangeLog is modified while it runs. A file that
+ * is requested concurrently is parsed by the first caller while the others wait for it.
+ */
+public class SharedParsedNodeCache {
+
+    public static final String SCOPE_KEY = SharedParsedNodeCache.class.getName();
+
+    private final ConcurrentMap<String, FutureTask<ParsedNode>> parsedNodes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cache of the current scope, or null if there is none.
+     */
+    public static SharedParsedNodeCache getCurrent() {
+        return Scope.getCurrentScope().get(SCOPE_KEY, SharedParsedNodeCache.class);
+    }
+
+    /**
+     * Returns a copy of the tree of the given file, parsing it with the given parser the first time it is requested.
+     * A failed parse is not cached.
+     */
+    public ParsedNode getParsedNode(String physicalChangeLogLocation, ChangeLogParser changeLogParser,
+                                    CompiledChangeLogCache.Parser parser) throws ChangeLogParseException {
+        String key = changeLogParser.getClass().getName() + ":" + physicalChangeLogLocation;
+        FutureTask<ParsedNode> task = new FutureTask<>(parser::parse);
+        FutureTask<ParsedNode> existing = parsedNodes.putIfAbsent(key, task);
+        if (existing == null) {
+            task.run();
+        } else {
+            task = existing;
+        }
+
+        ParsedNode parsedNode;
+        try {
+            parsedNode = task.get();
+        } catch (ExecutionException e) {
+            parsedNodes.remove(key, task);
+            if (e.getCause() instanceof ChangeLogParseException) {
+                throw (ChangeLogParseException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnexpectedLiquibaseException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChangeLogParseException(e);
+        }
+
+        if (parsedNode == null) {
+            return null;
+        }
+        try {
+            return parsedNode.copy();
+        } catch (ParsedNodeException e) {
+            throw new ChangeLogParseException(e);
+        }
+    }
+
+    public int size() {
+        return parsedNodes.size();
+    }
+}
@@ -188,6 +188,19 @@ public class ParsedNode {
         return this;
     }
 
+    /**
+     * Returns a deep copy of this node and its children. Loading a changelog modifies the tree, so a tree that is
+     * loaded more than once has to be copied first.
+     */
+    public ParsedNode copy() throws ParsedNodeException {
+        ParsedNode copy = createNode(namespace, name);
+        for (ParsedNode child : children) {
+            copy.addChild(child.copy());
+        }
+        copy.setValue(value);
+        return copy;
+    }
+
     protected boolean nodeMatches(ParsedNode node, String namespace, String nodename) {
         return namespaceMatches(node, namespace) && node.getName().equals(nodename);
     }
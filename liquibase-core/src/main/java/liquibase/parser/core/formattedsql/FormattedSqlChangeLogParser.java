@@ -70,6 +70,7 @@ public class FormattedSqlChangeLogParser implements ChangeLogParser {
         changeLog.setChangeLogParameters(changeLogParameters);
 
         changeLog.setPhysicalFilePath(physicalChangeLogLocation);
+        changeLog.setResourceAccessor(resourceAccessor);
 
         BufferedReader reader = null;
 
@@ -30,6 +30,7 @@ public class SqlChangeLogParser implements ChangeLogParser {
 
         DatabaseChangeLog changeLog = new DatabaseChangeLog();
         changeLog.setPhysicalFilePath(physicalChangeLogLocation);
+        changeLog.setResourceAccessor(resourceAccessor);
 
         RawSQLChange change = new RawSQLChange();
 
@@ -4,6 +4,8 @@ import liquibase.changelog.ChangeLogParameters;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.parser.ChangeLogParser;
+import liquibase.parser.CompiledChangeLogCache;
+import liquibase.parser.SharedParsedNodeCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.ResourceAccessor;
 
@@ -12,7 +14,16 @@ public abstract class AbstractChangeLogParser implements ChangeLogParser {
     @Override
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                    ResourceAccessor resourceAccessor) throws ChangeLogParseException {
-        ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        return parse(physicalChangeLogLocation, changeLogParameters, resourceAccessor,
+            getParsedNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor));
+    }
+
+    /**
+     * Loads a DatabaseChangeLog from a tree returned by {@link #getParsedNode(String, ChangeLogParameters, ResourceAccessor)}.
+     */
+    public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                   ResourceAccessor resourceAccessor, ParsedNode parsedNode)
+            throws ChangeLogParseException {
         if (parsedNode == null) {
             return null;
         }
@@ -28,6 +39,23 @@ public abstract class AbstractChangeLogParser implements ChangeLogParser {
         return changeLog;
     }
 
+    /**
+     * Parses the file to a tree without loading it. The tree does not depend on the changelog parameters or on
+     * other files, so several files can be parsed concurrently. Within a scope holding a {@link SharedParsedNodeCache},
+     * the file is only parsed once.
+     */
+    public ParsedNode getParsedNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                    ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        CompiledChangeLogCache.Parser parser = () -> CompiledChangeLogCache.getInstance().getParsedNode(
+            physicalChangeLogLocation, resourceAccessor, this,
+            () -> parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor));
+        SharedParsedNodeCache sharedParsedNodeCache = SharedParsedNodeCache.getCurrent();
+        if (sharedParsedNodeCache == null) {
+            return parser.parse();
+        }
+        return sharedParsedNodeCache.getParsedNode(physicalChangeLogLocation, this, parser);
+    }
+
     protected abstract ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                               ResourceAccessor resourceAccessor) throws ChangeLogParseException;
 }
@@ -1,12 +1,16 @@
 package liquibase.parser.core.xml;
 
 import liquibase.changelog.ChangeLogParameters;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.logging.LogService;
 import liquibase.logging.LogType;
 import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
 import liquibase.resource.ResourceAccessor;
 import liquibase.resource.UtfBomStripperInputStream;
+import liquibase.util.MD5Util;
 import liquibase.util.StreamUtil;
 import liquibase.util.file.FilenameUtils;
 import org.xml.sax.*;
@@ -17,34 +21,75 @@ import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
     
     public static final String LIQUIBASE_SCHEMA_VERSION = "3.6";
-    private static final boolean PREFER_INTERNAL_XSD = Boolean.getBoolean("liquibase.prefer.internal.xsd");
     private static final String XSD_FILE = "dbchangelog-" + LIQUIBASE_SCHEMA_VERSION + ".xsd";
+
+    /**
+     * The XSD shipped with Liquibase, compiled once and shared by all parsers. Schema objects are immutable and
+     * thread-safe.
+     */
+    private static volatile Schema internalSchema;
+
+    /**
+     * Number of files {@link #VALIDATED_CHANGELOGS} keeps at most.
+     */
+    private static final int MAX_VALIDATED_CHANGELOGS = 200;
+
+    /**
+     * Trees of the files that passed validation, by file path, used by {@link GlobalConfiguration#VALIDATE_XML_CHANGELOG_ONCE}.
+     * The least recently used files are dropped once it holds {@link #MAX_VALIDATED_CHANGELOGS} of them.
+     */
+    private static final Map<String, ValidatedChangeLog> VALIDATED_CHANGELOGS = Collections.synchronizedMap(
+        new LinkedHashMap<String, ValidatedChangeLog>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ValidatedChangeLog> eldest) {
+                return size() > MAX_VALIDATED_CHANGELOGS;
+            }
+        });
+
     private SAXParserFactory saxParserFactory;
+    private SAXParserFactory internalSchemaSaxParserFactory;
 
     public XMLChangeLogSAXParser() {
         saxParserFactory = SAXParserFactory.newInstance();
         saxParserFactory.setValidating(true);
         saxParserFactory.setNamespaceAware(true);
-        
-        if (PREFER_INTERNAL_XSD) {
-            InputStream xsdInputStream = XMLChangeLogSAXParser.class.getResourceAsStream(XSD_FILE);
-            if (xsdInputStream != null) {
-                try {
-                    SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-                    Schema schema = schemaFactory.newSchema(new StreamSource(xsdInputStream));
-                    saxParserFactory.setSchema(schema);
-                    saxParserFactory.setValidating(false);
-                } catch (SAXException e) {
-                    LogService.getLog(XMLChangeLogSAXParser.class).warning("Could not load " + XSD_FILE + ", enabling parser validator", e);
+    }
+
+    /**
+     * Returns the dbchangelog XSD shipped with Liquibase, compiled on the first call, or null if it cannot be loaded.
+     */
+    protected static Schema getInternalSchema() {
+        Schema schema = internalSchema;
+        if (schema == null) {
+            synchronized (XMLChangeLogSAXParser.class) {
+                schema = internalSchema;
+                if (schema == null) {
+                    try (InputStream xsdInputStream = XMLChangeLogSAXParser.class.getResourceAsStream(XSD_FILE)) {
+                        if (xsdInputStream == null) {
+                            return null;
+                        }
+                        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                        schema = schemaFactory.newSchema(new StreamSource(xsdInputStream));
+                        internalSchema = schema;
+                    } catch (SAXException | IOException e) {
+                        LogService.getLog(XMLChangeLogSAXParser.class).warning("Could not load " + XSD_FILE + ", enabling parser validator", e);
+                        return null;
+                    }
                 }
             }
         }
+        return schema;
     }
 
     @Override
@@ -61,15 +106,79 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         return changeLogFile.toLowerCase().endsWith("xml");
     }
 
+    /**
+     * Returns the factory of the parsers that read the files. With {@link GlobalConfiguration#PREFER_INTERNAL_XSD},
+     * its parsers validate against {@link #getInternalSchema()} instead of loading the XSD each file references.
+     */
     protected SAXParserFactory getSaxParserFactory() {
-        return saxParserFactory;
+        if (!Boolean.TRUE.equals(LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getPreferInternalXsd())) {
+            return saxParserFactory;
+        }
+        synchronized (this) {
+            if (internalSchemaSaxParserFactory == null) {
+                Schema schema = getInternalSchema();
+                if (schema == null) {
+                    return saxParserFactory;
+                }
+                SAXParserFactory factory = SAXParserFactory.newInstance();
+                factory.setNamespaceAware(true);
+                factory.setSchema(schema);
+                factory.setValidating(false);
+                internalSchemaSaxParserFactory = factory;
+            }
+            return internalSchemaSaxParserFactory;
+        }
     }
 
     @Override
     protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        if (!Boolean.TRUE.equals(LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getValidateXmlChangeLogOnce())) {
+            return parseToNode(physicalChangeLogLocation, null, changeLogParameters, resourceAccessor);
+        }
+
+        byte[] content;
+        try (InputStream inputStream = StreamUtil.singleInputStream(physicalChangeLogLocation, resourceAccessor)) {
+            if (inputStream == null) {
+                return parseToNode(physicalChangeLogLocation, null, changeLogParameters, resourceAccessor);
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            StreamUtil.copy(inputStream, buffer);
+            content = buffer.toByteArray();
+        } catch (IOException e) {
+            throw new ChangeLogParseException("Error Reading Migration File: " + e.getMessage(), e);
+        }
+
+        String contentHash = MD5Util.computeMD5(new ByteArrayInputStream(content));
+        ValidatedChangeLog validated = VALIDATED_CHANGELOGS.get(physicalChangeLogLocation);
+        if ((validated != null) && validated.contentHash.equals(contentHash)) {
+            // the tree is modified when it is loaded, every caller gets its own copy
+            return copy(validated.parsedNode);
+        }
+        ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, new ByteArrayInputStream(content),
+            changeLogParameters, resourceAccessor);
+        if (parsedNode != null) {
+            VALIDATED_CHANGELOGS.put(physicalChangeLogLocation, new ValidatedChangeLog(contentHash, copy(parsedNode)));
+        }
+        return parsedNode;
+    }
+
+    private static ParsedNode copy(ParsedNode node) throws ChangeLogParseException {
+        try {
+            return node.copy();
+        } catch (ParsedNodeException e) {
+            throw new ChangeLogParseException(e);
+        }
+    }
+
+    private ParsedNode parseToNode(String physicalChangeLogLocation, InputStream content, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         try (
-            InputStream inputStream = StreamUtil.singleInputStream(physicalChangeLogLocation, resourceAccessor)) {
-            SAXParser parser = saxParserFactory.newSAXParser();
+            InputStream inputStream = (content != null) ? content : StreamUtil.singleInputStream(physicalChangeLogLocation, resourceAccessor)) {
+            SAXParserFactory factory = getSaxParserFactory();
+            SAXParser parser;
+            synchronized (factory) {
+                // SAXParserFactory is not thread-safe, included files may be parsed concurrently
+                parser = factory.newSAXParser();
+            }
             trySetSchemaLanguageProperty(parser);
     
             XMLReader xmlReader = parser.getXMLReader();
@@ -157,4 +266,14 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
             //ok, parser need not support it
         }
     }
+
+    private static class ValidatedChangeLog {
+        private final String contentHash;
+        private final ParsedNode parsedNode;
+
+        ValidatedChangeLog(String contentHash, ParsedNode parsedNode) {
+            this.contentHash = contentHash;
+            this.parsedNode = parsedNode;
+        }
+    }
 }
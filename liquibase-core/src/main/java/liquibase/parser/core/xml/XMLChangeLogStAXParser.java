@@ -0,0 +1,304 @@
+package liquibase.parser.core.xml;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.exception.SetupException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.ResourceAccessor;
+import liquibase.resource.UtfBomStripperInputStream;
+import liquibase.util.StreamUtil;
+import liquibase.util.StringUtil;
+import liquibase.util.file.FilenameUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Streaming alternative to {@link XMLChangeLogSAXParser}, enabled with
+ * {@link GlobalConfiguration#STREAMING_XML_PARSER_ENABLED}. It reads the file with a StAX cursor and loads each
+ * top-level element (changeSet, include, property...) as soon as it has been read. Only the tree of the element being
+ * read is held in memory, never the tree of the whole file.
+ * <p>
+ * The events are validated on the fly against the dbchangelog XSD shipped with Liquibase, like
+ * {@link GlobalConfiguration#PREFER_INTERNAL_XSD} does for the SAX parser, which also adds the attribute defaults of
+ * the XSD. If that XSD cannot be loaded, a warning is logged and the files are read without validation or defaults.
+ */
+public class XMLChangeLogStAXParser implements ChangeLogParser {
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public XMLChangeLogStAXParser() {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DEFAULT + 1;
+    }
+
+    @Override
+    public boolean supports(String changeLogFile, ResourceAccessor resourceAccessor) {
+        Boolean enabled = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class)
+            .getStreamingXmlParserEnabled();
+        return (enabled != null) && enabled && changeLogFile.toLowerCase().endsWith("xml");
+    }
+
+    @Override
+    public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                   ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        try (InputStream inputStream = StreamUtil.singleInputStream(physicalChangeLogLocation, resourceAccessor)) {
+            if (inputStream == null) {
+                if (physicalChangeLogLocation.startsWith("WEB-INF/classes/")) {
+                    // Correct physicalChangeLogLocation and try again.
+                    return parse(physicalChangeLogLocation.replaceFirst("WEB-INF/classes/", ""),
+                        changeLogParameters, resourceAccessor);
+                } else {
+                    throw new ChangeLogParseException(physicalChangeLogLocation + " does not exist");
+                }
+            }
+
+            XMLStreamReader reader = createReader(physicalChangeLogLocation, inputStream, resourceAccessor);
+            try {
+                return parse(physicalChangeLogLocation, changeLogParameters, resourceAccessor, reader);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new ChangeLogParseException("Error Reading Migration File: " + e.getMessage(), e);
+        } catch (XMLStreamException e) {
+            Location location = e.getLocation();
+            if (location == null) {
+                throw new ChangeLogParseException("Error parsing " + physicalChangeLogLocation + ": " +
+                    e.getMessage(), e);
+            }
+            throw new ChangeLogParseException("Error parsing line " + location.getLineNumber() + " column " +
+                location.getColumnNumber() + " of " + physicalChangeLogLocation + ": " + e.getMessage(), e);
+        }
+    }
+
+    private DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                    ResourceAccessor resourceAccessor, XMLStreamReader reader)
+            throws XMLStreamException, ChangeLogParseException {
+        DatabaseChangeLog changeLog = new DatabaseChangeLog(physicalChangeLogLocation);
+        changeLog.setChangeLogParameters(changeLogParameters);
+        ChangeLogContentHandler changeLogHandler = new ChangeLogContentHandler(changeLog, resourceAccessor);
+
+        ContentHandler handler = changeLogHandler;
+        Schema schema = XMLChangeLogSAXParser.getInternalSchema();
+        if (schema == null) {
+            LogService.getLog(getClass()).warning(LogType.LOG, "The dbchangelog XSD could not be loaded, " +
+                physicalChangeLogLocation + " is not validated");
+        } else {
+            ValidatorHandler validatorHandler = schema.newValidatorHandler();
+            validatorHandler.setErrorHandler(new ErrorHandler() {
+                @Override
+                public void warning(SAXParseException exception) throws SAXException {
+                    LogService.getLog(getClass()).warning(LogType.LOG, exception.getMessage());
+                    throw exception;
+                }
+
+                @Override
+                public void error(SAXParseException exception) throws SAXException {
+                    LogService.getLog(getClass()).severe(LogType.LOG, exception.getMessage());
+                    throw exception;
+                }
+
+                @Override
+                public void fatalError(SAXParseException exception) throws SAXException {
+                    LogService.getLog(getClass()).severe(LogType.LOG, exception.getMessage());
+                    throw exception;
+                }
+            });
+            validatorHandler.setContentHandler(changeLogHandler);
+            handler = validatorHandler;
+        }
+
+        try {
+            fireEvents(reader, handler);
+        } catch (SAXParseException e) {
+            throw new ChangeLogParseException("Error parsing line " + e.getLineNumber() + " column " +
+                e.getColumnNumber() + " of " + physicalChangeLogLocation + ": " + e.getMessage(), e);
+        } catch (SAXException e) {
+            if (e.getException() instanceof ChangeLogParseException) {
+                throw (ChangeLogParseException) e.getException();
+            }
+            throw new ChangeLogParseException(e.getException() == null ? e : e.getException());
+        }
+        return changeLogHandler.isLoaded() ? changeLog : null;
+    }
+
+    /**
+     * Passes the events of the reader to the handler, as a namespace-aware SAX parser would.
+     */
+    private void fireEvents(final XMLStreamReader reader, ContentHandler handler)
+            throws XMLStreamException, SAXException {
+        handler.setDocumentLocator(new Locator() {
+            @Override
+            public String getPublicId() {
+                return reader.getLocation().getPublicId();
+            }
+
+            @Override
+            public String getSystemId() {
+                return reader.getLocation().getSystemId();
+            }
+
+            @Override
+            public int getLineNumber() {
+                return reader.getLocation().getLineNumber();
+            }
+
+            @Override
+            public int getColumnNumber() {
+                return reader.getLocation().getColumnNumber();
+            }
+        });
+        handler.startDocument();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    handler.startPrefixMapping(StringUtil.trimToEmpty(reader.getNamespacePrefix(i)),
+                        reader.getNamespaceURI(i));
+                }
+                AttributesImpl attributes = new AttributesImpl();
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    attributes.addAttribute(StringUtil.trimToEmpty(reader.getAttributeNamespace(i)),
+                        reader.getAttributeLocalName(i), getQName(reader.getAttributePrefix(i),
+                            reader.getAttributeLocalName(i)), reader.getAttributeType(i), reader.getAttributeValue(i));
+                }
+                handler.startElement(StringUtil.trimToEmpty(reader.getNamespaceURI()), reader.getLocalName(),
+                    getQName(reader.getPrefix(), reader.getLocalName()), attributes);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                handler.endElement(StringUtil.trimToEmpty(reader.getNamespaceURI()), reader.getLocalName(),
+                    getQName(reader.getPrefix(), reader.getLocalName()));
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    handler.endPrefixMapping(StringUtil.trimToEmpty(reader.getNamespacePrefix(i)));
+                }
+            } else if ((event == XMLStreamConstants.CHARACTERS) || (event == XMLStreamConstants.CDATA) ||
+                (event == XMLStreamConstants.SPACE)) {
+                handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+        handler.endDocument();
+    }
+
+    private static String getQName(String prefix, String localName) {
+        return StringUtil.isEmpty(prefix) ? localName : (prefix + ":" + localName);
+    }
+
+    private XMLStreamReader createReader(String physicalChangeLogLocation, InputStream inputStream,
+                                         ResourceAccessor resourceAccessor) throws XMLStreamException, IOException {
+        LiquibaseEntityResolver resolver = new LiquibaseEntityResolver(this);
+        resolver.useResoureAccessor(resourceAccessor, FilenameUtils.getFullPath(physicalChangeLogLocation));
+        synchronized (xmlInputFactory) {
+            // the resolver is specific to the file, and XMLInputFactory is not thread-safe
+            xmlInputFactory.setXMLResolver((publicId, systemId, baseUri, namespace) -> {
+                try {
+                    InputSource inputSource = resolver.resolveEntity(null, publicId, baseUri, systemId);
+                    return (inputSource == null) ? null : inputSource.getByteStream();
+                } catch (SAXException | IOException e) {
+                    throw new XMLStreamException(e);
+                }
+            });
+            return xmlInputFactory.createXMLStreamReader(new UtfBomStripperInputStream(inputStream));
+        }
+    }
+
+    /**
+     * Builds the tree of each top-level element like {@link XMLChangeLogSAXHandler} does: attributes and nested
+     * elements become children, trimmed text the value. The root element is loaded into the changelog as soon as it
+     * starts, every top-level element as soon as it ends.
+     */
+    private static class ChangeLogContentHandler extends DefaultHandler {
+
+        private final DatabaseChangeLog changeLog;
+        private final ResourceAccessor resourceAccessor;
+        private final Deque<ParsedNode> nodes = new ArrayDeque<>();
+        private final Deque<StringBuilder> texts = new ArrayDeque<>();
+        private boolean loaded;
+
+        ChangeLogContentHandler(DatabaseChangeLog changeLog, ResourceAccessor resourceAccessor) {
+            this.changeLog = changeLog;
+            this.resourceAccessor = resourceAccessor;
+        }
+
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            try {
+                ParsedNode node = new ParsedNode(null, localName);
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    node.addChild(null, attributes.getLocalName(i), attributes.getValue(i));
+                }
+                if (!loaded) {
+                    changeLog.load(node, resourceAccessor);
+                    loaded = true;
+                }
+                nodes.push(node);
+                texts.push(new StringBuilder());
+            } catch (ParsedNodeException | SetupException | RuntimeException e) {
+                throw new SAXException(new ChangeLogParseException(e));
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (!texts.isEmpty()) {
+                texts.peek().append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            try {
+                ParsedNode node = nodes.pop();
+                String value = texts.pop().toString().trim();
+                if (nodes.isEmpty()) {
+                    return; // the root, loaded when it started
+                }
+                if (!value.isEmpty()) {
+                    node.setValue(value);
+                }
+                if (nodes.size() == 1) {
+                    changeLog.loadChildNode(node, resourceAccessor);
+                } else {
+                    nodes.peek().addChild(node);
+                }
+            } catch (ParsedNodeException | SetupException | RuntimeException e) {
+                throw new SAXException(new ChangeLogParseException(e));
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import liquibase.database.OfflineConnection;
 import liquibase.exception.LiquibaseParseException;
 import liquibase.parser.SnapshotParser;
 import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
 import liquibase.resource.ResourceAccessor;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.RestoredDatabaseSnapshot;
@@ -32,12 +33,7 @@ public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
                 throw new LiquibaseParseException(path + " does not exist");
             }
     
-            Map parsedYaml = getParsedYamlFromInputStream(yaml, stream);
-
-            Map rootList = (Map) parsedYaml.get("snapshot");
-            if (rootList == null) {
-                throw new LiquibaseParseException("Could not find root snapshot node");
-            }
+            Map rootList = getSnapshotRoot(yaml, stream);
 
             String shortName = (String) ((Map) rootList.get("database")).get("shortName");
 
@@ -45,15 +41,7 @@ public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
             database.setConnection(new OfflineConnection("offline:" + shortName, null));
 
             DatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database);
-            ParsedNode snapshotNode = new ParsedNode(null, "snapshot");
-            snapshotNode.setValue(rootList);
-
-            Map metadata = (Map) rootList.get("metadata");
-            if (metadata != null) {
-                snapshot.getMetadata().putAll(metadata);
-            }
-
-            snapshot.load(snapshotNode, resourceAccessor);
+            loadSnapshot(rootList, snapshot, resourceAccessor);
 
             return snapshot;
         } catch (LiquibaseParseException e) {
@@ -64,6 +52,42 @@ public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
         }
     }
     
+    /**
+     * Loads the snapshot in the given stream into the given, empty snapshot instead of one for an offline database.
+     * Used by {@link liquibase.snapshot.SnapshotCache} to restore a snapshot for the database it was taken from.
+     */
+    public void load(InputStream stream, DatabaseSnapshot snapshot, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
+        try {
+            loadSnapshot(getSnapshotRoot(new Yaml(new SafeConstructor()), stream), snapshot, resourceAccessor);
+        } catch (LiquibaseParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    private Map getSnapshotRoot(Yaml yaml, InputStream stream) throws LiquibaseParseException {
+        Map parsedYaml = getParsedYamlFromInputStream(yaml, stream);
+
+        Map rootList = (Map) parsedYaml.get("snapshot");
+        if (rootList == null) {
+            throw new LiquibaseParseException("Could not find root snapshot node");
+        }
+        return rootList;
+    }
+
+    private void loadSnapshot(Map rootList, DatabaseSnapshot snapshot, ResourceAccessor resourceAccessor) throws ParsedNodeException {
+        ParsedNode snapshotNode = new ParsedNode(null, "snapshot");
+        snapshotNode.setValue(rootList);
+
+        Map metadata = (Map) rootList.get("metadata");
+        if (metadata != null) {
+            snapshot.getMetadata().putAll(metadata);
+        }
+
+        snapshot.load(snapshotNode, resourceAccessor);
+    }
+
     private Map getParsedYamlFromInputStream(Yaml yaml, InputStream stream) throws LiquibaseParseException {
         Map parsedYaml;
         try (
@@ -12,9 +12,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
 import java.util.*;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
-import java.util.jar.JarInputStream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An implementation of {@link liquibase.resource.ResourceAccessor} that wraps a class loader.
@@ -22,6 +20,12 @@ import java.util.jar.JarInputStream;
 public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
 
     private ClassLoader classLoader;
+
+    /**
+     * Entry indexes of the jar and zip files listed so far, by file path. Built once, then shared by all list calls.
+     */
+    private final Map<String, JarEntryIndex> jarEntryIndexes = new ConcurrentHashMap<>();
+
     public ClassLoaderResourceAccessor() {
         this.classLoader = getClass().getClassLoader();
         init(); //init needs to be called after classloader is set
@@ -106,58 +110,26 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
                     }
                 }
 
-                // TODO:When we update to Java 7+, we can can create a FileSystem from the JAR (zip)
-                // file, and then use NIO's directory walking and filtering mechanisms to search through it.
-                //
-                // As of 2016-02-03, Liquibase is Java 6+ (1.6)
-
-                // java.util.JarFile has a slightly nicer interface than ZipInputStream here and
-                // it works for zip files as well as JAR files
-                JarFile zipfile = new JarFile(zipFilePath, false);
+                JarEntryIndex jarEntryIndex = getJarEntryIndex(zipFilePath);
+                for (String entryName : jarEntryIndex.getEntries(sanitizePath)) {
+                    if (!recursive) {
+                        String pathAsDir = sanitizePath.endsWith("/") ? sanitizePath : sanitizePath + "/";
+                        if (!entryName.startsWith(pathAsDir)
+                         || entryName.substring(pathAsDir.length()).contains("/")) {
+                            continue;
+                        }
+                    }
 
-                try {
-                    Enumeration<JarEntry> entries = zipfile.entries();
-                    while (entries.hasMoreElements()) {
-                        JarEntry entry = entries.nextElement();
-
-                        if (entry.getName().startsWith(sanitizePath)) {
-
-                            if (!recursive) {
-                                String pathAsDir = sanitizePath.endsWith("/") ? sanitizePath : sanitizePath + "/";
-                                if (!entry.getName().startsWith(pathAsDir)
-                                 || entry.getName().substring(pathAsDir.length()).contains("/")) {
-                                    continue;
-                                }
-                            }
-
-                            if ((entry.isDirectory() && includeDirectories) || (!entry.isDirectory() && includeFiles)) {
-                                String returnPath = SpringBootFatJar.getSimplePathForResources(entry.getName(), path);
-                                // Find changelog inside nested jar
-                                if (entry.getName().endsWith(".jar")) {
-                                    JarInputStream jarIS = null;
-                                    try {
-                                        jarIS = new JarInputStream(zipfile.getInputStream(entry));
-
-                                        JarEntry nestedEntry = jarIS.getNextJarEntry();
-                                        while (nestedEntry != null) {
-                                            if (nestedEntry.getName().startsWith(returnPath)) {
-                                                returnSet.add(nestedEntry.getName());
-                                            }
-                                            nestedEntry = jarIS.getNextJarEntry();
-                                        }
-                                    } finally {
-                                        if (jarIS != null) {
-                                            jarIS.close();
-                                        }
-                                    }
-                                } else {
-                                    returnSet.add(returnPath);
-                                }
-                            }
+                    boolean isDirectory = entryName.endsWith("/");
+                    if ((isDirectory && includeDirectories) || (!isDirectory && includeFiles)) {
+                        String returnPath = SpringBootFatJar.getSimplePathForResources(entryName, path);
+                        // Find changelog inside nested jar
+                        if (entryName.endsWith(".jar")) {
+                            returnSet.addAll(jarEntryIndex.getNestedJar(entryName).getEntries(returnPath));
+                        } else {
+                            returnSet.add(returnPath);
                         }
                     }
-                } finally {
-                    zipfile.close();
                 }
             } else {
                 try {
@@ -185,6 +157,15 @@ public class ClassLoaderResourceAccessor extends AbstractResourceAccessor {
         return returnSet;
     }
 
+    private JarEntryIndex getJarEntryIndex(String zipFilePath) throws IOException {
+        JarEntryIndex jarEntryIndex = jarEntryIndexes.get(zipFilePath);
+        if ((jarEntryIndex == null) || !jarEntryIndex.isCurrent()) {
+            jarEntryIndex = JarEntryIndex.build(new File(zipFilePath));
+            jarEntryIndexes.put(zipFilePath, jarEntryIndex);
+        }
+        return jarEntryIndex;
+    }
+
     @Override
     public ClassLoader toClassLoader() {
         return classLoader;
@@ -0,0 +1,98 @@
+package liquibase.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+
+/**
+ * Sorted index of the entry names of a jar or zip file, so entries under a path can be found with a binary search
+ * instead of enumerating the whole archive. The entries of nested jars (like the BOOT-INF/lib jars of a Spring Boot
+ * fat jar) are indexed the first time they are needed.
+ * <p>
+ * The index remembers the size and modification time of the file, {@link #isCurrent()} tells whether it has to be
+ * built again.
+ */
+class JarEntryIndex {
+
+    private final File file;
+    private final long length;
+    private final long lastModified;
+    private final String[] names;
+    private final Map<String, JarEntryIndex> nestedJars = new ConcurrentHashMap<>();
+
+    private JarEntryIndex(File file, long length, long lastModified, String[] names) {
+        this.file = file;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.names = names;
+    }
+
+    public static JarEntryIndex build(File file) throws IOException {
+        long length = file.length();
+        long lastModified = file.lastModified();
+        List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(file, false)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                names.add(entries.nextElement().getName());
+            }
+        }
+        return new JarEntryIndex(file, length, lastModified, sort(names));
+    }
+
+    public boolean isCurrent() {
+        return (file.length() == length) && (file.lastModified() == lastModified);
+    }
+
+    /**
+     * Returns the sorted names of all entries that start with the given prefix. Directory entries end with "/".
+     */
+    public List<String> getEntries(String prefix) {
+        int from = Arrays.binarySearch(names, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int to = from;
+        while ((to < names.length) && names[to].startsWith(prefix)) {
+            to++;
+        }
+        return Collections.unmodifiableList(Arrays.asList(names).subList(from, to));
+    }
+
+    /**
+     * Returns the index of a jar stored as an entry of this archive.
+     */
+    public JarEntryIndex getNestedJar(String entryName) throws IOException {
+        JarEntryIndex nestedJar = nestedJars.get(entryName);
+        if (nestedJar == null) {
+            List<String> nestedNames = new ArrayList<>();
+            try (JarFile jarFile = new JarFile(file, false);
+                 JarInputStream jarInputStream = new JarInputStream(jarFile.getInputStream(
+                     jarFile.getEntry(entryName)))) {
+                JarEntry nestedEntry = jarInputStream.getNextJarEntry();
+                while (nestedEntry != null) {
+                    nestedNames.add(nestedEntry.getName());
+                    nestedEntry = jarInputStream.getNextJarEntry();
+                }
+            }
+            nestedJar = new JarEntryIndex(file, length, lastModified, sort(nestedNames));
+            nestedJars.put(entryName, nestedJar);
+        }
+        return nestedJar;
+    }
+
+    private static String[] sort(List<String> names) {
+        String[] sorted = names.toArray(new String[names.size()]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -6,6 +6,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectionSerializer {
 
@@ -15,17 +16,17 @@ public class ReflectionSerializer {
         return instance;
     }
 
-    private Map<Class, Map<String, Field>> reflectionCache = new HashMap<>();
+    private Map<Class, Map<String, Field>> reflectionCache = new ConcurrentHashMap<>();
 
     private ReflectionSerializer() {
 
     }
 
     public Set<String> getFields(Object object) {
+        Map<String, Field> fields = reflectionCache.get(object.getClass());
+        if (fields == null) {
 
-        if (!reflectionCache.containsKey(object.getClass())) {
-
-            Map<String, Field> fields = new HashMap<>();
+            fields = new ConcurrentHashMap<>();
             Set<Field> allFields = new HashSet<>();
 
             Class classToExtractFieldsFrom = object.getClass();
@@ -49,7 +50,7 @@ public class ReflectionSerializer {
             reflectionCache.put(object.getClass(), fields);
         }
 
-        return reflectionCache.get(object.getClass()).keySet();
+        return fields.keySet();
     }
 
     private Field findField(Object object, String field) {
@@ -1,35 +1,80 @@
 package liquibase.snapshot;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A row of a metadata result set. The column names are kept in a {@link Columns} table shared by all rows of the
+ * result set, and the values of the row in an array in the same order.
+ */
 public class CachedRow {
-    private Map row;
+    private Columns columns;
+    private Object[] values;
 
     public CachedRow(Map row) {
-        this.row = row;
+        this.columns = new Columns((String[]) row.keySet().toArray(new String[row.size()]));
+        this.values = row.values().toArray();
     }
 
+    public CachedRow(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
 
+    /**
+     * Returns the approximate number of bytes the row retains, for the size accounting of {@link ResultSetCache}.
+     * The shared column names are not counted.
+     */
+    public long getApproximateSize() {
+        long size = 40 + (8L * values.length);
+        for (Object value : values) {
+            size += getApproximateSize(value);
+        }
+        return size;
+    }
+
+    static long getApproximateSize(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return 40 + (2L * ((String) value).length());
+        } else if ((value instanceof Long) || (value instanceof Double)) {
+            return 24;
+        } else {
+            return 16;
+        }
+    }
 
     public Object get(String columnName) {
-        return row.get(columnName);
+        int index = columns.indexOf(columnName);
+        return (index < 0) ? null : values[index];
     }
 
+    /**
+     * Sets the value of a column. If the row has no such column yet it is added, to this row only.
+     */
     public void set(String columnName, Object value) {
-        row.put(columnName, value);
+        int index = columns.indexOf(columnName);
+        if (index < 0) {
+            columns = columns.with(columnName);
+            values = Arrays.copyOf(values, values.length + 1);
+            index = values.length - 1;
+        }
+        values[index] = value;
     }
 
 
     public boolean containsColumn(String columnName) {
-        return row.containsKey(columnName);
+        return columns.indexOf(columnName) >= 0;
     }
 
     public String getString(String columnName) {
-        return (String) row.get(columnName);
+        return (String) get(columnName);
     }
 
     public Integer getInt(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             return ((Number) o).intValue();
         } else if (o instanceof String) {
@@ -39,7 +84,7 @@ public class CachedRow {
     }
 
     public Short getShort(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             return ((Number) o).shortValue();
         } else if (o instanceof String) {
@@ -49,7 +94,7 @@ public class CachedRow {
     }
 
     public Boolean getBoolean(String columnName) {
-        Object o = row.get(columnName);
+        Object o = get(columnName);
         if (o instanceof Number) {
             if (((Number) o).longValue() == 0) {
                 return false;
@@ -67,4 +112,35 @@ public class CachedRow {
         }
         return (Boolean) o;
     }
+
+    /**
+     * The column names of a result set, with the index of each name.
+     */
+    public static class Columns {
+        private final String[] names;
+        private final Map<String, Integer> indexes;
+
+        public Columns(String... names) {
+            this.names = names;
+            this.indexes = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+            }
+        }
+
+        public int indexOf(String columnName) {
+            Integer index = indexes.get(columnName);
+            return (index == null) ? -1 : index;
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        Columns with(String columnName) {
+            String[] newNames = Arrays.copyOf(names, names.length + 1);
+            newNames[names.length] = columnName;
+            return new Columns(newNames);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package liquibase.snapshot;
 
 import liquibase.CatalogAndSchema;
 import liquibase.configuration.GlobalConfiguration;
+import liquibase.database.AbstractJdbcDatabase;
 import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
@@ -26,6 +27,7 @@ import liquibase.util.StringUtil;
 
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class DatabaseSnapshot implements LiquibaseSerializable {
@@ -43,7 +45,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
     private Map<String, Object> snapshotScratchPad = new HashMap<>();
 
-    private Map<String, ResultSetCache> resultSetCaches = new HashMap<>();
+    private Map<String, ResultSetCache> resultSetCaches = new ConcurrentHashMap<>();
     private CompareControl.SchemaComparison[] schemaComparisons;
 
     private Map<String, Object> metadata = new HashMap<>();
@@ -237,10 +239,47 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     }
 
     public ResultSetCache getResultSetCache(String key) {
-        if (!resultSetCaches.containsKey(key)) {
-            resultSetCaches.put(key, new ResultSetCache());
+        return resultSetCaches.computeIfAbsent(key, k -> new ResultSetCache());
+    }
+
+    /**
+     * Returns the hit, miss, query and size counters of all result set caches of this snapshot together.
+     */
+    public ResultSetCacheStatistics getResultSetCacheStatistics() {
+        ResultSetCacheStatistics statistics = new ResultSetCacheStatistics(0, 0, 0, 0, 0, 0, 0);
+        for (ResultSetCache resultSetCache : resultSetCaches.values()) {
+            statistics = statistics.add(resultSetCache.getStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Drops the cached metadata rows of a schema that was snapshotted as a whole, since all its objects have been
+     * found. Rows that are still requested are queried again.
+     */
+    private void evictResultSetCaches(Schema schema) {
+        boolean snapshottedAsWhole = false;
+        for (DatabaseObject example : originalExamples) {
+            if ((example instanceof Schema) && DatabaseObjectComparatorFactory.getInstance().isSameObject(schema,
+                example, schemaComparisons, database)) {
+                snapshottedAsWhole = true;
+                break;
+            }
+        }
+        if (!snapshottedAsWhole || !(database instanceof AbstractJdbcDatabase)) {
+            return;
+        }
+
+        Set<String> schemaKeys = new HashSet<>();
+        schemaKeys.add(new ResultSetCache.RowData(((AbstractJdbcDatabase) database).getJdbcCatalogName(schema),
+            ((AbstractJdbcDatabase) database).getJdbcSchemaName(schema), database).createSchemaKey(database));
+        schemaKeys.add(new ResultSetCache.RowData(schema.getCatalogName(), schema.getName(), database)
+            .createSchemaKey(database));
+        for (ResultSetCache resultSetCache : resultSetCaches.values()) {
+            for (String schemaKey : schemaKeys) {
+                resultSetCache.evictSchema(schemaKey);
+            }
         }
-        return resultSetCaches.get(key);
     }
 
     /**
@@ -310,6 +349,10 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
             } catch (InstantiationException | IllegalAccessException e) {
                 throw new UnexpectedLiquibaseException(e);
             }
+
+            if (object instanceof Schema) {
+                evictResultSetCaches((Schema) object);
+            }
         }
 
         if (snapshotListener != null) {
@@ -512,6 +555,134 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     }
 
 
+    /**
+     * Replaces the objects described by the given examples, and the columns, keys, indexes and constraints that belong
+     * to them, with what the given snapshot of the same examples found. Objects that snapshot did not find are
+     * removed. References between the replaced objects and the rest of this snapshot are pointed at the objects of
+     * this snapshot, and the objects of each schema are updated, so the result can be compared and serialized like a
+     * full snapshot.
+     */
+    public void patch(DatabaseObject[] examples, DatabaseSnapshot update) {
+        Set<DatabaseObject> removed = Collections.newSetFromMap(new IdentityHashMap<DatabaseObject, Boolean>());
+        for (DatabaseObject example : examples) {
+            DatabaseObject existing = get(example);
+            if (existing != null) {
+                removed.add(existing);
+            }
+        }
+        for (Class<? extends DatabaseObject> type : allFound.toMap().keySet()) {
+            for (DatabaseObject object : allFound.get(type)) {
+                if (removed.contains(getOwningObject(object))) {
+                    removed.add(object);
+                }
+            }
+        }
+        for (DatabaseObject object : removed) {
+            allFound.remove(object);
+        }
+
+        Map<DatabaseObject, DatabaseObject> replacements = new IdentityHashMap<>();
+        List<DatabaseObject> added = new ArrayList<>();
+        for (Class<? extends DatabaseObject> type : update.allFound.toMap().keySet()) {
+            for (DatabaseObject object : update.allFound.get(type)) {
+                DatabaseObject existing = get(object);
+                if (existing == null) {
+                    allFound.add(object);
+                    added.add(object);
+                } else {
+                    replacements.put(object, existing);
+                }
+            }
+        }
+        for (DatabaseObject object : removed) {
+            DatabaseObject replacement = update.get(object);
+            if (replacement != null) {
+                replacements.put(object, replacements.containsKey(replacement) ? replacements.get(replacement) : replacement);
+            }
+        }
+
+        for (DatabaseObjectCollection collection : Arrays.asList(allFound, referencedObjects)) {
+            for (Class<? extends DatabaseObject> type : collection.toMap().keySet()) {
+                for (DatabaseObject object : collection.get(type)) {
+                    replaceReferences(object, replacements);
+                }
+            }
+        }
+
+        for (Catalog catalog : allFound.get(Catalog.class)) {
+            replaceContainedObjects(catalog, removed, replacements);
+        }
+        for (Schema schema : allFound.get(Schema.class)) {
+            replaceContainedObjects(schema, removed, replacements);
+        }
+        for (DatabaseObject object : added) {
+            Schema schema = object.getSchema();
+            if (!(object instanceof Schema) && !(object instanceof Catalog) && (getOwningObject(object) == object) &&
+                (schema != null) && (get(schema) == schema)) {
+                schema.addDatabaseObject(object);
+            }
+        }
+    }
+
+    /**
+     * Updates the "objects" map of a schema or catalog, which {@link #replaceReferences(DatabaseObject, Map)} does not
+     * look into: removed objects are dropped from it and replaced ones are swapped for their replacement.
+     */
+    private void replaceContainedObjects(DatabaseObject container, Set<DatabaseObject> removed,
+                                         Map<DatabaseObject, DatabaseObject> replacements) {
+        Map<Class<? extends DatabaseObject>, Set<DatabaseObject>> objects = container.getAttribute("objects", Map.class);
+        if (objects == null) {
+            return;
+        }
+        for (Map.Entry<Class<? extends DatabaseObject>, Set<DatabaseObject>> entry : objects.entrySet()) {
+            Set<DatabaseObject> newValue = new HashSet<>();
+            for (DatabaseObject object : entry.getValue()) {
+                if (replacements.containsKey(object)) {
+                    newValue.add(replacements.get(object));
+                } else if (!removed.contains(object)) {
+                    newValue.add(object);
+                }
+            }
+            entry.setValue(newValue);
+        }
+    }
+
+    /**
+     * Returns the table or view the given column, index, key or constraint belongs to, or the object itself for
+     * objects that do not belong to one.
+     */
+    public static DatabaseObject getOwningObject(DatabaseObject object) {
+        for (String attribute : new String[]{"relation", "table", "foreignKeyTable"}) {
+            Object owner = object.getAttribute(attribute, Object.class);
+            if (owner instanceof DatabaseObject) {
+                return (DatabaseObject) owner;
+            }
+        }
+        return object;
+    }
+
+    private void replaceReferences(DatabaseObject object, Map<DatabaseObject, DatabaseObject> replacements) {
+        for (String attribute : new ArrayList<>(object.getAttributes())) {
+            Object value = object.getAttribute(attribute, Object.class);
+            if ((value instanceof DatabaseObject) && replacements.containsKey(value)) {
+                object.setAttribute(attribute, replacements.get(value));
+            } else if (value instanceof Collection) {
+                boolean replaced = false;
+                Collection<Object> newValue = (value instanceof Set) ? new LinkedHashSet<>() : new ArrayList<>();
+                for (Object element : (Collection<?>) value) {
+                    if (replacements.containsKey(element)) {
+                        element = replacements.get(element);
+                        replaced = true;
+                    }
+                    newValue.add(element);
+                }
+                if (replaced) {
+                    object.setAttribute(attribute, newValue);
+                }
+            }
+        }
+    }
+
     protected SnapshotGeneratorChain createGeneratorChain(Class<? extends DatabaseObject> databaseObjectType, Database database) {
         SortedSet<SnapshotGenerator> generators = SnapshotGeneratorFactory.getInstance().getGenerators(databaseObjectType, database);
         if ((generators == null) || generators.isEmpty()) {
@@ -1,5 +1,6 @@
 package liquibase.snapshot;
 
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -9,11 +10,19 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
 
 import liquibase.CatalogAndSchema;
 import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
+import liquibase.database.DatabaseFactory;
 import liquibase.database.core.*;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.DatabaseException;
@@ -21,8 +30,14 @@ import liquibase.logging.LogService;
 import liquibase.logging.LogType;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Column;
+import liquibase.structure.core.ForeignKey;
+import liquibase.structure.core.Index;
+import liquibase.structure.core.PrimaryKey;
 import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
+import liquibase.structure.core.UniqueConstraint;
+import liquibase.structure.core.View;
 import liquibase.util.JdbcUtils;
 
 public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
@@ -42,6 +57,102 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         super(examples, database);
     }
 
+    @Override
+    protected void init(DatabaseObject[] examples) throws DatabaseException, InvalidExampleException {
+        prefetchMetaData(examples);
+        super.init(examples);
+        if (examples != null) {
+            LogService.getLog(getClass()).debug(LogType.LOG, "Metadata caches: " + getResultSetCacheStatistics());
+        }
+    }
+
+    /**
+     * Reads the metadata of the snapshotted schemas ahead of the snapshot when the snapshot control has a
+     * {@link SnapshotControl#getParallelDataSource() parallel DataSource}. The schema-wide query of every schema and
+     * object type runs on its own connection, and the rows are added to the result set caches of this snapshot. The
+     * objects are still snapshotted one after another afterwards, from the cached rows. Indexes and foreign keys,
+     * which most databases can only list per table, are read for all tables of the schema on the same connection.
+     * Sequences and other objects that are not read through the result set caches are not read ahead. A failed query
+     * is simply run again while snapshotting.
+     */
+    private void prefetchMetaData(DatabaseObject[] examples) throws DatabaseException {
+        final SnapshotControl snapshotControl = getSnapshotControl();
+        final DataSource dataSource = snapshotControl.getParallelDataSource();
+        if ((examples == null) || (dataSource == null) || !(getDatabase() instanceof AbstractJdbcDatabase)) {
+            return;
+        }
+
+        List<PrefetchedMetaData> prefetched = new ArrayList<>();
+        List<Callable<ResultSetCache>> queries = new ArrayList<>();
+        for (DatabaseObject example : examples) {
+            if (!(example instanceof Schema)) {
+                continue;
+            }
+            CatalogAndSchema catalogAndSchema = ((Schema) example).toCatalogAndSchema().customize(getDatabase());
+            final Schema schema = new Schema(catalogAndSchema.getCatalogName(), catalogAndSchema.getSchemaName());
+            for (final PrefetchedMetaData metaData : PrefetchedMetaData.values()) {
+                if (snapshotControl.shouldInclude(metaData.type)) {
+                    prefetched.add(metaData);
+                    queries.add(() -> prefetchMetaData(dataSource, metaData, schema));
+                }
+            }
+        }
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        int threads = Math.max(1, Math.min(snapshotControl.getParallelConnections(), queries.size()));
+        LogService.getLog(getClass()).info(LogType.LOG, "Reading " + queries.size() + " metadata queries on " +
+            threads + " connections");
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ResultSetCache>> results = executorService.invokeAll(queries);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    getResultSetCache(prefetched.get(i).cacheKey).addBulkResults(results.get(i).get());
+                } catch (ExecutionException e) {
+                    LogService.getLog(getClass()).warning(LogType.LOG, "Cannot read " + prefetched.get(i).cacheKey +
+                        " ahead of the snapshot: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the given query on a connection of its own and returns the cache holding the rows.
+     */
+    private ResultSetCache prefetchMetaData(DataSource dataSource, PrefetchedMetaData metaData, Schema schema)
+            throws SQLException, DatabaseException, InvalidExampleException {
+        Connection connection = dataSource.getConnection();
+        Database pooledDatabase;
+        try {
+            pooledDatabase = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                new JdbcConnection(connection));
+        } catch (DatabaseException e) {
+            connection.close();
+            throw e;
+        }
+        try {
+            pooledDatabase.setDefaultCatalogName(getDatabase().getDefaultCatalogName());
+            pooledDatabase.setDefaultSchemaName(getDatabase().getDefaultSchemaName());
+            pooledDatabase.setDatabaseChangeLogTableName(getDatabase().getDatabaseChangeLogTableName());
+            pooledDatabase.setDatabaseChangeLogLockTableName(getDatabase().getDatabaseChangeLogLockTableName());
+
+            JdbcDatabaseSnapshot pooledSnapshot = new JdbcDatabaseSnapshot(null, pooledDatabase, getSnapshotControl());
+            ResultSetCache resultSetCache = pooledSnapshot.getResultSetCache(metaData.cacheKey);
+            resultSetCache.setBulkOnly(true);
+            metaData.query(pooledSnapshot.getMetaDataFromCache(), (AbstractJdbcDatabase) pooledDatabase, schema);
+            return resultSetCache;
+        } finally {
+            pooledDatabase.close();
+        }
+    }
+
     public CachingDatabaseMetaData getMetaDataFromCache() throws SQLException {
         if (cachingDatabaseMetaData == null) {
             DatabaseMetaData databaseMetaData = null;
@@ -311,6 +422,11 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                         return database instanceof OracleDatabase; //oracle is slow, always bulk select while you are at it. Other databases need to go through all tables.
                     }
                 }
+
+                @Override
+                boolean fastFetchCoversSchema() {
+                    return true;
+                }
             });
         }
 
@@ -497,6 +613,11 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
                     }
                     return false;
                 }
+
+                @Override
+                boolean fastFetchCoversSchema() {
+                    return true;
+                }
             });
 
             return indexes;
@@ -563,7 +684,7 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
 
                 @Override
                 boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
-                    return !(tableName.equalsIgnoreCase(database.getDatabaseChangeLogTableName()) || tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName()));
+                    return (tableName == null) || !(tableName.equalsIgnoreCase(database.getDatabaseChangeLogTableName()) || tableName.equalsIgnoreCase(database.getDatabaseChangeLogLockTableName()));
                 }
 
                 @Override
@@ -1384,6 +1505,77 @@ public class JdbcDatabaseSnapshot extends DatabaseSnapshot {
         }
     }
 
+    /**
+     * The schema-wide metadata queries {@link #prefetchMetaData(DatabaseObject[])} can run ahead of the snapshot,
+     * called with the same arguments as the snapshot generators do.
+     */
+    private enum PrefetchedMetaData {
+        TABLES(Table.class, "getTables") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getTables(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null);
+            }
+        },
+        VIEWS(View.class, "getViews") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getViews(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null);
+            }
+        },
+        COLUMNS(Column.class, "getColumns") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getColumns(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null,
+                    null);
+            }
+        },
+        PRIMARY_KEYS(PrimaryKey.class, "getPrimaryKeys") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getPrimaryKeys(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema),
+                    null);
+            }
+        },
+        INDEXES(Index.class, "getIndexInfo") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getIndexInfo(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null,
+                    null);
+            }
+        },
+        FOREIGN_KEYS(ForeignKey.class, "getImportedKeys") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getForeignKeys(database.getJdbcCatalogName(schema), database.getJdbcSchemaName(schema), null,
+                    null);
+            }
+        },
+        UNIQUE_CONSTRAINTS(UniqueConstraint.class, "getUniqueConstraints") {
+            @Override
+            void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                    throws SQLException, DatabaseException {
+                metaData.getUniqueConstraints(schema.getCatalogName(), schema.getName(), null);
+            }
+        };
+
+        private final Class<? extends DatabaseObject> type;
+        private final String cacheKey;
+
+        PrefetchedMetaData(Class<? extends DatabaseObject> type, String cacheKey) {
+            this.type = type;
+            this.cacheKey = cacheKey;
+        }
+
+        abstract void query(CachingDatabaseMetaData metaData, AbstractJdbcDatabase database, Schema schema)
+                throws SQLException, DatabaseException;
+    }
+
     private String getAllCatalogsStringScratchData() {
         return (String) JdbcDatabaseSnapshot.this.getScratchData(ALL_CATALOGS_STRING_SCRATCH_KEY);
     }
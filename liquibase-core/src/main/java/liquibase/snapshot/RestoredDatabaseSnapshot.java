@@ -9,4 +9,12 @@ public class RestoredDatabaseSnapshot extends DatabaseSnapshot {
     public RestoredDatabaseSnapshot(Database database) throws DatabaseException, InvalidExampleException {
         super(new DatabaseObject[0], database);
     }
+
+    /**
+     * Creates an empty snapshot that reports the types of the given control, for restoring a snapshot that was taken
+     * with it.
+     */
+    public RestoredDatabaseSnapshot(Database database, SnapshotControl snapshotControl) throws DatabaseException, InvalidExampleException {
+        super(new DatabaseObject[0], database, snapshotControl);
+    }
 }
@@ -11,17 +11,38 @@ import liquibase.util.JdbcUtils;
 import liquibase.util.StringUtil;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the metadata rows a snapshot reads, by schema and by the key parameters of the rows. It can be used from
+ * several threads: lookups of cached rows do not lock, while queries that fill the cache run one at a time. Published
+ * row lists are never modified.
+ * <p>
+ * The cache keeps an approximate count of the bytes it retains. The rows of a schema can be dropped with
+ * {@link #evictSchema(String)} once all its objects have been snapshotted, they are queried again if they are
+ * requested after that.
+ */
 class ResultSetCache {
-    private Map<String, Integer> timesSingleQueried = new HashMap<>();
-    private Map<String, Boolean> didBulkQuery = new HashMap<>();
+    private final Map<String, Integer> timesSingleQueried = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> didBulkQuery = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, List<CachedRow>>> cacheBySchema = new ConcurrentHashMap<>();
+    private final Map<String, Long> sizeBySchema = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> info = new ConcurrentHashMap<>();
 
-    private Map<String, Map<String, List<CachedRow>>> cacheBySchema = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bulkQueries = new AtomicLong();
+    private final AtomicLong singleQueries = new AtomicLong();
+    private final AtomicLong evictedSchemas = new AtomicLong();
 
-    private Map<String, Object> info = new HashMap<>();
+    private volatile boolean bulkOnly;
 
     public List<CachedRow> get(ResultSetExtractor resultSetExtractor) throws DatabaseException {
         try {
@@ -29,79 +50,204 @@ class ResultSetCache {
 
             String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
 
-            Map<String, List<CachedRow>> cache = cacheBySchema.get(schemaKey);
-            if (cache == null) {
-                cache = new HashMap<>();
-                cacheBySchema.put(schemaKey, cache);
+            List<CachedRow> cached = getCached(schemaKey, wantedKey);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
             }
 
-            if (cache.containsKey(wantedKey)) {
-                return cache.get(wantedKey);
-            }
+            synchronized (this) {
+                cached = getCached(schemaKey, wantedKey);
+                if (cached != null) {
+                    hits.incrementAndGet();
+                    return cached;
+                }
+                misses.incrementAndGet();
 
-            if (didBulkQuery.containsKey(schemaKey) && didBulkQuery.get(schemaKey)) {
-                return new ArrayList<>();
-            }
+                if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
+                    List<CachedRow> results = resultSetExtractor.bulkFetch();
+                    bulkQueries.incrementAndGet();
 
-            List<CachedRow> results;
-            boolean bulkQueried = false;
-            if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
+                    boolean containsSchemas = resultSetExtractor.bulkContainsSchema(schemaKey);
+                    Map<String, Map<String, List<CachedRow>>> fetched = new HashMap<>();
+                    for (CachedRow row : results) {
+                        String rowSchema = containsSchemas ? resultSetExtractor.getSchemaKey(row).toLowerCase() : schemaKey;
+                        Map<String, List<CachedRow>> cache = fetched.get(rowSchema);
+                        if (cache == null) {
+                            cache = new HashMap<>();
+                            fetched.put(rowSchema, cache);
+                        }
+                        addRow(cache, resultSetExtractor, row);
+                    }
 
-                //remove any existing single fetches that may be duplicated
-                if (resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                    for (Map cachedValue : cacheBySchema.values()) {
-                        cachedValue.clear();
+                    //replace any existing rows that may be duplicated
+                    if (containsSchemas) {
+                        for (String existingSchema : cacheBySchema.keySet()) {
+                            if (!fetched.containsKey(existingSchema)) {
+                                publish(existingSchema, new HashMap<String, List<CachedRow>>());
+                            }
+                        }
+                    } else if (!fetched.containsKey(schemaKey)) {
+                        fetched.put(schemaKey, new HashMap<String, List<CachedRow>>());
                     }
-                } else {
-                    cache.clear();
-                }
+                    for (Map.Entry<String, Map<String, List<CachedRow>>> schemaRows : fetched.entrySet()) {
+                        publish(schemaRows.getKey(), schemaRows.getValue());
+                    }
+                    didBulkQuery.put(schemaKey, true);
 
-                results = resultSetExtractor.bulkFetch();
-                didBulkQuery.put(schemaKey, true);
-                bulkQueried = true;
-            } else {
-                // Don't store results in real cache to prevent confusion if later fetching all items.
-                cache = new HashMap<>();
-                Integer previousCount = timesSingleQueried.get(schemaKey);
-                if (previousCount == null) {
-                    previousCount = 0;
+                    List<CachedRow> returnList = getCached(schemaKey, wantedKey);
+                    return (returnList == null) ? new ArrayList<CachedRow>() : returnList;
                 }
-                timesSingleQueried.put(schemaKey, previousCount + 1);
-                results = resultSetExtractor.fastFetch();
-            }
 
-            for (CachedRow row : results) {
-                for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
-                    if (bulkQueried && resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                        String rowSchema = resultSetExtractor.getSchemaKey(row).toLowerCase();
-                        cache = cacheBySchema.get(rowSchema);
-                        if (cache == null) {
-                            cache = new HashMap<String, List<CachedRow>>();
-                            cacheBySchema.put(rowSchema, cache);
-                        }
+                if (bulkOnly) {
+                    if (!resultSetExtractor.wantedKeyParameters().coversSchema() ||
+                        !resultSetExtractor.fastFetchCoversSchema()) {
+                        return new ArrayList<>();
                     }
-                    if (!cache.containsKey(rowKey)) {
-                        cache.put(rowKey, new ArrayList<CachedRow>());
+                    // the fast fetch of a whole schema holds the same rows as a bulk query would
+                    Map<String, List<CachedRow>> cache = new HashMap<>();
+                    for (CachedRow row : resultSetExtractor.fastFetch()) {
+                        addRow(cache, resultSetExtractor, row);
                     }
-                    cache.get(rowKey).add(row);
+                    bulkQueries.incrementAndGet();
+                    publish(schemaKey, cache);
+                    didBulkQuery.put(schemaKey, true);
+                    List<CachedRow> returnList = getCached(schemaKey, wantedKey);
+                    return (returnList == null) ? new ArrayList<CachedRow>() : returnList;
                 }
+                Integer previousCount = timesSingleQueried.get(schemaKey);
+                timesSingleQueried.put(schemaKey, (previousCount == null) ? 1 : (previousCount + 1));
             }
 
-            if (bulkQueried) {
-                cache = cacheBySchema.get(schemaKey);
+            // Don't store results in real cache to prevent confusion if later fetching all items.
+            singleQueries.incrementAndGet();
+            Map<String, List<CachedRow>> cache = new HashMap<>();
+            for (CachedRow row : resultSetExtractor.fastFetch()) {
+                addRow(cache, resultSetExtractor, row);
             }
             List<CachedRow> returnList = cache.get(wantedKey);
             if (returnList == null) {
                 returnList = new ArrayList<>();
             }
             return returnList;
-
-
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
     }
 
+    /**
+     * Returns the cached rows for the given key, an empty list if the schema was bulk queried but has no such rows,
+     * or null if the rows are not known.
+     */
+    private List<CachedRow> getCached(String schemaKey, String wantedKey) {
+        Map<String, List<CachedRow>> cache = cacheBySchema.get(schemaKey);
+        if (cache != null) {
+            List<CachedRow> rows = cache.get(wantedKey);
+            if (rows != null) {
+                return rows;
+            }
+        }
+        if (Boolean.TRUE.equals(didBulkQuery.get(schemaKey))) {
+            return new ArrayList<>();
+        }
+        return null;
+    }
+
+    private static void addRow(Map<String, List<CachedRow>> cache, ResultSetExtractor resultSetExtractor, CachedRow row) {
+        for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
+            List<CachedRow> rows = cache.get(rowKey);
+            if (rows == null) {
+                rows = new ArrayList<>();
+                cache.put(rowKey, rows);
+            }
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Replaces the rows of a schema with the given ones. The map is not modified after this.
+     */
+    private void publish(String schemaKey, Map<String, List<CachedRow>> rows) {
+        long size = 0;
+        Set<CachedRow> counted = Collections.newSetFromMap(new IdentityHashMap<CachedRow, Boolean>());
+        for (Map.Entry<String, List<CachedRow>> entry : rows.entrySet()) {
+            size += 64 + (2L * entry.getKey().length()) + (8L * entry.getValue().size());
+            for (CachedRow row : entry.getValue()) {
+                if (counted.add(row)) {
+                    size += row.getApproximateSize();
+                }
+            }
+        }
+        cacheBySchema.put(schemaKey, new ConcurrentHashMap<>(rows));
+        sizeBySchema.put(schemaKey, size);
+    }
+
+    /**
+     * If set, {@link #get(ResultSetExtractor)} only runs queries that return the rows of a whole schema: the ones that
+     * would be bulk selected, and the fast fetch of requests that do not name an object when
+     * {@link ResultSetExtractor#fastFetchCoversSchema()}. Their rows are cached as if bulk selected. Other requests
+     * return an empty list without querying.
+     */
+    void setBulkOnly(boolean bulkOnly) {
+        this.bulkOnly = bulkOnly;
+    }
+
+    /**
+     * Adds the rows of the bulk queries run by the given cache to this cache. The schemas bulk queried there count as
+     * bulk queried here.
+     */
+    synchronized void addBulkResults(ResultSetCache other) {
+        for (Map.Entry<String, Map<String, List<CachedRow>>> schemaEntry : other.cacheBySchema.entrySet()) {
+            Map<String, List<CachedRow>> rows = new HashMap<>();
+            Map<String, List<CachedRow>> existing = cacheBySchema.get(schemaEntry.getKey());
+            if (existing != null) {
+                rows.putAll(existing);
+            }
+            for (Map.Entry<String, List<CachedRow>> rowEntry : schemaEntry.getValue().entrySet()) {
+                List<CachedRow> merged = new ArrayList<>(rowEntry.getValue());
+                List<CachedRow> existingRows = rows.get(rowEntry.getKey());
+                if (existingRows != null) {
+                    merged.addAll(0, existingRows);
+                }
+                rows.put(rowEntry.getKey(), merged);
+            }
+            publish(schemaEntry.getKey(), rows);
+        }
+        for (Map.Entry<String, Boolean> bulkQueried : other.didBulkQuery.entrySet()) {
+            if (bulkQueried.getValue()) {
+                didBulkQuery.put(bulkQueried.getKey(), true);
+            }
+        }
+        bulkQueries.addAndGet(other.bulkQueries.get());
+    }
+
+    /**
+     * Drops the cached rows of the given schema. Rows of the schema that are requested afterwards are queried again.
+     */
+    synchronized void evictSchema(String schemaKey) {
+        didBulkQuery.remove(schemaKey);
+        sizeBySchema.remove(schemaKey);
+        if (cacheBySchema.remove(schemaKey) != null) {
+            evictedSchemas.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the approximate number of bytes retained by the cached rows.
+     */
+    public long getApproximateSize() {
+        long size = 0;
+        for (Long schemaSize : sizeBySchema.values()) {
+            size += schemaSize;
+        }
+        return size;
+    }
+
+    public ResultSetCacheStatistics getStatistics() {
+        return new ResultSetCacheStatistics(hits.get(), misses.get(), bulkQueries.get(), singleQueries.get(),
+            evictedSchemas.get(), cacheBySchema.size(), getApproximateSize());
+    }
+
     public <T> T getInfo(String key, Class<T> type) {
         return (T) info.get(key);
     }
@@ -134,6 +280,18 @@ class ResultSetCache {
             this.parameters = parameters;
         }
 
+        /**
+         * Returns true if the rows of all objects of the schema are wanted.
+         */
+        boolean coversSchema() {
+            for (String parameter : parameters) {
+                if (parameter != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public String[] getKeyPermutations() {
             if (keyPermutations == null) {
                 this.keyPermutations = permutations(parameters);
@@ -238,6 +396,13 @@ class ResultSetCache {
             return resultSetCache.getTimesSingleQueried(schemaKey) >= 3;
         }
 
+        /**
+         * Returns true if {@link #fastFetch()} returns the rows of all objects of the schema when no object is named.
+         */
+        boolean fastFetchCoversSchema() {
+            return false;
+        }
+
         List<CachedRow> executeAndExtract(String sql, Database database) throws DatabaseException, SQLException {
             return executeAndExtract(sql, database, false);
         }
@@ -291,10 +456,31 @@ class ResultSetCache {
         protected List<CachedRow> extract(ResultSet resultSet, final boolean informixIndexTrimHint)
                 throws SQLException {
             resultSet.setFetchSize(database.getFetchSize());
-            List<Map> result;
-            List<CachedRow> returnList = new ArrayList<>();
+            List<CachedRow> returnList;
             try {
-                result = (List<Map>) new RowMapperResultSetExtractor(new ColumnMapRowMapper() {
+                returnList = (List<CachedRow>) new RowMapperResultSetExtractor(new ColumnMapRowMapper() {
+                    private CachedRow.Columns columns;
+
+                    /**
+                     * Reads the column labels once per result set, so that all rows share one column name table.
+                     */
+                    @Override
+                    public Object mapRow(ResultSet rs, int rowNum) throws SQLException {
+                        if (columns == null) {
+                            ResultSetMetaData metaData = rs.getMetaData();
+                            String[] names = new String[metaData.getColumnCount()];
+                            for (int i = 0; i < names.length; i++) {
+                                names[i] = getColumnKey(metaData.getColumnLabel(i + 1)).intern();
+                            }
+                            columns = new CachedRow.Columns(names);
+                        }
+                        Object[] values = new Object[columns.size()];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = getColumnValue(rs, i + 1);
+                        }
+                        return new CachedRow(columns, values);
+                    }
+
                     @Override
                     protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
                         Object value = super.getColumnValue(rs, index);
@@ -321,10 +507,6 @@ class ResultSetCache {
                         return value;
                     }
                 }).extractData(resultSet);
-
-                for (Map row : result) {
-                    returnList.add(new CachedRow(row));
-                }
             } finally {
                 JdbcUtils.closeResultSet(resultSet);
             }
@@ -0,0 +1,88 @@
+package liquibase.snapshot;
+
+/**
+ * Counters of the result set caches of a snapshot, see {@link DatabaseSnapshot#getResultSetCacheStatistics()}.
+ */
+public class ResultSetCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long bulkQueries;
+    private final long singleQueries;
+    private final long evictedSchemas;
+    private final long cachedSchemas;
+    private final long approximateSize;
+
+    public ResultSetCacheStatistics(long hits, long misses, long bulkQueries, long singleQueries, long evictedSchemas,
+                                    long cachedSchemas, long approximateSize) {
+        this.hits = hits;
+        this.misses = misses;
+        this.bulkQueries = bulkQueries;
+        this.singleQueries = singleQueries;
+        this.evictedSchemas = evictedSchemas;
+        this.cachedSchemas = cachedSchemas;
+        this.approximateSize = approximateSize;
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of requests that had to query the database.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of queries that read a whole schema (or more) into the cache.
+     */
+    public long getBulkQueries() {
+        return bulkQueries;
+    }
+
+    /**
+     * Returns the number of queries that only read the requested rows, without caching them.
+     */
+    public long getSingleQueries() {
+        return singleQueries;
+    }
+
+    /**
+     * Returns the number of schemas whose rows were dropped from the cache.
+     */
+    public long getEvictedSchemas() {
+        return evictedSchemas;
+    }
+
+    /**
+     * Returns the number of schemas the cache currently holds rows of.
+     */
+    public long getCachedSchemas() {
+        return cachedSchemas;
+    }
+
+    /**
+     * Returns the approximate number of bytes retained by the cached rows.
+     */
+    public long getApproximateSize() {
+        return approximateSize;
+    }
+
+    public ResultSetCacheStatistics add(ResultSetCacheStatistics other) {
+        return new ResultSetCacheStatistics(hits + other.hits, misses + other.misses, bulkQueries + other.bulkQueries,
+            singleQueries + other.singleQueries, evictedSchemas + other.evictedSchemas,
+            cachedSchemas + other.cachedSchemas, approximateSize + other.approximateSize);
+    }
+
+    @Override
+    public String toString() {
+        return hits + " hits, " + misses + " misses, " + bulkQueries + " bulk queries, " + singleQueries +
+            " single queries, " + evictedSchemas + " evicted schemas, " + cachedSchemas + " cached schemas, about " +
+            approximateSize + " bytes";
+    }
+}
@@ -0,0 +1,272 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.Scope;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
+import liquibase.database.AbstractJdbcDatabase;
+import liquibase.database.Database;
+import liquibase.database.core.DB2Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+import liquibase.parser.core.json.JsonSnapshotParser;
+import liquibase.serializer.core.json.JsonSnapshotSerializer;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Catalog;
+import liquibase.util.FileUtil;
+import liquibase.util.MD5Util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps snapshots as json files in a directory and reuses them while the database they were taken from does not
+ * change, like the reference database of repeated diffs. A snapshot is stored under the connection URL and user, the
+ * schemas and the types of the {@link SnapshotControl} it was taken with.
+ * <p>
+ * Before a stored snapshot is reused, a cheap fingerprint of the schemas is compared with the one in the first line of
+ * its file, so an out of date snapshot is never parsed. The fingerprint holds the number of tables, views and other
+ * objects of each type, and depending on the database, the time of the last DDL statement or a checksum of the columns
+ * in INFORMATION_SCHEMA. On other databases, changes that keep the number of objects the same are not seen, which is
+ * why stored snapshots are only reused for {@link #DEFAULT_MAX_AGE} unless {@link #setMaxAge(long)} says otherwise.
+ */
+public class SnapshotCache {
+
+    /**
+     * How long stored snapshots are reused for by default: one day.
+     */
+    public static final long DEFAULT_MAX_AGE = TimeUnit.DAYS.toMillis(1);
+
+    private static final Logger LOG = LogService.getLog(SnapshotCache.class);
+
+    private final File directory;
+    private long maxAge = DEFAULT_MAX_AGE;
+
+    public SnapshotCache(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Sets how many milliseconds a stored snapshot is reused for at most. 0 reuses it as long as the fingerprint
+     * matches.
+     */
+    public SnapshotCache setMaxAge(long maxAge) {
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * Returns the stored snapshot of the given schemas if the database did not change since it was taken, otherwise
+     * takes a new snapshot and stores it. Databases without a JDBC connection are always snapshotted.
+     */
+    public DatabaseSnapshot getSnapshot(CatalogAndSchema[] schemas, Database database, SnapshotControl snapshotControl)
+            throws DatabaseException, InvalidExampleException {
+        String fingerprint = getFingerprint(schemas, database);
+        if (fingerprint == null) {
+            return SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+        }
+
+        File file = getFile(schemas, database, snapshotControl);
+        DatabaseSnapshot snapshot = read(file, fingerprint, database, snapshotControl);
+        if (snapshot != null) {
+            LOG.info(LogType.LOG, "Reusing the cached snapshot " + file.getAbsolutePath());
+            return snapshot;
+        }
+
+        snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+        write(file, fingerprint, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Returns the file the snapshot of the given schemas is stored in.
+     */
+    protected File getFile(CatalogAndSchema[] schemas, Database database, SnapshotControl snapshotControl) throws DatabaseException {
+        StringBuilder key = new StringBuilder(database.getConnection().getURL())
+                .append(" user ").append(database.getConnection().getConnectionUserName());
+        for (CatalogAndSchema schema : schemas) {
+            CatalogAndSchema customized = schema.customize(database);
+            key.append(" schema ").append(customized.getCatalogName()).append('.').append(customized.getSchemaName());
+        }
+        TreeSet<String> types = new TreeSet<>();
+        for (Class<? extends DatabaseObject> type : snapshotControl.getTypesToInclude()) {
+            types.add(type.getName());
+        }
+        key.append(" types ").append(types);
+
+        return new File(directory, "snapshot-" + MD5Util.computeMD5(key.toString()) + ".snapshot");
+    }
+
+    /**
+     * Returns a fingerprint of the given schemas that changes when objects are created or dropped, and on databases
+     * that record it or list columns in INFORMATION_SCHEMA, when DDL runs. Returns null if the database cannot be
+     * probed.
+     */
+    protected String getFingerprint(CatalogAndSchema[] schemas, Database database) throws DatabaseException {
+        if (!(database instanceof AbstractJdbcDatabase) || !(database.getConnection() instanceof JdbcConnection)) {
+            return null;
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        DatabaseMetaData metaData = ((JdbcConnection) database.getConnection()).getMetaData();
+        for (CatalogAndSchema schema : schemas) {
+            CatalogAndSchema customized = schema.customize(database);
+            String catalogName = ((AbstractJdbcDatabase) database).getJdbcCatalogName(customized);
+            String schemaName = ((AbstractJdbcDatabase) database).getJdbcSchemaName(customized);
+
+            Map<String, Integer> objectCounts = new TreeMap<>();
+            try (ResultSet tables = metaData.getTables(catalogName, schemaName, null, null)) {
+                while (tables.next()) {
+                    objectCounts.merge(String.valueOf(tables.getString("TABLE_TYPE")), 1, Integer::sum);
+                }
+            } catch (SQLException e) {
+                throw new DatabaseException(e);
+            }
+            fingerprint.append(catalogName).append('.').append(schemaName).append(' ').append(objectCounts);
+
+            String lastDdlTime = getLastDdlTime(catalogName, schemaName, database);
+            if (lastDdlTime != null) {
+                fingerprint.append(" last DDL ").append(lastDdlTime);
+            }
+            String columnChecksum = getColumnChecksum(catalogName, schemaName, database);
+            if (columnChecksum != null) {
+                fingerprint.append(" columns ").append(columnChecksum);
+            }
+            fingerprint.append("; ");
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Returns the time of the last DDL statement on the given schema, or null if the database does not record it.
+     */
+    protected String getLastDdlTime(String catalogName, String schemaName, Database database) throws DatabaseException {
+        String sql;
+        if (database instanceof OracleDatabase) {
+            sql = "SELECT MAX(LAST_DDL_TIME) FROM ALL_OBJECTS WHERE OWNER = '" + database.escapeStringForDatabase(schemaName) + "'";
+        } else if (database instanceof MSSQLDatabase) {
+            String prefix = (catalogName == null) ? "" : (database.escapeObjectName(catalogName, Catalog.class) + ".");
+            sql = "SELECT MAX(o.modify_date) FROM " + prefix + "sys.objects o JOIN " + prefix + "sys.schemas s " +
+                    "ON o.schema_id = s.schema_id WHERE s.name = '" + database.escapeStringForDatabase(schemaName) + "'";
+        } else if (database instanceof DB2Database) {
+            sql = "SELECT MAX(ALTER_TIME) FROM SYSCAT.TABLES WHERE TABSCHEMA = '" + database.escapeStringForDatabase(schemaName) + "'";
+        } else {
+            return null;
+        }
+        return ExecutorService.getInstance().getExecutor(database).queryForObject(new RawSqlStatement(sql), String.class);
+    }
+
+    /**
+     * Returns a checksum of the names, types, nullability and defaults of the columns of the given schema, or null if
+     * the database does not list them in INFORMATION_SCHEMA.COLUMNS.
+     */
+    protected String getColumnChecksum(String catalogName, String schemaName, Database database) throws DatabaseException {
+        String tableSchema;
+        if (database instanceof MySQLDatabase) {
+            tableSchema = catalogName;
+        } else if ((database instanceof PostgresDatabase) || (database instanceof H2Database) ||
+                (database instanceof HsqlDatabase)) {
+            tableSchema = schemaName;
+        } else {
+            return null;
+        }
+        if (tableSchema == null) {
+            return null;
+        }
+
+        String sql = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, IS_NULLABLE, COLUMN_DEFAULT, CHARACTER_MAXIMUM_LENGTH, " +
+                "NUMERIC_PRECISION, NUMERIC_SCALE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = '" +
+                database.escapeStringForDatabase(tableSchema) + "' ORDER BY TABLE_NAME, ORDINAL_POSITION";
+        StringBuilder columns = new StringBuilder();
+        for (Map<String, ?> row : ExecutorService.getInstance().getExecutor(database).queryForList(new RawSqlStatement(sql))) {
+            columns.append(row.values()).append('\n');
+        }
+        return MD5Util.computeMD5(columns.toString());
+    }
+
+    private DatabaseSnapshot read(File file, String fingerprint, Database database, SnapshotControl snapshotControl) {
+        if (!file.exists()) {
+            return null;
+        }
+        if ((maxAge > 0) && ((System.currentTimeMillis() - file.lastModified()) > maxAge)) {
+            LOG.info(LogType.LOG, "The cached snapshot " + file.getAbsolutePath() + " is older than " + maxAge + "ms");
+            return null;
+        }
+
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            if (!fingerprint.equals(readFirstLine(stream))) {
+                LOG.info(LogType.LOG, "The cached snapshot " + file.getAbsolutePath() + " is out of date");
+                return null;
+            }
+            DatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database, snapshotControl);
+            new JsonSnapshotParser().load(stream, snapshot, Scope.getCurrentScope().getResourceAccessor());
+            return snapshot;
+        } catch (Exception e) {
+            LOG.warning(LogType.LOG, "Cannot read the cached snapshot " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the fingerprint line in front of the json of a stored snapshot, leaving the stream at the json.
+     */
+    private String readFirstLine(InputStream stream) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int read;
+        while (((read = stream.read()) != -1) && (read != '\n')) {
+            line.write(read);
+        }
+        return line.toString(getOutputEncoding());
+    }
+
+    private void write(File file, String fingerprint, DatabaseSnapshot snapshot) {
+        try {
+            String serialized = new JsonSnapshotSerializer().serialize(snapshot, true);
+            FileUtil.writeAtomically(file, output -> {
+                Writer writer = new OutputStreamWriter(output, getOutputEncoding());
+                writer.write(fingerprint);
+                writer.write('\n');
+                writer.write(serialized);
+                writer.flush();
+            });
+        } catch (IOException | RuntimeException e) {
+            LOG.warning(LogType.LOG, "Cannot cache the snapshot in " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String getOutputEncoding() {
+        return LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getOutputEncoding();
+    }
+}
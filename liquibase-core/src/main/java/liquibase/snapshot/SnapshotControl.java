@@ -10,6 +10,7 @@ import liquibase.serializer.LiquibaseSerializable;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.DatabaseObjectFactory;
 
+import javax.sql.DataSource;
 import java.util.*;
 
 /**
@@ -22,6 +23,8 @@ public class SnapshotControl implements LiquibaseSerializable {
     private ObjectChangeFilter objectChangeFilter;
     private SnapshotListener snapshotListener;
     private boolean warnIfObjectNotFound = true;
+    private DataSource parallelDataSource;
+    private int parallelConnections;
     
     
     /**
@@ -186,6 +189,34 @@ public class SnapshotControl implements LiquibaseSerializable {
         return this;
     }
 
+    /**
+     * Returns the source of the additional connections the metadata of the snapshotted schemas is read on, or null
+     * to read everything on the connection of the database.
+     */
+    public DataSource getParallelDataSource() {
+        return parallelDataSource;
+    }
+
+    /**
+     * Returns the maximum number of connections of the {@link #getParallelDataSource() parallel DataSource} to use at once.
+     */
+    public int getParallelConnections() {
+        return parallelConnections;
+    }
+
+    /**
+     * Configures the snapshot to read the metadata of each schema and object type on its own connection from the
+     * given DataSource, with at most maxConnections connections in use at once. The DataSource must connect to the
+     * same database as the snapshot.
+     * @param dataSource the source of the additional connections, or null to read everything on one connection
+     * @param maxConnections the maximum number of connections to use at once
+     */
+    public SnapshotControl setParallelDataSource(DataSource dataSource, int maxConnections) {
+        this.parallelDataSource = dataSource;
+        this.parallelConnections = maxConnections;
+        return this;
+    }
+
     public <T extends DatabaseObject> boolean shouldInclude(T example) {
         if (objectChangeFilter != null) {
             return objectChangeFilter.include(example);
@@ -17,12 +17,13 @@ import liquibase.structure.core.Schema;
 import liquibase.structure.core.Table;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class SnapshotGeneratorFactory {
 
-    private static SnapshotGeneratorFactory instance;
+    private static volatile SnapshotGeneratorFactory instance;
 
-    private List<SnapshotGenerator> generators = new ArrayList<>();
+    private List<SnapshotGenerator> generators = new CopyOnWriteArrayList<>();
 
     protected SnapshotGeneratorFactory() {
         try {
@@ -39,11 +40,18 @@ public class SnapshotGeneratorFactory {
     /**
      * Return singleton SnapshotGeneratorFactory
      */
-    public static synchronized SnapshotGeneratorFactory getInstance() {
-        if (instance == null) {
-            instance = new SnapshotGeneratorFactory();
+    public static SnapshotGeneratorFactory getInstance() {
+        SnapshotGeneratorFactory result = instance;
+        if (result == null) {
+            synchronized (SnapshotGeneratorFactory.class) {
+                result = instance;
+                if (result == null) {
+                    result = new SnapshotGeneratorFactory();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     public static synchronized void reset() {
@@ -15,6 +15,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * SqlGeneratorFactory is a singleton registry of SqlGenerators.
@@ -23,12 +25,15 @@ import java.util.*;
  */
 public class SqlGeneratorFactory {
 
-    private static SqlGeneratorFactory instance;
+    private static volatile SqlGeneratorFactory instance;
     //caches for expensive reflection based calls that slow down Liquibase initialization: CORE-1207
-    private final Map<Class<?>, Type[]> genericInterfacesCache = new HashMap<>();
-    private final Map<Class<?>, Type> genericSuperClassCache = new HashMap<>();
-    private List<SqlGenerator> generators = new ArrayList<>();
-    private Map<String, SortedSet<SqlGenerator>> generatorsByKey = new HashMap<>();
+    private final Map<Class<?>, Type[]> genericInterfacesCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Type> genericSuperClassCache = new ConcurrentHashMap<>();
+    private List<SqlGenerator> generators = new CopyOnWriteArrayList<>();
+    // generators that support each statement class, by database instance: supports() may depend on the version and
+    // connection of the database
+    private final Map<Database, Map<Class<?>, ResolvedGenerators>> generatorsByDatabase =
+        Collections.synchronizedMap(new WeakHashMap<Database, Map<Class<?>, ResolvedGenerators>>());
 
     private SqlGeneratorFactory() {
         try {
@@ -45,11 +50,18 @@ public class SqlGeneratorFactory {
     /**
      * Return singleton SqlGeneratorFactory
      */
-    public static synchronized SqlGeneratorFactory getInstance() {
-        if (instance == null) {
-            instance = new SqlGeneratorFactory();
+    public static SqlGeneratorFactory getInstance() {
+        SqlGeneratorFactory result = instance;
+        if (result == null) {
+            synchronized (SqlGeneratorFactory.class) {
+                result = instance;
+                if (result == null) {
+                    result = new SqlGeneratorFactory();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     public static synchronized void reset() {
@@ -59,10 +71,12 @@ public class SqlGeneratorFactory {
 
     public void register(SqlGenerator generator) {
         generators.add(generator);
+        generatorsByDatabase.clear();
     }
 
     public void unregister(SqlGenerator generator) {
         generators.remove(generator);
+        generatorsByDatabase.clear();
     }
 
     public void unregister(Class generatorClass) {
@@ -77,62 +91,116 @@ public class SqlGeneratorFactory {
     }
 
 
+    /**
+     * Returns the registered generators. Changes made through the returned collection clear the resolved generators
+     * like {@link #register(SqlGenerator)} and {@link #unregister(SqlGenerator)} do.
+     */
     protected Collection<SqlGenerator> getGenerators() {
-        return generators;
-    }
+        return new AbstractCollection<SqlGenerator>() {
+            @Override
+            public Iterator<SqlGenerator> iterator() {
+                final Iterator<SqlGenerator> iterator = generators.iterator();
+                return new Iterator<SqlGenerator>() {
+                    private SqlGenerator current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
 
-    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
-        String databaseName = null;
-        if (database == null) {
-            databaseName = "NULL";
-        } else {
-            databaseName = database.getShortName();
-        }
+                    @Override
+                    public SqlGenerator next() {
+                        current = iterator.next();
+                        return current;
+                    }
 
-        int version;
-        if (database == null) {
-            version = 0;
-        } else {
-            try {
-                version = database.getDatabaseMajorVersion();
-            } catch (Exception e) {
-                version = 0;
+                    @Override
+                    public void remove() {
+                        if (current == null) {
+                            throw new IllegalStateException();
+                        }
+                        unregister(current);
+                        current = null;
+                    }
+                };
             }
-        }
 
-        String key = statement.getClass().getName()+":"+ databaseName+":"+ version;
+            @Override
+            public int size() {
+                return generators.size();
+            }
 
-        if (generatorsByKey.containsKey(key)) {
-            return generatorsByKey.get(key);
+            @Override
+            public boolean add(SqlGenerator generator) {
+                register(generator);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the generators that support the statement on the database, best first. Which generators support a
+     * statement class on a database instance is only worked out once, except for
+     * {@link StatementDependentSqlGenerator}s which are asked every time. The returned set cannot be modified.
+     */
+    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+        Map<Class<?>, ResolvedGenerators> generatorsByStatement = generatorsByDatabase.get(database);
+        if (generatorsByStatement == null) {
+            generatorsByStatement = new ConcurrentHashMap<>();
+            generatorsByDatabase.put(database, generatorsByStatement);
         }
+        ResolvedGenerators resolvedGenerators = generatorsByStatement.get(statement.getClass());
+        if (resolvedGenerators == null) {
+            resolvedGenerators = resolveGenerators(statement, database);
+            generatorsByStatement.put(statement.getClass(), resolvedGenerators);
+        }
+        return resolvedGenerators.getGenerators(statement, database);
+    }
 
+    private ResolvedGenerators resolveGenerators(SqlStatement statement, Database database) {
         SortedSet<SqlGenerator> validGenerators = new TreeSet<>(new SqlGeneratorComparator());
+        List<SqlGenerator> statementDependentGenerators = new ArrayList<>();
 
         for (SqlGenerator generator : getGenerators()) {
-            Class clazz = generator.getClass();
-            Type classType = null;
-            while (clazz != null) {
-                if (classType instanceof ParameterizedType) {
-                    checkType(classType, statement, generator, database, validGenerators);
+            if (!isForStatement(generator, statement)) {
+                continue;
+            }
+            if (generator instanceof StatementDependentSqlGenerator) {
+                statementDependentGenerators.add(generator);
+            } else if (generator.supports(statement, database)) {
+                validGenerators.add(generator);
+            }
+        }
+
+        return new ResolvedGenerators(validGenerators, statementDependentGenerators);
+    }
+
+    /**
+     * Returns true if the type parameters of the generator accept the class of the statement.
+     */
+    private boolean isForStatement(SqlGenerator generator, SqlStatement statement) {
+        Class clazz = generator.getClass();
+        Type classType = null;
+        while (clazz != null) {
+            if (classType instanceof ParameterizedType) {
+                if (checkType(classType, statement)) {
+                    return true;
                 }
+            }
 
-                for (Type type : getGenericInterfaces(clazz)) {
-                    if (type instanceof ParameterizedType) {
-                        checkType(type, statement, generator, database, validGenerators);
-                    } else if (isTypeEqual(type, SqlGenerator.class)) {
-                        //noinspection unchecked
-                        if (generator.supports(statement, database)) {
-                            validGenerators.add(generator);
-                        }
+            for (Type type : getGenericInterfaces(clazz)) {
+                if (type instanceof ParameterizedType) {
+                    if (checkType(type, statement)) {
+                        return true;
                     }
+                } else if (isTypeEqual(type, SqlGenerator.class)) {
+                    return true;
                 }
-                classType = getGenericSuperclass(clazz);
-                clazz = clazz.getSuperclass();
             }
+            classType = getGenericSuperclass(clazz);
+            clazz = clazz.getSuperclass();
         }
-
-        generatorsByKey.put(key, validGenerators);
-        return validGenerators;
+        return false;
     }
 
     private Type[] getGenericInterfaces(Class<?> clazz) {
@@ -151,7 +219,9 @@ public class SqlGeneratorFactory {
         }
 
         Type genericSuperclass = clazz.getGenericSuperclass();
-        genericSuperClassCache.put(clazz, genericSuperclass);
+        if (genericSuperclass != null) {
+            genericSuperClassCache.put(clazz, genericSuperclass);
+        }
         return genericSuperclass;
     }
 
@@ -162,23 +232,21 @@ public class SqlGeneratorFactory {
         return aType.equals(aClass);
     }
 
-    private void checkType(Type type, SqlStatement statement, SqlGenerator generator, Database database, SortedSet<SqlGenerator> validGenerators) {
+    private boolean checkType(Type type, SqlStatement statement) {
         for (Type typeClass : ((ParameterizedType) type).getActualTypeArguments()) {
             if (typeClass instanceof TypeVariable) {
                 typeClass = ((TypeVariable) typeClass).getBounds()[0];
             }
 
             if (isTypeEqual(typeClass, SqlStatement.class)) {
-                return;
+                return false;
             }
 
             if (((Class) typeClass).isAssignableFrom(statement.getClass())) {
-                if (generator.supports(statement, database)) {
-                    validGenerators.add(generator);
-                }
+                return true;
             }
         }
-
+        return false;
     }
 
     private SqlGeneratorChain createGeneratorChain(SqlStatement statement, Database database) {
@@ -279,4 +347,32 @@ public class SqlGeneratorFactory {
 
     }
 
+    /**
+     * The generators that support a statement class on a database, plus the {@link StatementDependentSqlGenerator}s
+     * that have to be asked for each statement.
+     */
+    private static class ResolvedGenerators {
+        private final SortedSet<SqlGenerator> generators;
+        private final List<SqlGenerator> statementDependentGenerators;
+
+        ResolvedGenerators(SortedSet<SqlGenerator> generators, List<SqlGenerator> statementDependentGenerators) {
+            this.generators = Collections.unmodifiableSortedSet(generators);
+            this.statementDependentGenerators = statementDependentGenerators;
+        }
+
+        SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+            if (statementDependentGenerators.isEmpty()) {
+                return generators;
+            }
+            SortedSet<SqlGenerator> validGenerators = new TreeSet<>(new SqlGeneratorComparator());
+            validGenerators.addAll(generators);
+            for (SqlGenerator generator : statementDependentGenerators) {
+                //noinspection unchecked
+                if (generator.supports(statement, database)) {
+                    validGenerators.add(generator);
+                }
+            }
+            return Collections.unmodifiableSortedSet(validGenerators);
+        }
+    }
 }
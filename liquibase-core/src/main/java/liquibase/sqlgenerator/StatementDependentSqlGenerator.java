@@ -0,0 +1,10 @@
+package liquibase.sqlgenerator;
+
+/**
+ * Marks a {@link SqlGenerator} whose supports() method depends on the contents of the statement, not only on its
+ * class and the database. {@link SqlGeneratorFactory} remembers which generators support a statement class on a
+ * database, but calls supports() of generators implementing this interface for every statement.
+ */
+public interface StatementDependentSqlGenerator {
+
+}
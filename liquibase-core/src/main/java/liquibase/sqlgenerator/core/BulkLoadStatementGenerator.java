@@ -0,0 +1,23 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.BulkLoadStatement;
+
+/**
+ * Dummy SQL generator for {@link liquibase.statement.BulkLoadStatement}. The SQL of the individual rows is generated
+ * from {@link BulkLoadStatement#openStatements()}.
+ */
+public class BulkLoadStatementGenerator extends AbstractSqlGenerator<BulkLoadStatement> {
+    @Override
+    public ValidationErrors validate(BulkLoadStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new ValidationErrors();
+    }
+
+    @Override
+    public Sql[] generateSql(BulkLoadStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new Sql[0];
+    }
+}
@@ -39,16 +39,23 @@ public class MarkChangeSetRanGenerator extends AbstractSqlGenerator<MarkChangeSe
 
     @Override
     public Sql[] generateSql(MarkChangeSetRanStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        if (statement.getExecType().equals(ChangeSet.ExecType.FAILED) || statement.getExecType().equals(ChangeSet.ExecType.SKIPPED)) {
+            return new Sql[0]; //don't mark
+        }
+
+        return SqlGeneratorFactory.getInstance().generateSql(generateRunStatement(statement, database), database);
+    }
+
+    /**
+     * Returns the UPDATE of the changeSet's DATABASECHANGELOG row if it ran before, otherwise the INSERT of a new row.
+     */
+    public SqlStatement generateRunStatement(MarkChangeSetRanStatement statement, Database database) {
         String dateValue = database.getCurrentDateTimeFunction();
 
         ChangeSet changeSet = statement.getChangeSet();
 
         SqlStatement runStatement;
         try {
-            if (statement.getExecType().equals(ChangeSet.ExecType.FAILED) || statement.getExecType().equals(ChangeSet.ExecType.SKIPPED)) {
-                return new Sql[0]; //don't mark
-            }
-
             String tag = null;
             for (Change change : changeSet.getChanges()) {
                 if (change instanceof TagDatabaseChange) {
@@ -98,7 +105,7 @@ public class MarkChangeSetRanGenerator extends AbstractSqlGenerator<MarkChangeSe
             throw new UnexpectedLiquibaseException(e);
         }
 
-        return SqlGeneratorFactory.getInstance().generateSql(runStatement, database);
+        return runStatement;
     }
 
     private String buildFullContext(ChangeSet changeSet) {
@@ -4,11 +4,13 @@ import liquibase.change.ColumnConfig;
 import liquibase.change.core.LoadDataColumnConfig;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
 import liquibase.exception.DatabaseException;
 import liquibase.logging.LogService;
 import liquibase.logging.LogType;
 import liquibase.logging.Logger;
 import liquibase.resource.ResourceAccessor;
+import liquibase.util.JdbcUtils;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -17,23 +19,48 @@ import java.util.List;
 
 /**
  * Performance-optimised version of {@link ExecutablePreparedStatementBase}. JDBC batching collects several
- * executions of DML statements and waits until a certain number of commands has been collected. Then, it sends all
- * of them to the RDBMS in a single call. {@link java.sql.Statement#executeBatch()} saves many round-trips between
- * client and database, often speeding up bulk inserts/updates dramatically if the JDBC driver supports it.
+ * executions of DML statements and waits until a certain number of commands (the batch size) has been collected.
+ * Then, it sends all of them to the RDBMS in a single call. {@link java.sql.Statement#executeBatch()} saves many
+ * round-trips between client and database, often speeding up bulk inserts/updates dramatically if the JDBC driver
+ * supports it.
  * @see <a href="https://blog.jooq.org/2014/01/16/what-you-didnt-know-about-jdbc-batch/">
  *     Blog entry on "Java Persistence Performance" about batching</a>
  */
 public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedStatementBase {
     private final List<ExecutablePreparedStatementBase> collectedStatements;
     private final Logger LOG = LogService.getLog(getClass());
+    private final int batchSize;
+    private final int commitEvery;
 
     public BatchDmlExecutablePreparedStatement(
             Database database, String catalogName, String schemaName, String tableName,
             List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
             List<ExecutablePreparedStatementBase> statements) {
+        this(database, catalogName, schemaName, tableName, columns, changeSet, resourceAccessor, statements,
+            Math.max(statements.size(), 1), 0);
+    }
+
+    /**
+     * @param batchSize the maximum number of statements per JDBC batch
+     * @param commitEvery the number of statements after which to commit, or 0 to leave committing to the changeSet
+     */
+    public BatchDmlExecutablePreparedStatement(
+            Database database, String catalogName, String schemaName, String tableName,
+            List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
+            List<ExecutablePreparedStatementBase> statements, int batchSize, int commitEvery) {
         super(database, catalogName, schemaName, tableName, new ArrayList<ColumnConfig>(columns), changeSet,
             resourceAccessor);
         this.collectedStatements = new ArrayList<>(statements);
+        this.batchSize = batchSize;
+        this.commitEvery = commitEvery;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitEvery() {
+        return commitEvery;
     }
 
     /**
@@ -45,11 +72,26 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
     }
 
     @Override
-    protected void attachParams(List<ColumnConfig> ignored, PreparedStatement stmt)
-            throws SQLException, DatabaseException {
-        for (ExecutablePreparedStatementBase insertStatement : collectedStatements) {
-            super.attachParams(insertStatement.getColumns(), stmt);
-            stmt.addBatch();
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        List<ColumnConfig> cols = new ArrayList<>(getColumns().size());
+        String sql = generateSql(cols);
+        LOG.info(LogType.WRITE_SQL, sql);
+
+        PreparedStatement stmt = factory.create(sql);
+        try {
+            PreparedStatementBatcher batcher = new PreparedStatementBatcher(database, stmt, batchSize, commitEvery);
+            for (ExecutablePreparedStatementBase insertStatement : collectedStatements) {
+                attachParams(insertStatement.getColumns(), stmt);
+                if (batcher.addRow()) {
+                    closeLobStreams();
+                }
+            }
+            batcher.finish();
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        } finally {
+            closeLobStreams();
+            JdbcUtils.closeStatement(stmt);
         }
     }
 
@@ -60,17 +102,6 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
         return collectedStatements.get(0).generateSql(cols);
     }
 
-    @Override
-    protected void executePreparedStatement(PreparedStatement stmt) throws SQLException {
-        int updateCounts[] = stmt.executeBatch();
-        long sumUpdateCounts = 0;
-        for (int updateCount : updateCounts) {
-            sumUpdateCounts = updateCount;
-        }
-        LOG.info(LogType.LOG, String.format("Executing JDBC DML batch was successful. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
-                updateCounts.length, sumUpdateCounts));
-    }
-
     @Override
     public boolean continueOnError() {
         return false;
@@ -0,0 +1,108 @@
+package liquibase.statement;
+
+import liquibase.bulkload.BulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Loads rows into a table through a {@link BulkLoader}. The rows are pulled from a {@link RowSupplier} while the
+ * statement executes, so they never need to be held in memory all at once.
+ * <p>
+ * When the statement is not executed against a database (e.g. updateSQL), {@link #openStatements()} supplies plain
+ * INSERT statements for the same rows so they can be written out one at a time.
+ */
+public class BulkLoadStatement extends AbstractSqlStatement
+        implements ExecutablePreparedStatement, StreamingSqlStatement {
+
+    private static final Logger LOG = LogService.getLog(BulkLoadStatement.class);
+
+    private final Database database;
+    private final BulkLoader bulkLoader;
+    private final String catalogName;
+    private final String schemaName;
+    private final String tableName;
+    private final RowSupplier rowSupplier;
+
+    public BulkLoadStatement(Database database, BulkLoader bulkLoader, String catalogName, String schemaName,
+                             String tableName, RowSupplier rowSupplier) {
+        this.database = database;
+        this.bulkLoader = bulkLoader;
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.rowSupplier = rowSupplier;
+    }
+
+    public BulkLoader getBulkLoader() {
+        return bulkLoader;
+    }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Opens a new pass over the rows to load. The caller is responsible for closing the returned source.
+     */
+    public RowSource openRows() throws DatabaseException {
+        return rowSupplier.openRows();
+    }
+
+    @Override
+    public Source<? extends SqlStatement> openStatements() throws DatabaseException {
+        return rowSupplier.openStatements();
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        long startTime = System.currentTimeMillis();
+        long rows = bulkLoader.load(this, database);
+        LOG.info(LogType.LOG, String.format("Bulk loading %d rows into %s with %s was successful in %d ms.",
+            rows, tableName, bulkLoader.getClass().getSimpleName(), System.currentTimeMillis() - startTime));
+    }
+
+    /**
+     * Supplies the rows of a {@link BulkLoadStatement}. Each call to one of the open methods starts a new pass over
+     * the underlying data.
+     */
+    public interface RowSupplier {
+        /**
+         * Opens the rows as the column values to load. All rows contain the same columns in the same order.
+         */
+        RowSource openRows() throws DatabaseException;
+
+        /**
+         * Opens the rows as statements that can be turned into plain SQL by the
+         * {@link liquibase.sqlgenerator.SqlGeneratorFactory}.
+         */
+        Source<? extends SqlStatement> openStatements() throws DatabaseException;
+    }
+
+    /**
+     * A forward-only, closeable supply of rows.
+     */
+    public interface RowSource extends Closeable {
+        /**
+         * Returns the column values of the next row.
+         * @return the next row, or null if all rows have been returned
+         * @throws DatabaseException if the underlying data cannot be read
+         */
+        List<ColumnConfig> next() throws DatabaseException;
+    }
+}
@@ -84,13 +84,22 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
         } catch (SQLException e) {
             throw new DatabaseException(e);
         } finally {
-            for (Closeable closeable : closeables) {
-                StreamUtil.closeQuietly(closeable);
-            }
+            closeLobStreams();
             JdbcUtils.closeStatement(stmt);
         }
     }
 
+    /**
+     * Closes the BLOB/CLOB streams that were opened while attaching parameters. Must only be called once the
+     * statement(s) using them have been executed.
+     */
+    protected void closeLobStreams() {
+        for (Closeable closeable : closeables) {
+            StreamUtil.closeQuietly(closeable);
+        }
+        closeables.clear();
+    }
+
     protected void executePreparedStatement(PreparedStatement stmt) throws SQLException {
         stmt.execute();
     }
@@ -0,0 +1,98 @@
+package liquibase.statement;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Sends the rows bound into a {@link PreparedStatement} to the database in JDBC batches of a fixed size, and
+ * optionally commits after a fixed number of rows. The duration of every batch is logged so the batch size can be
+ * tuned against the transaction size.
+ */
+class PreparedStatementBatcher {
+
+    private static final Logger LOG = LogService.getLog(PreparedStatementBatcher.class);
+
+    private final Database database;
+    private final PreparedStatement stmt;
+    private final int batchSize;
+    private final int commitEvery;
+
+    private int rowsInBatch;
+    private int rowsSinceCommit;
+    private int batchCount;
+    private long totalRows;
+    private long totalMillis;
+
+    /**
+     * @param database the database to commit on
+     * @param stmt the statement the rows are bound into
+     * @param batchSize the maximum number of rows per JDBC batch
+     * @param commitEvery the number of rows after which to commit, or 0 to never commit
+     */
+    PreparedStatementBatcher(Database database, PreparedStatement stmt, int batchSize, int commitEvery) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (commitEvery < 0) {
+            throw new IllegalArgumentException("commitEvery must not be negative");
+        }
+        this.database = database;
+        this.stmt = stmt;
+        this.batchSize = batchSize;
+        this.commitEvery = commitEvery;
+    }
+
+    /**
+     * Adds the currently bound parameters as a row to the batch, and executes the batch if it is full.
+     * @return true if a batch was executed
+     */
+    boolean addRow() throws SQLException, DatabaseException {
+        stmt.addBatch();
+        rowsInBatch++;
+        rowsSinceCommit++;
+        if ((rowsInBatch == batchSize) || (rowsSinceCommit == commitEvery)) {
+            executeBatch();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Executes the remaining rows, if any, and logs the totals.
+     */
+    void finish() throws SQLException, DatabaseException {
+        if (rowsInBatch > 0) {
+            executeBatch();
+        }
+        LOG.info(LogType.LOG, String.format("Executing JDBC DML batches was successful. %d rows were executed in " +
+            "%d batches of up to %d rows in %d ms.", totalRows, batchCount, batchSize, totalMillis));
+    }
+
+    private void executeBatch() throws SQLException, DatabaseException {
+        long startTime = System.currentTimeMillis();
+        int[] updateCounts = stmt.executeBatch();
+        long batchMillis = System.currentTimeMillis() - startTime;
+
+        batchCount++;
+        totalRows += rowsInBatch;
+        totalMillis += batchMillis;
+        LOG.info(LogType.LOG, String.format("Executed JDBC DML batch %d: %d rows in %d ms (%d rows total)",
+            batchCount, updateCounts.length, batchMillis, totalRows));
+        rowsInBatch = 0;
+
+        if ((commitEvery > 0) && (rowsSinceCommit >= commitEvery)) {
+            startTime = System.currentTimeMillis();
+            database.commit();
+            long commitMillis = System.currentTimeMillis() - startTime;
+            totalMillis += commitMillis;
+            LOG.info(LogType.LOG, String.format("Committed after %d rows in %d ms", totalRows, commitMillis));
+            rowsSinceCommit = 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package liquibase.statement;
+
+import liquibase.change.ColumnConfig;
+import liquibase.change.core.LoadDataColumnConfig;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.logging.LogService;
+import liquibase.logging.LogType;
+import liquibase.logging.Logger;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.JdbcUtils;
+import liquibase.util.StreamUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Constant-memory variant of {@link BatchDmlExecutablePreparedStatement}. Instead of collecting every row up front,
+ * the rows are pulled from a {@link RowSupplier} while the statement executes, bound into a single reused
+ * {@link PreparedStatement} and sent to the database in JDBC batches of a fixed size. Only one batch worth of rows is
+ * ever held in memory, regardless of the size of the underlying data.
+ * <p>
+ * When the statement is not executed against a database (e.g. updateSQL), {@link #openStatements()} supplies plain
+ * statements for the same rows so they can be written out one at a time.
+ */
+public class StreamingBatchDmlExecutablePreparedStatement extends ExecutablePreparedStatementBase
+        implements StreamingSqlStatement {
+
+    private final Logger LOG = LogService.getLog(getClass());
+
+    private final RowSupplier rowSupplier;
+    private final int batchSize;
+    private final int commitEvery;
+
+    /**
+     * @param batchSize the maximum number of rows per JDBC batch
+     * @param commitEvery the number of rows after which to commit, or 0 to leave committing to the changeSet
+     */
+    public StreamingBatchDmlExecutablePreparedStatement(
+            Database database, String catalogName, String schemaName, String tableName,
+            List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
+            RowSupplier rowSupplier, int batchSize, int commitEvery) {
+        super(database, catalogName, schemaName, tableName, new ArrayList<ColumnConfig>(columns), changeSet,
+            resourceAccessor);
+        this.rowSupplier = rowSupplier;
+        this.batchSize = batchSize;
+        this.commitEvery = commitEvery;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitEvery() {
+        return commitEvery;
+    }
+
+    @Override
+    public Source<? extends SqlStatement> openStatements() throws DatabaseException {
+        return rowSupplier.openStatements();
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        Source<? extends ExecutablePreparedStatementBase> rows = rowSupplier.openPreparedStatements();
+        PreparedStatement stmt = null;
+        try {
+            ExecutablePreparedStatementBase row = rows.next();
+            if (row == null) {
+                return;
+            }
+
+            // By convention, all of the rows are the same except the bind values. So it is sufficient to simply
+            // generate the SQL from the first row.
+            String sql = row.generateSql(new ArrayList<ColumnConfig>(row.getColumns().size()));
+            LOG.info(LogType.WRITE_SQL, sql);
+            stmt = factory.create(sql);
+
+            PreparedStatementBatcher batcher = new PreparedStatementBatcher(database, stmt, batchSize, commitEvery);
+            while (row != null) {
+                attachParams(row.getColumns(), stmt);
+                if (batcher.addRow()) {
+                    // the LOB streams of the batch have been consumed, do not keep them open until the end
+                    closeLobStreams();
+                }
+                row = rows.next();
+            }
+            batcher.finish();
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        } finally {
+            StreamUtil.closeQuietly(rows);
+            closeLobStreams();
+            JdbcUtils.closeStatement(stmt);
+        }
+    }
+
+    /**
+     * Returns the parameterised INSERT the batches execute, which is generated from the first row. Returns null if
+     * there are no rows.
+     */
+    @Override
+    protected String generateSql(List<ColumnConfig> cols) {
+        Source<? extends ExecutablePreparedStatementBase> rows = null;
+        try {
+            rows = rowSupplier.openPreparedStatements();
+            ExecutablePreparedStatementBase row = rows.next();
+            return (row == null) ? null : row.generateSql(cols);
+        } catch (DatabaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        } finally {
+            StreamUtil.closeQuietly(rows);
+        }
+    }
+
+    @Override
+    public boolean continueOnError() {
+        return false;
+    }
+
+    /**
+     * Supplies the rows of a {@link StreamingBatchDmlExecutablePreparedStatement}. Each call to one of the open
+     * methods starts a new pass over the underlying data.
+     */
+    public interface RowSupplier {
+        /**
+         * Opens the rows as prepared statements which all generate the same SQL and only differ in their bind values.
+         */
+        Source<? extends ExecutablePreparedStatementBase> openPreparedStatements() throws DatabaseException;
+
+        /**
+         * Opens the rows as statements that can be turned into plain SQL by the
+         * {@link liquibase.sqlgenerator.SqlGeneratorFactory}.
+         */
+        Source<? extends SqlStatement> openStatements() throws DatabaseException;
+    }
+}
@@ -0,0 +1,34 @@
+package liquibase.statement;
+
+import liquibase.exception.DatabaseException;
+
+import java.io.Closeable;
+
+/**
+ * A statement that stands for a potentially very large number of individual statements. The individual statements
+ * are created one at a time while they are being read from a {@link Source}, so they never need to be held in
+ * memory all at once. Executors that do not run statements against the database (e.g.
+ * {@link liquibase.executor.LoggingExecutor}) output the individual statements instead of this one.
+ */
+public interface StreamingSqlStatement extends SqlStatement {
+
+    /**
+     * Opens a new pass over the individual statements. The caller is responsible for closing the returned source.
+     * @return a Source of the individual statements
+     * @throws DatabaseException if the underlying data cannot be opened
+     */
+    Source<? extends SqlStatement> openStatements() throws DatabaseException;
+
+    /**
+     * A forward-only, closeable supply of statements.
+     * @param <T> the type of statements returned
+     */
+    interface Source<T extends SqlStatement> extends Closeable {
+        /**
+         * Returns the next statement.
+         * @return the next statement, or null if all statements have been returned
+         * @throws DatabaseException if the underlying data cannot be read
+         */
+        T next() throws DatabaseException;
+    }
+}
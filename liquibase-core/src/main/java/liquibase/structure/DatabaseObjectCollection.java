@@ -90,6 +90,31 @@ public class DatabaseObjectCollection implements LiquibaseSerializable {
         }
     }
 
+    /**
+     * Removes the given object, not objects that are only the same as it.
+     */
+    public void remove(DatabaseObject databaseObject) {
+        if (databaseObject == null) {
+            return;
+        }
+        Map<String, Set<DatabaseObject>> collectionMap = cache.get(databaseObject.getClass());
+        if (collectionMap == null) {
+            return;
+        }
+
+        Iterator<Set<DatabaseObject>> collections = collectionMap.values().iterator();
+        while (collections.hasNext()) {
+            Set<DatabaseObject> collection = collections.next();
+            collection.removeIf(object -> object == databaseObject);
+            if (collection.isEmpty()) {
+                collections.remove();
+            }
+        }
+        if (collectionMap.isEmpty()) {
+            cache.remove(databaseObject.getClass());
+        }
+    }
+
     /**
      * Returns the object described by the passed example if it is already included in this snapshot.
      */
@@ -4,6 +4,9 @@ import liquibase.configuration.GlobalConfiguration;
 import liquibase.configuration.LiquibaseConfiguration;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public class FileUtil {
     
@@ -69,4 +72,39 @@ public class FileUtil {
             StreamUtil.copy(new ByteArrayInputStream(contents.getBytes(LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).getOutputEncoding())), output);
         }
     }
+
+    /**
+     * Writes the file through a temporary file in the same directory that is then moved over it, so readers see
+     * either the previous or the new contents but never a partially written file.
+     */
+    public static void writeAtomically(File file, ContentWriter contentWriter) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory.getAbsolutePath());
+        }
+
+        File tempFile = File.createTempFile(file.getName() + ".", ".tmp", directory);
+        try {
+            try (OutputStream output = new FileOutputStream(tempFile)) {
+                contentWriter.write(output);
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes the contents of a file, see {@link #writeAtomically(File, ContentWriter)}.
+     */
+    public interface ContentWriter {
+        void write(OutputStream output) throws IOException;
+    }
 }
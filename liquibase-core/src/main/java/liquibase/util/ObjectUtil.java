@@ -10,6 +10,7 @@ import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Various methods that make it easier to read and write object properties using the propertyName, instead of having
@@ -20,7 +21,7 @@ public class ObjectUtil {
     /**
      * Cache for the methods of classes that we have been queried about so far.
      */
-    private static Map<Class<?>, Method[]> methodCache = new HashMap<>();
+    private static Map<Class<?>, Method[]> methodCache = new ConcurrentHashMap<>();
 
     /**
      * For a given object, try to find the appropriate reader method and return the value, if set
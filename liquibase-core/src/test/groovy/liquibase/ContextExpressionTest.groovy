@@ -183,4 +183,19 @@ class ContextExpressionTest extends Specification {
         "test1, test2" | false
 
     }
+
+    def "ContextMatcher gives the same results as matches and evaluates each expression once"() {
+        when:
+        def expressions = ["a", "b", "a and b or c", "!a and b or c", "a and (b or c)", "a, d", null].collect { new ContextExpression(it) }
+        def runtimeContexts = new Contexts("a,c")
+        def matcher = new ContextMatcher(runtimeContexts)
+
+        then:
+        expressions.collect { matcher.matches(it) } == expressions.collect { it.matches(runtimeContexts) }
+        expressions.collect { matcher.matches(it) } == expressions.collect { it.matches(runtimeContexts) }
+        matcher.matchesAll(expressions.subList(0, 1))
+        !matcher.matchesAll(expressions)
+        matcher.results.size() == 5
+        new ContextMatcher(new Contexts()).matches(new ContextExpression("b"))
+    }
 }
@@ -191,4 +191,16 @@ class LabelExpressionTest extends Specification {
         "test1, test2" | false
 
     }
+
+    def "LabelMatcher gives the same results as matches"() {
+        when:
+        def labelExpression = new LabelExpression("a and !b or c")
+        def labels = ["a", "a,b", "a,d", "c", "d", "A,D", null].collect { new Labels(it) }
+        def matcher = new LabelMatcher(labelExpression)
+
+        then:
+        labels.collect { matcher.matches(it) } == labels.collect { labelExpression.matches(it) }
+        labels.collect { matcher.matches(it) } == labels.collect { labelExpression.matches(it) }
+        matcher.results.size() == 5
+    }
 }
@@ -2,6 +2,11 @@ package liquibase
 
 import spock.lang.Specification
 
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
 class ScopeTest extends Specification {
 
     def "getCurrentScope() creates root scope"() {
@@ -46,4 +51,32 @@ class ScopeTest extends Specification {
         })
     }
 
+    def "getSingleton creates one instance when called from many threads"() {
+        when:
+        def threads = 8
+        def start = new CountDownLatch(1)
+        def pool = Executors.newFixedThreadPool(threads)
+        def futures = (1..threads).collect {
+            pool.submit({
+                start.await()
+                Scope.currentScope.getSingleton(CountingSingleton)
+            } as Callable)
+        }
+        start.countDown()
+        def singletons = futures.collect { it.get() }
+        pool.shutdown()
+
+        then:
+        singletons.unique { System.identityHashCode(it) }.size() == 1
+        CountingSingleton.created.get() == 1
+    }
+
+    static class CountingSingleton implements SingletonObject {
+        static final AtomicInteger created = new AtomicInteger()
+
+        protected CountingSingleton() {
+            created.incrementAndGet()
+            Thread.sleep(50)
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package liquibase.bulkload.core
+
+import liquibase.change.ColumnConfig
+import liquibase.database.core.H2Database
+import liquibase.database.core.PostgresDatabase
+import liquibase.exception.DatabaseException
+import liquibase.plugin.Plugin
+import liquibase.statement.BulkLoadStatement
+import liquibase.statement.DatabaseFunction
+import spock.lang.Specification
+
+class PostgresCopyBulkLoaderTest extends Specification {
+
+    def "does not apply without a PostgreSQL JDBC connection"() {
+        expect:
+        new PostgresCopyBulkLoader().getPriority(new PostgresDatabase()) == Plugin.PRIORITY_NOT_APPLICABLE
+        new PostgresCopyBulkLoader().getPriority(new H2Database()) == Plugin.PRIORITY_NOT_APPLICABLE
+    }
+
+    def "generateCopySql lists the columns of the first row"() {
+        when:
+        def statement = new BulkLoadStatement(null, null, null, "public", "person", null)
+        def row = [new ColumnConfig().setName("id"), new ColumnConfig().setName("name")]
+
+        then:
+        new PostgresCopyBulkLoader().generateCopySql(statement, row, new PostgresDatabase()) ==
+                "COPY public.person (id, name) FROM STDIN WITH CSV"
+    }
+
+    def "appendCsvRow quotes values and leaves NULL empty"() {
+        when:
+        def statement = new BulkLoadStatement(null, null, null, null, "person", null)
+        def row = [
+                new ColumnConfig().setName("name").setValue("say \"hi\", bob"),
+                new ColumnConfig().setName("empty").setValue(""),
+                new ColumnConfig().setName("missing"),
+                new ColumnConfig().setName("active").setValueBoolean(true),
+                new ColumnConfig().setName("amount").setValueNumeric(new BigDecimal("1E+3")),
+        ]
+        def csv = new StringBuilder()
+        new PostgresCopyBulkLoader().appendCsvRow(statement, row, csv)
+
+        then:
+        csv.toString() == '"say ""hi"", bob","",,"true","1000"\n'
+    }
+
+    def "appendCsvRow rejects computed values"() {
+        when:
+        def statement = new BulkLoadStatement(null, null, null, null, "person", null)
+        new PostgresCopyBulkLoader().appendCsvRow(statement,
+                [new ColumnConfig().setName("created").setValueComputed(new DatabaseFunction("NOW()"))],
+                new StringBuilder())
+
+        then:
+        def e = thrown(DatabaseException)
+        e.message.contains("created")
+    }
+}
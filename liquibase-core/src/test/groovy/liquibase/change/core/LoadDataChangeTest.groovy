@@ -1,23 +1,44 @@
 package liquibase.change.core
 
+import liquibase.Scope
+import liquibase.bulkload.BulkLoader
+import liquibase.bulkload.BulkLoaderFactory
 import liquibase.change.ChangeStatus
+import liquibase.change.ColumnConfig
 import liquibase.change.StandardChangeTest
 import liquibase.changelog.ChangeSet
+import liquibase.configuration.GlobalConfiguration
+import liquibase.configuration.LiquibaseConfiguration
+import liquibase.database.Database
 import liquibase.database.DatabaseFactory
+import liquibase.database.core.H2Database
 import liquibase.database.core.MSSQLDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.executor.ExecutorService
+import liquibase.executor.LoggingExecutor
+import liquibase.executor.jvm.JdbcExecutor
+import liquibase.exception.DatabaseException
 import liquibase.parser.core.ParsedNodeException
 import liquibase.resource.ClassLoaderResourceAccessor
 import liquibase.resource.ResourceAccessor
+import liquibase.sdk.executor.MockExecutor
+import liquibase.sdk.resource.MockResourceAccessor
 import liquibase.database.core.MockDatabase
 import liquibase.snapshot.MockSnapshotGeneratorFactory
 import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.BulkLoadStatement
 import liquibase.statement.SqlStatement
+import liquibase.statement.StreamingBatchDmlExecutablePreparedStatement
+import liquibase.statement.core.RawSqlStatement
 import liquibase.statement.core.InsertSetStatement
 import liquibase.statement.core.InsertStatement
 import liquibase.test.JUnitResourceAccessor
 import liquibase.test.TestContext
 import spock.lang.Unroll
 
+import java.sql.DriverManager
+
 public class LoadDataChangeTest extends StandardChangeTest {
 
     MSSQLDatabase mssqlDb;
@@ -401,4 +422,335 @@ public class LoadDataChangeTest extends StandardChangeTest {
         then:
         assert md5sum1.equals(md5sum2)
     }
+
+    def "streaming writes one INSERT per line in SQL mode"() {
+        when:
+        def writer = new StringWriter()
+        ExecutorService.getInstance().setExecutor(mockDb, new LoggingExecutor(null, writer, mockDb))
+
+        LoadDataChange change = new LoadDataChange();
+        change.setSchemaName("SCHEMA_NAME");
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setStreaming(true)
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        SqlStatement[] statements = change.generateStatements(mockDb)
+
+        then:
+        statements.length == 1
+        statements[0] instanceof StreamingBatchDmlExecutablePreparedStatement
+        writer.toString() == ""
+
+        when:
+        ExecutorService.getInstance().getExecutor(mockDb).execute(statements[0])
+
+        then:
+        writer.toString().contains("INSERT INTO SCHEMA_NAME.TABLE_NAME (name, username) VALUES ('Bob Johnson', 'bjohnson')")
+        writer.toString().contains("INSERT INTO SCHEMA_NAME.TABLE_NAME (name, username) VALUES ('John Doe', 'jdoe')")
+
+        cleanup:
+        ExecutorService.getInstance().reset()
+    }
+
+    @Unroll("#featureName: #database")
+    def "SQL mode generates the INSERT statements while writing them out"() {
+        when:
+        def csv = "name,username\n" + (1..7).collect { "name$it,user$it" }.join("\n")
+        def resourceAccessor = new MockResourceAccessor(["com/example/data.csv": csv])
+        def output = { Boolean streaming ->
+            def writer = new StringWriter()
+            ExecutorService.getInstance().setExecutor(database, new LoggingExecutor(null, writer, database))
+            LoadDataChange change = new LoadDataChange() {
+                @Override
+                protected InsertSetStatement createStatementSet(String catalogName, String schemaName, String tableName) {
+                    return new InsertSetStatement(catalogName, schemaName, tableName, 2)
+                }
+            }
+            change.setTableName("TABLE_NAME")
+            change.setFile("com/example/data.csv")
+            change.setStreaming(streaming)
+            change.setResourceAccessor(resourceAccessor)
+            for (SqlStatement statement : change.generateStatements(database)) {
+                ExecutorService.getInstance().getExecutor(database).execute(statement)
+            }
+            return writer.toString()
+        }
+        def streamed = output(null)
+
+        then:
+        streamed == output(false)
+        streamed.count("INSERT INTO") == inserts
+        streamed.contains("user7")
+
+        cleanup:
+        ExecutorService.getInstance().reset()
+
+        where:
+        database            | inserts
+        new MockDatabase()  | 7
+        new MSSQLDatabase() | 3
+    }
+
+    def "SQL mode skips the whole change on an invalid line when failOnError is false"() {
+        when:
+        def database = new MockDatabase()
+        def writer = new StringWriter()
+        ExecutorService.getInstance().setExecutor(database, new LoggingExecutor(null, writer, database))
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/changelog.xml", null, null, null)
+        changeSet.setFailOnError(false)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setTableName("TABLE_NAME")
+        change.setFile("com/example/data.csv")
+        change.setChangeSet(changeSet)
+        change.setResourceAccessor(new MockResourceAccessor(["com/example/data.csv": "name,username\nname1,user1\nname2,user2,extra"]))
+        SqlStatement[] statements = change.generateStatements(database)
+        for (SqlStatement statement : statements) {
+            ExecutorService.getInstance().getExecutor(database).execute(statement)
+        }
+
+        then:
+        statements.length == 0
+        writer.toString() == ""
+
+        cleanup:
+        ExecutorService.getInstance().reset()
+    }
+
+    def "streaming loads all lines in JDBC batches"() {
+        when:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:loadDataStreaming", "sa", ""))
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+        def executor = ExecutorService.getInstance().getExecutor(database)
+        executor.execute(new RawSqlStatement("CREATE TABLE TABLE_NAME (name VARCHAR(50), username VARCHAR(50))"))
+
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setStreaming(true)
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        SqlStatement[] statements = change.generateStatements(database)
+
+        then:
+        statements.length == 1
+        statements[0] instanceof StreamingBatchDmlExecutablePreparedStatement
+        statements[0].generateSql([]) == "INSERT INTO PUBLIC.TABLE_NAME(name, username) VALUES(?, ?)"
+
+        when:
+        executor.execute(statements[0])
+
+        then:
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_NAME")) == 2
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_NAME WHERE username = 'jdoe'")) == 1
+
+        cleanup:
+        ExecutorService.getInstance().reset()
+        database?.close()
+    }
+
+    def "bulk loader is used when it is enabled and supports the database"() {
+        when:
+        def bulkLoaderFactory = Scope.getCurrentScope().getSingleton(BulkLoaderFactory.class)
+        def bulkLoader = new StandInBulkLoader()
+        bulkLoaderFactory.register(bulkLoader)
+
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:loadDataBulk", "sa", ""))
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+        def executor = ExecutorService.getInstance().getExecutor(database)
+        executor.execute(new RawSqlStatement("CREATE TABLE TABLE_NAME (name VARCHAR(50), username VARCHAR(50))"))
+
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        then:
+        !(change.generateStatements(database)[0] instanceof BulkLoadStatement)
+
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setLoadDataUseBulkLoader(true)
+        SqlStatement[] statements = change.generateStatements(database)
+
+        then:
+        statements.length == 1
+        statements[0] instanceof BulkLoadStatement
+        ((BulkLoadStatement) statements[0]).getBulkLoader() == bulkLoader
+
+        when:
+        executor.execute(statements[0])
+
+        then:
+        bulkLoader.rowsLoaded == 2
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_NAME")) == 2
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_NAME WHERE username = 'jdoe'")) == 1
+
+        cleanup:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setLoadDataUseBulkLoader(false)
+        bulkLoaderFactory?.unregister(bulkLoader)
+        ExecutorService.getInstance().reset()
+        database?.close()
+    }
+
+    def "bulk loader is not used for prepared statements or generated SQL"() {
+        when:
+        def bulkLoaderFactory = Scope.getCurrentScope().getSingleton(BulkLoaderFactory.class)
+        def bulkLoader = new StandInBulkLoader()
+        bulkLoaderFactory.register(bulkLoader)
+
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:loadDataNoBulk", "sa", ""))
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setLoadDataUseBulkLoader(true)
+
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setUsePreparedStatements(true)
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        then:
+        !(change.generateStatements(database)[0] instanceof BulkLoadStatement)
+
+        when:
+        change.setUsePreparedStatements(null)
+        ExecutorService.getInstance().setExecutor(database, new LoggingExecutor(null, new StringWriter(), database))
+
+        then:
+        !(change.generateStatements(database)[0] instanceof BulkLoadStatement)
+
+        cleanup:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class).setLoadDataUseBulkLoader(false)
+        bulkLoaderFactory?.unregister(bulkLoader)
+        ExecutorService.getInstance().reset()
+        database?.close()
+    }
+
+    @Unroll("batchSize #batchSize and commitEvery #commitEvery load all lines with streaming #streaming")
+    def "batchSize and commitEvery load all lines"() {
+        when:
+        def connection = new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:loadDataBatches", "sa", ""))
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection)
+        def executor = ExecutorService.getInstance().getExecutor(database)
+        executor.execute(new RawSqlStatement("CREATE TABLE TABLE_NAME (name VARCHAR(50), username VARCHAR(50))"))
+
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setStreaming(streaming)
+        change.setBatchSize(batchSize)
+        change.setCommitEvery(commitEvery)
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        for (SqlStatement statement : change.generateStatements(database)) {
+            executor.execute(statement)
+        }
+
+        then:
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_NAME")) == 2
+
+        cleanup:
+        executor?.execute(new RawSqlStatement("DROP TABLE TABLE_NAME"))
+        ExecutorService.getInstance().reset()
+        database?.close()
+
+        where:
+        streaming | batchSize | commitEvery
+        false     | 1         | null
+        false     | 1         | 1
+        false     | null      | 2
+        true      | 1         | null
+        true      | 1         | 1
+        true      | 5         | 1
+    }
+
+    def "commitEvery commits between plain insert statements only when they are executed"() {
+        when:
+        def commits = 0
+        def database = new MockDatabase() {
+            @Override
+            void commit() {
+                commits++
+            }
+        }
+        def executor = new MockExecutor()
+        ExecutorService.getInstance().setExecutor(database, executor)
+
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setCommitEvery(1)
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        SqlStatement[] statements = change.generateStatements(database)
+        def sql = SqlGeneratorFactory.getInstance().generateSql(statements, database)
+
+        then:
+        statements.length == 1
+        sql.length == 2
+        commits == 0
+
+        when:
+        statements[0].execute(null)
+
+        then:
+        executor.getRanSql().count("INSERT INTO") == 2
+        commits == 1
+
+        cleanup:
+        ExecutorService.getInstance().reset()
+    }
+
+    def "validate checks batchSize and commitEvery"() {
+        when:
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setBatchSize(batchSize)
+        change.setCommitEvery(commitEvery)
+
+        then:
+        change.validate(mockDb).getErrorMessages() == expected
+
+        where:
+        batchSize | commitEvery | expected
+        null      | null        | []
+        10        | 100         | []
+        0         | null        | ["batchSize must be at least 1"]
+        null      | -1          | ["commitEvery must not be negative"]
+    }
+}
+
+/**
+ * Loads the rows with plain INSERT statements, so bulk loading can be tested against H2.
+ */
+class StandInBulkLoader implements BulkLoader {
+    long rowsLoaded
+
+    @Override
+    int getPriority(Database database) {
+        return database instanceof H2Database ? PRIORITY_SPECIALIZED : PRIORITY_NOT_APPLICABLE
+    }
+
+    @Override
+    long load(BulkLoadStatement statement, Database database) throws DatabaseException {
+        def rows = statement.openRows()
+        try {
+            def executor = new JdbcExecutor()
+            executor.setDatabase(database)
+            List<ColumnConfig> row
+            while ((row = rows.next()) != null) {
+                def insert = new InsertStatement(statement.getCatalogName(), statement.getSchemaName(),
+                        statement.getTableName())
+                for (ColumnConfig column : row) {
+                    insert.addColumnValue(column.getName(), column.getValueObject())
+                }
+                executor.execute(insert)
+                rowsLoaded++
+            }
+            return rowsLoaded
+        } finally {
+            rows.close()
+        }
+    }
 }
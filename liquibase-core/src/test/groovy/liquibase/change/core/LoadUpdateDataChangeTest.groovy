@@ -5,8 +5,11 @@ import liquibase.snapshot.MockSnapshotGeneratorFactory
 import liquibase.snapshot.SnapshotGeneratorFactory
 import liquibase.change.StandardChangeTest;
 import liquibase.database.core.MockDatabase
+import liquibase.executor.ExecutorService
+import liquibase.executor.LoggingExecutor
 import liquibase.resource.ClassLoaderResourceAccessor;
 import liquibase.statement.SqlStatement
+import liquibase.statement.core.DeleteStatement
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.test.JUnitResourceAccessor
 import liquibase.database.core.MSSQLDatabase
@@ -61,6 +64,31 @@ public class LoadUpdateDataChangeTest extends StandardChangeTest {
         assert !statements[0].getOnlyUpdate()
     }
 
+    def "rollback statements are the same when the SQL is only written out"() throws Exception {
+        when:
+        MockDatabase database = new MockDatabase();
+
+        LoadUpdateDataChange change = new LoadUpdateDataChange();
+        change.setSchemaName("SCHEMA_NAME");
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1.csv");
+        change.setPrimaryKey("name");
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+
+        SqlStatement[] executed = change.generateRollbackStatements(database);
+        ExecutorService.getInstance().setExecutor(database, new LoggingExecutor(null, new StringWriter(), database))
+        SqlStatement[] written = change.generateRollbackStatements(database);
+
+        then:
+        executed.length == 2
+        written.length == 2
+        written.every { it instanceof DeleteStatement }
+        written*.getWhere() == executed*.getWhere()
+
+        cleanup:
+        ExecutorService.getInstance().reset()
+    }
+
     def "loadUpdate generates InsertOrUpdateStatements with onlyUpdate"() throws Exception {
         when:
         MockDatabase database = new MockDatabase();
@@ -0,0 +1,83 @@
+package liquibase.changelog
+
+import liquibase.change.CheckSum
+import liquibase.change.core.RawSQLChange
+import liquibase.exception.UnexpectedLiquibaseException
+import spock.lang.Specification
+
+import java.util.concurrent.ForkJoinPool
+
+class ChangeSetCheckSumGeneratorTest extends Specification {
+
+    ForkJoinPool pool = new ForkJoinPool(4)
+
+    def cleanup() {
+        pool.shutdown()
+    }
+
+    def "generateCheckSums computes the same checksums as generating them one by one"() {
+        when:
+        def changeSets = createChangeSets(200)
+        def expected = createChangeSets(200)*.generateCheckSum()
+        new ChangeSetCheckSumGenerator(pool).generateCheckSums(changeSets)
+
+        then:
+        changeSets*.generateCheckSum() == expected
+    }
+
+    def "generateCheckSums rethrows failures"() {
+        when:
+        def changeSets = createChangeSets(100)
+        changeSets[50].addChange(new FailingChange())
+        new ChangeSetCheckSumGenerator(pool).generateCheckSums(changeSets)
+
+        then:
+        thrown(UnexpectedLiquibaseException)
+    }
+
+    def "precomputeCheckSums ignores failures and computes the other checksums"() {
+        when:
+        def changeSets = createChangeSets(100)
+        changeSets[50].addChange(new FailingChange())
+        def expected = createChangeSets(100)*.generateCheckSum()
+        new ChangeSetCheckSumGenerator(pool).precomputeCheckSums(changeSets)
+
+        then:
+        changeSets[49].generateCheckSum() == expected[49]
+        changeSets[51].generateCheckSum() == expected[51]
+
+        when:
+        changeSets[50].generateCheckSum()
+
+        then:
+        thrown(UnexpectedLiquibaseException)
+    }
+
+    def "the generator reuses its pool"() {
+        when:
+        def generator = new ChangeSetCheckSumGenerator(pool)
+        generator.generateCheckSums(createChangeSets(100))
+        generator.generateCheckSums(createChangeSets(100))
+
+        then:
+        !pool.isShutdown()
+        pool.stealCount > 0 || pool.poolSize > 0
+    }
+
+    private static List<ChangeSet> createChangeSets(int count) {
+        def changeSets = []
+        for (int i = 0; i < count; i++) {
+            def changeSet = new ChangeSet("id" + i, "test", false, false, "com/example/checksums.xml", null, null, null)
+            changeSet.addChange(new RawSQLChange("CREATE TABLE TABLE_" + i + " (id INT)"))
+            changeSets << changeSet
+        }
+        return changeSets
+    }
+
+    private static class FailingChange extends RawSQLChange {
+        @Override
+        CheckSum generateCheckSum() {
+            throw new UnexpectedLiquibaseException("Cannot read the file")
+        }
+    }
+}
@@ -128,7 +128,7 @@ public class ChangeSetTest extends Specification {
         def fields = new ChangeSet(new DatabaseChangeLog()).getSerializableFields()
         def testValue = new HashMap()
         for (param in fields) {
-            if (param in ["runAlways", "runOnChange", "failOnError"]) {
+            if (param in ["runAlways", "runOnChange", "failOnError", "parallel"]) {
                 testValue[param] = "true"
             } else if (param == "context") {
                 testValue[param] = "test or value"
@@ -0,0 +1,104 @@
+package liquibase.changelog
+
+import liquibase.change.core.SQLFileChange
+import liquibase.configuration.GlobalConfiguration
+import liquibase.configuration.LiquibaseConfiguration
+import liquibase.parser.core.formattedsql.FormattedSqlChangeLogParser
+import liquibase.resource.FileSystemResourceAccessor
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class CheckSumCacheTest extends Specification {
+
+    File baseDir
+    File cacheDir
+
+    def setup() {
+        baseDir = Files.createTempDirectory("changelogs").toFile()
+        cacheDir = Files.createTempDirectory("checksum-cache").toFile()
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration)
+                .setCheckSumCacheEnabled(true)
+                .setCheckSumCacheDirectory(cacheDir.absolutePath)
+        CheckSumCache.getInstance().reset()
+    }
+
+    def cleanup() {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration)
+                .setCheckSumCacheEnabled(false)
+        CheckSumCache.getInstance().reset()
+        baseDir.deleteDir()
+        cacheDir.deleteDir()
+    }
+
+    def "checksums of unchanged files are read from the cache"() {
+        when:
+        writeChangeLog("CREATE TABLE a (id INT);")
+        def computed = parse().changeSets[0].generateCheckSum()
+        CheckSumCache.getInstance().save()
+        def cacheFiles = new File(cacheDir, "checksums").listFiles()
+
+        then:
+        cacheFiles.length == 1
+        cacheFiles[0].text.contains("1\\:\\:test\\:\\:\\:\\:\\:\\:=" + computed.toString().replace(":", "\\:"))
+
+        when: "the cached value is used instead of computing it again"
+        cacheFiles[0].text = cacheFiles[0].text.replace(computed.toString().replace(":", "\\:"), "8\\:cached")
+        CheckSumCache.getInstance().reset()
+
+        then:
+        parse().changeSets[0].generateCheckSum().toString() == "8:cached"
+
+        when: "changing the file invalidates its entries"
+        writeChangeLog("CREATE TABLE b (id INT);")
+
+        then:
+        parse().changeSets[0].generateCheckSum().toString() != "8:cached"
+    }
+
+    def "changeLog parameters referenced by the file are part of the source"() {
+        when:
+        writeChangeLog('CREATE TABLE ${tableName} (id INT);')
+        def first = parse([tableName: "a"]).changeSets[0].generateCheckSum()
+        def second = parse([tableName: "b"]).changeSets[0].generateCheckSum()
+
+        then:
+        first != second
+        parse([tableName: "a"]).changeSets[0].generateCheckSum() == first
+    }
+
+    def "changeSets that only differ in dbms have their own entries"() {
+        when:
+        new File(baseDir, "changelog.sql").text = "--liquibase formatted sql\n\n" +
+                "--changeset test:1 dbms:h2\nCREATE TABLE a (id INT);\n\n" +
+                "--changeset test:1 dbms:oracle\nCREATE TABLE b (id INT);\n"
+        def computed = parse().changeSets*.generateCheckSum()
+        CheckSumCache.getInstance().save()
+        CheckSumCache.getInstance().reset()
+
+        then:
+        computed[0] != computed[1]
+        parse().changeSets*.generateCheckSum() == computed
+    }
+
+    def "changes that read other files are not cached"() {
+        when:
+        def changeLog = new DatabaseChangeLog("changelog.xml")
+        changeLog.setResourceAccessor(new FileSystemResourceAccessor(baseDir.absolutePath))
+        def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, changeLog)
+        changeSet.addChange(new SQLFileChange(path: "file.sql"))
+
+        then:
+        !CheckSumCache.getInstance().isCacheable(changeSet)
+    }
+
+    private void writeChangeLog(String sql) {
+        new File(baseDir, "changelog.sql").text = "--liquibase formatted sql\n\n--changeset test:1\n" + sql + "\n"
+    }
+
+    private DatabaseChangeLog parse(Map<String, String> parameters = [:]) {
+        def changeLogParameters = new ChangeLogParameters()
+        parameters.each { key, value -> changeLogParameters.set(key, value) }
+        return new FormattedSqlChangeLogParser().parse("changelog.sql", changeLogParameters, new FileSystemResourceAccessor(baseDir.absolutePath))
+    }
+}
@@ -3,6 +3,8 @@ package liquibase.changelog
 import liquibase.ContextExpression;
 import liquibase.change.core.CreateTableChange
 import liquibase.change.core.RawSQLChange
+import liquibase.configuration.GlobalConfiguration
+import liquibase.configuration.LiquibaseConfiguration
 import liquibase.exception.SetupException
 import liquibase.parser.core.ParsedNode
 import liquibase.precondition.core.OrPrecondition
@@ -220,6 +222,116 @@ create view sql_view as select * from sql_table;'''
                                                              "com/example/children/file3.sql"]
     }
 
+    def "includeAll parses files concurrently and keeps the declared order"() {
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(4)
+        def files = [:]
+        for (int i = 0; i < 30; i++) {
+            files[String.format("com/example/children/file%02d.xml", i)] = test1Xml.replace("person", "person" + i)
+        }
+        def resourceAccessor = new MockResourceAccessor(files)
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        rootChangeLog.getChangeLogParameters().set("loginUser", "testUser")
+        rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                .addChildren([include: [file: "com/example/children/file29.xml"]])
+                .addChildren([includeAll: [path: "com/example/children"]])
+                .addChildren([include: [file: "com/example/children/file00.xml"]])
+                , resourceAccessor)
+
+        then:
+        rootChangeLog.changeSets.size() == 32
+        rootChangeLog.changeSets.collect { ((CreateTableChange) it.changes[0]).tableName } ==
+                ["person29"] + (0..<30).collect { "person" + it } + ["person0"]
+        ((RunningAsPrecondition) ((PreconditionContainer) rootChangeLog.preconditions.nestedPreconditions[1]).nestedPreconditions[0]).username == "testUser"
+
+        cleanup:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(1)
+    }
+
+    def "errors of files parsed concurrently are thrown when the file is included"() {
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(4)
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/children/file1.xml": test1Xml,
+                "com/example/children/file2.xml": "<databaseChangeLog><invalid",
+                "com/example/children/file3.xml": test1Xml.replace("person", "person3"),
+        ])
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.includeAll("com/example/children", false, null, true, rootChangeLog.getStandardChangeLogComparator(), resourceAccessor, new ContextExpression())
+
+        then:
+        def e = thrown(SetupException)
+        e.message.contains("file2.xml")
+
+        cleanup:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(1)
+    }
+
+    def "included changelogs share the parse threads of the root changelog"() {
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(2)
+        def includeAllXml = { path ->
+            """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                    xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                    xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-3.4.xsd">
+                <includeAll path="$path"/>
+            </databaseChangeLog>""".toString()
+        }
+        def files = [
+                "com/example/a.xml": includeAllXml("com/example/a"),
+                "com/example/b.xml": includeAllXml("com/example/b"),
+        ]
+        for (int i = 0; i < 10; i++) {
+            files[String.format("com/example/a/file%02d.xml", i)] = test1Xml.replace("person", "a" + i)
+            files[String.format("com/example/b/file%02d.xml", i)] = test1Xml.replace("person", "b" + i)
+        }
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                .addChildren([include: [file: "com/example/a.xml"]])
+                .addChildren([include: [file: "com/example/b.xml"]])
+                , new MockResourceAccessor(files))
+
+        then:
+        rootChangeLog.changeSets.collect { ((CreateTableChange) it.changes[0]).tableName } ==
+                (0..<10).collect { "a" + it } + (0..<10).collect { "b" + it }
+        rootChangeLog.@parseExecutor.largestPoolSize == 2
+
+        cleanup:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(1)
+    }
+
+    def "includes are only parsed ahead once the properties of the changelog are set"() {
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(4)
+        def requestedPaths = Collections.synchronizedList([])
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/children/file1.xml": test1Xml,
+                "com/example/children/file2.xml": test1Xml.replace("person", "person2"),
+        ]) {
+            @Override
+            Set<InputStream> getResourcesAsStream(String path) throws IOException {
+                requestedPaths << path
+                return super.getResourcesAsStream(path)
+            }
+        }
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                .addChildren([property: [name: "dir", value: "com/example/children"]])
+                .addChildren([include: [file: "\${dir}/file1.xml"]])
+                .addChildren([include: [file: "\${dir}/file2.xml"]])
+                , resourceAccessor)
+
+        then:
+        rootChangeLog.changeSets.collect { ((CreateTableChange) it.changes[0]).tableName } == ["person", "person2"]
+        !requestedPaths.any { it.contains("\${") }
+
+        cleanup:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogParseThreads(1)
+    }
+
     @Unroll("#featureName: #changeSets")
     def "addChangeSet works with first/last combinations"() {
         when:
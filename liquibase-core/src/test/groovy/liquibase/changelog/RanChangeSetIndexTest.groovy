@@ -0,0 +1,70 @@
+package liquibase.changelog
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RanChangeSetIndexTest extends Specification {
+
+    @Unroll
+    def "createKey matches equivalent paths, ids and authors: #path"() {
+        expect:
+        RanChangeSetIndex.createKey(path, "Id1", "Author") == RanChangeSetIndex.createKey("com/example/changelog.xml", "id1", "AUTHOR")
+
+        where:
+        path << [
+                "com/example/changelog.xml",
+                "classpath:com/example/changelog.xml",
+                "com\\example\\changelog.xml",
+                "COM/Example/ChangeLog.XML",
+                "other/changelog.xml",
+        ]
+    }
+
+    def "createKey separates different values"() {
+        expect:
+        RanChangeSetIndex.createKey("a.xml", "1", "x") != RanChangeSetIndex.createKey("b.xml", "1", "x")
+        RanChangeSetIndex.createKey("a.xml", "1", "x") != RanChangeSetIndex.createKey("a.xml", "2", "x")
+        RanChangeSetIndex.createKey("a.xml", "1", "x") != RanChangeSetIndex.createKey("a.xml", "1", "y")
+        RanChangeSetIndex.createKey(null, null, null) == "::::"
+    }
+
+    def "get finds the ranChangeSet that is the same as the changeSet"() {
+        when:
+        def index = new RanChangeSetIndex([
+                ranChangeSet("com/example/other/changelog.xml", "1", "nvoxland"),
+                ranChangeSet("classpath:com\\example\\changelog.xml", "1", "nvoxland"),
+                ranChangeSet("com/example/changelog.xml", "2", "nvoxland"),
+        ])
+
+        then:
+        index.get(changeSet("com/example/changelog.xml", "1", "NVOXLAND")).changeLog == "classpath:com\\example\\changelog.xml"
+        index.get(changeSet("com/example/changelog.xml", "3", "nvoxland")) == null
+        index.getCandidates(changeSet("com/example/changelog.xml", "1", "nvoxland"))*.changeLog == ["com/example/other/changelog.xml", "classpath:com\\example\\changelog.xml"]
+    }
+
+    def "add and remove update the index"() {
+        when:
+        def index = new RanChangeSetIndex()
+        def ran = ranChangeSet("changelog.xml", "1", "nvoxland")
+        index.add(ran)
+
+        then:
+        index.get(changeSet("changelog.xml", "1", "nvoxland")) == ran
+
+        when:
+        def removed = index.remove(new RanChangeSet(changeSet("changelog.xml", "1", "nvoxland")))
+
+        then:
+        removed
+        index.get(changeSet("changelog.xml", "1", "nvoxland")) == null
+        !index.remove(ran)
+    }
+
+    private static RanChangeSet ranChangeSet(String path, String id, String author) {
+        return new RanChangeSet(path, id, author, null, new Date(), null, ChangeSet.ExecType.EXECUTED, null, null, null, null, null)
+    }
+
+    private static ChangeSet changeSet(String path, String id, String author) {
+        return new ChangeSet(id, author, false, false, path, null, null, null)
+    }
+}
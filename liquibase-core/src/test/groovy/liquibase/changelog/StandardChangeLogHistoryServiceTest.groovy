@@ -0,0 +1,59 @@
+package liquibase.changelog
+
+import liquibase.Contexts
+import liquibase.Liquibase
+import liquibase.change.core.RawSQLChange
+import liquibase.changelog.visitor.AbstractChangeExecListener
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.executor.ExecutorService
+import liquibase.lockservice.LockServiceFactory
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.statement.core.RawSqlStatement
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class StandardChangeLogHistoryServiceTest extends Specification {
+
+    Database database
+
+    def setup() {
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:changeLogHistory;DB_CLOSE_DELAY=-1", "sa", "")))
+    }
+
+    def cleanup() {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"))
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+        LockServiceFactory.getInstance().resetAll()
+        ExecutorService.getInstance().reset()
+        database?.close()
+    }
+
+    def "update writes the row of every changeSet it runs right away"() {
+        when:
+        def changeLog = new DatabaseChangeLog("com/example/history.xml")
+        for (int i = 1; i <= 4; i++) {
+            def changeSet = new ChangeSet("id" + i, "test", false, false, "com/example/history.xml", null, null, changeLog)
+            changeSet.addChange(new RawSQLChange("CREATE TABLE TABLE_" + i + " (id INT)"))
+            changeLog.addChangeSet(changeSet)
+        }
+        def liquibase = new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database)
+        def rowsBeforeRun = []
+        liquibase.setChangeExecListener(new AbstractChangeExecListener() {
+            @Override
+            void willRun(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, ChangeSet.RunStatus runStatus) {
+                rowsBeforeRun << ExecutorService.getInstance().getExecutor(database).queryForInt(
+                        new RawSqlStatement("SELECT COUNT(*) FROM DATABASECHANGELOG"))
+            }
+        })
+        liquibase.update(new Contexts())
+
+        then:
+        rowsBeforeRun == [0, 1, 2, 3]
+        ExecutorService.getInstance().getExecutor(database).queryForList(
+                new RawSqlStatement("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED"), String) == ["id1", "id2", "id3", "id4"]
+    }
+}
@@ -0,0 +1,113 @@
+package liquibase.changelog.visitor
+
+import liquibase.Contexts
+import liquibase.LabelExpression
+import liquibase.Liquibase
+import liquibase.change.core.RawSQLChange
+import liquibase.change.core.TagDatabaseChange
+import liquibase.changelog.ChangeLogHistoryServiceFactory
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.core.H2Database
+import liquibase.database.core.OracleDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.executor.ExecutorService
+import liquibase.lockservice.LockServiceFactory
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.sqlgenerator.core.MarkChangeSetRanGenerator
+import liquibase.statement.core.RawSqlStatement
+import spock.lang.Specification
+
+import java.sql.DriverManager
+
+class BulkChangeLogSyncVisitorTest extends Specification {
+
+    Database database
+
+    def setup() {
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:bulkChangeLogSync;DB_CLOSE_DELAY=-1", "sa", "")))
+    }
+
+    def cleanup() {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement("DROP ALL OBJECTS"))
+        ChangeLogHistoryServiceFactory.getInstance().resetAll()
+        LockServiceFactory.getInstance().resetAll()
+        ExecutorService.getInstance().reset()
+        database?.close()
+    }
+
+    def "changeLogSync inserts a row for every changeSet in changelog order"() {
+        when:
+        def changeLog = new DatabaseChangeLog("com/example/sync.xml")
+        for (int i = 1; i <= 250; i++) {
+            def changeSet = new ChangeSet("id" + i, "test", false, false, "com/example/sync.xml", i == 7 ? "prod" : null, null, changeLog)
+            changeSet.addChange(new RawSQLChange("CREATE TABLE TABLE_" + i + " (id INT)"))
+            changeLog.addChangeSet(changeSet)
+        }
+        def tagChangeSet = new ChangeSet("tag", "test", false, false, "com/example/sync.xml", null, null, changeLog)
+        tagChangeSet.addChange(new TagDatabaseChange(tag: "v1"))
+        changeLog.addChangeSet(tagChangeSet)
+
+        def marked = []
+        def liquibase = new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database)
+        liquibase.setChangeLogSyncListener(new ChangeLogSyncListener() {
+            @Override
+            void markedRan(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database) {
+                marked << changeSet.id
+            }
+        })
+        liquibase.changeLogSync(new Contexts(), new LabelExpression())
+
+        def executor = ExecutorService.getInstance().getExecutor(database)
+        def rows = executor.queryForList(new RawSqlStatement("SELECT ID, ORDEREXECUTED, MD5SUM, CONTEXTS, TAG, EXECTYPE FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED"))
+
+        then:
+        rows.size() == 251
+        rows*.ID == changeLog.changeSets*.id
+        rows*.ORDEREXECUTED == (1..251).toList()
+        rows*.MD5SUM == changeLog.changeSets*.generateCheckSum()*.toString()
+        rows*.EXECTYPE.unique() == ["EXECUTED"]
+        rows[6].CONTEXTS == "prod"
+        rows[250].TAG == "v1"
+        marked == changeLog.changeSets*.id
+        liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression()).isEmpty()
+    }
+
+    def "generateInsertSql repeats the values for every row"() {
+        when:
+        def visitor = new BulkChangeLogSyncVisitor(new H2Database())
+
+        then:
+        visitor.generateInsertSql(2) == "INSERT INTO DATABASECHANGELOG (ID, AUTHOR, FILENAME, DATEEXECUTED, ORDEREXECUTED, MD5SUM, DESCRIPTION, COMMENTS, EXECTYPE, CONTEXTS, LABELS, LIQUIBASE, DEPLOYMENT_ID, TAG) VALUES " +
+                "(?, ?, ?, NOW(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?), (?, ?, ?, NOW(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+        visitor.supportsMultiRowInsert(new H2Database())
+        !visitor.supportsMultiRowInsert(new OracleDatabase())
+    }
+
+    def "changeLogSync only syncs in bulk when the core generator creates the rows"() {
+        when:
+        def liquibase = new Liquibase(new DatabaseChangeLog("com/example/sync.xml"), new ClassLoaderResourceAccessor(), database)
+
+        then:
+        liquibase.createChangeLogSyncVisitor() instanceof BulkChangeLogSyncVisitor
+
+        when:
+        def generator = new MarkChangeSetRanGenerator() {
+            @Override
+            int getPriority() {
+                return super.getPriority() + 1
+            }
+        }
+        SqlGeneratorFactory.getInstance().register(generator)
+
+        then:
+        liquibase.createChangeLogSyncVisitor().getClass() == ChangeLogSyncVisitor
+
+        cleanup:
+        SqlGeneratorFactory.getInstance().unregister(generator)
+    }
+}
@@ -0,0 +1,94 @@
+package liquibase.changelog.visitor
+
+import liquibase.Contexts
+import liquibase.Liquibase
+import liquibase.change.core.LoadDataChange
+import liquibase.change.core.RawSQLChange
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.database.DatabaseFactory
+import liquibase.database.ObjectQuotingStrategy
+import liquibase.database.jvm.JdbcConnection
+import liquibase.executor.ExecutorService
+import liquibase.lockservice.LockServiceFactory
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.statement.core.RawSqlStatement
+import org.h2.jdbcx.JdbcDataSource
+import spock.lang.Specification
+
+class ParallelUpdateVisitorTest extends Specification {
+
+    def "parallel loadData changeSets are loaded and recorded in changelog order"() {
+        when:
+        def dataSource = new JdbcDataSource()
+        dataSource.setURL("jdbc:h2:mem:parallelUpdate;DB_CLOSE_DELAY=-1")
+        dataSource.setUser("sa")
+        dataSource.setPassword("")
+
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                new JdbcConnection(dataSource.getConnection()))
+        def resourceAccessor = new ClassLoaderResourceAccessor()
+
+        def changeLog = new DatabaseChangeLog("com/example/parallel.xml")
+        def createTables = new ChangeSet("create", "test", false, false, "com/example/parallel.xml", null, null, changeLog)
+        createTables.addChange(new RawSQLChange("CREATE TABLE TABLE_A (name VARCHAR(50), username VARCHAR(50));" +
+                "CREATE TABLE TABLE_B (name VARCHAR(50), username VARCHAR(50));" +
+                "CREATE TABLE TABLE_C (name VARCHAR(50), username VARCHAR(50))"))
+        changeLog.addChangeSet(createTables)
+        for (String table : ["TABLE_A", "TABLE_B", "TABLE_C"]) {
+            def changeSet = new ChangeSet("load-" + table, "test", false, false, "com/example/parallel.xml", null, null,
+                    ObjectQuotingStrategy.QUOTE_ONLY_RESERVED_WORDS, changeLog)
+            changeSet.setParallel(true)
+            def change = new LoadDataChange()
+            change.setTableName(table)
+            change.setFile("liquibase/change/core/sample.data1.csv")
+            change.setResourceAccessor(resourceAccessor)
+            changeSet.addChange(change)
+            changeLog.addChangeSet(changeSet)
+        }
+
+        def liquibase = new Liquibase(changeLog, resourceAccessor, database)
+        liquibase.setParallelDataSource(dataSource, 2)
+        liquibase.update(new Contexts())
+
+        def executor = ExecutorService.getInstance().getExecutor(database)
+        def ids = executor.queryForList(new RawSqlStatement("SELECT ID FROM DATABASECHANGELOG ORDER BY ORDEREXECUTED"), String)
+
+        then:
+        ids == ["create", "load-TABLE_A", "load-TABLE_B", "load-TABLE_C"]
+        database.getObjectQuotingStrategy() == ObjectQuotingStrategy.LEGACY
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_A")) == 2
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_B")) == 2
+        executor.queryForInt(new RawSqlStatement("SELECT COUNT(*) FROM TABLE_C")) == 2
+
+        cleanup:
+        executor?.execute(new RawSqlStatement("DROP ALL OBJECTS"))
+        LockServiceFactory.getInstance().resetAll()
+        ExecutorService.getInstance().reset()
+        database?.close()
+    }
+
+    def "changeSets with other changes are not run in parallel"() {
+        when:
+        def changeSet = new ChangeSet("1", "test", false, false, "com/example/parallel.xml", null, null, null)
+        changeSet.setParallel(true)
+        changeSet.addChange(new RawSQLChange("SELECT 1"))
+        def visitor = new ParallelUpdateVisitor(null, null, new JdbcDataSource(), 2)
+
+        then:
+        !visitor.canRunInParallel(changeSet)
+
+        when:
+        changeSet = new ChangeSet("2", "test", false, false, "com/example/parallel.xml", null, null, null)
+        changeSet.addChange(new LoadDataChange())
+
+        then:
+        !visitor.canRunInParallel(changeSet)
+
+        when:
+        changeSet.setParallel(true)
+
+        then:
+        visitor.canRunInParallel(changeSet)
+    }
+}
@@ -0,0 +1,113 @@
+package liquibase.command.core
+
+import liquibase.Liquibase
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffGeneratorFactory
+import liquibase.diff.compare.CompareControl
+import liquibase.parser.core.json.JsonSnapshotParser
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.serializer.core.json.JsonSnapshotSerializer
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.RestoredDatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.structure.core.Column
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.Index
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import org.h2.jdbcx.JdbcDataSource
+import spock.lang.Specification
+
+class SnapshotCommandTest extends Specification {
+
+    Database database
+    Liquibase liquibase
+
+    def setup() {
+        def dataSource = new JdbcDataSource()
+        dataSource.setURL("jdbc:h2:mem:incrementalSnapshot;DB_CLOSE_DELAY=-1")
+        dataSource.setUser("sa")
+        dataSource.setPassword("")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(dataSource.getConnection()))
+        liquibase = new Liquibase("liquibase/command/core/incrementalSnapshotChangeLog.xml", new ClassLoaderResourceAccessor(), database)
+    }
+
+    def cleanup() {
+        def statement = ((JdbcConnection) database.getConnection()).createStatement()
+        statement.execute("DROP ALL OBJECTS")
+        statement.close()
+        database.close()
+    }
+
+    def "an incremental snapshot patches the objects changed after the tag into the stored snapshot"() {
+        when:
+        liquibase.update("v1", "")
+        def stored = new JsonSnapshotSerializer().serialize(snapshot(), true)
+        liquibase.update("")
+
+        def baseSnapshot = restore(stored)
+        def unchanged = baseSnapshot.get(new Table(null, "PUBLIC", "UNCHANGED"))
+
+        def command = new SnapshotCommand()
+        command.setDatabase(database)
+        command.setBaseSnapshot(baseSnapshot)
+                .setChangeLog(liquibase.getDatabaseChangeLog())
+                .setSinceTag("v1")
+        def incremental = command.execute().snapshot
+
+        then:
+        incremental.is(baseSnapshot)
+        incremental.get(Table)*.name.findAll { !it.startsWith("DATABASECHANGELOG") }.sort() == ["ADDRESS", "PERSON", "UNCHANGED"]
+        incremental.get(new Table(null, "PUBLIC", "UNCHANGED")).is(unchanged)
+        incremental.get(Column).findAll { it.relation.name == "PERSON" }*.name.sort() == ["EMAIL", "ID", "NAME"]
+        incremental.get(Index)*.name.contains("IDX_PERSON_NAME")
+        incremental.get(ForeignKey)*.name == ["FK_ADDRESS_PERSON"]
+        DiffGeneratorFactory.getInstance().compare(incremental, snapshot(), new CompareControl()).areEqual()
+        DiffGeneratorFactory.getInstance().compare(restore(new JsonSnapshotSerializer().serialize(incremental, true)), snapshot(), new CompareControl()).areEqual()
+    }
+
+    def "an incremental snapshot updates the objects of the schema"() {
+        when:
+        liquibase.update("v1", "")
+        def baseSnapshot = snapshot()
+        liquibase.update("")
+
+        def command = new SnapshotCommand()
+        command.setDatabase(database)
+        command.setBaseSnapshot(baseSnapshot)
+                .setChangeLog(liquibase.getDatabaseChangeLog())
+                .setSinceTag("v1")
+        def incremental = command.execute().snapshot
+        def schemaTables = incremental.get(new Schema(null, "PUBLIC")).getDatabaseObjects(Table)
+
+        then:
+        schemaTables*.name.findAll { !it.startsWith("DATABASECHANGELOG") }.sort() == ["ADDRESS", "PERSON", "UNCHANGED"]
+        schemaTables.every { incremental.get(it).is(it) }
+    }
+
+    def "an incremental snapshot needs the changelog"() {
+        when:
+        def command = new SnapshotCommand()
+        command.setDatabase(database)
+        command.setBaseSnapshot(new RestoredDatabaseSnapshot(database)).setSinceTag("v1")
+        command.execute()
+
+        then:
+        def e = thrown(Exception)
+        e.getMessage().contains("requires the changelog")
+    }
+
+    private DatabaseSnapshot restore(String stored) {
+        def restored = new RestoredDatabaseSnapshot(database, new SnapshotControl(database))
+        new JsonSnapshotParser().load(new ByteArrayInputStream(stored.getBytes("UTF-8")), restored, new ClassLoaderResourceAccessor())
+        return restored
+    }
+
+    private DatabaseSnapshot snapshot() {
+        def command = new SnapshotCommand()
+        command.setDatabase(database)
+        return command.execute().snapshot
+    }
+}
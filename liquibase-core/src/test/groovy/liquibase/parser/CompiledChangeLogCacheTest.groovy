@@ -0,0 +1,117 @@
+package liquibase.parser
+
+import liquibase.changelog.ChangeLogParameters
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.configuration.GlobalConfiguration
+import liquibase.configuration.LiquibaseConfiguration
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.core.ParsedNode
+import liquibase.parser.core.xml.XMLChangeLogSAXParser
+import liquibase.resource.FileSystemResourceAccessor
+import liquibase.resource.ResourceAccessor
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class CompiledChangeLogCacheTest extends Specification {
+
+    File baseDir
+    File cacheDir
+
+    def setup() {
+        baseDir = Files.createTempDirectory("changelogs").toFile()
+        cacheDir = Files.createTempDirectory("changelog-cache").toFile()
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration)
+                .setChangeLogCacheEnabled(true)
+                .setChangeLogCacheDirectory(cacheDir.absolutePath)
+    }
+
+    def cleanup() {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration)
+                .setChangeLogCacheEnabled(false)
+        baseDir.deleteDir()
+        cacheDir.deleteDir()
+    }
+
+    def "unchanged files are read from the cache"() {
+        when:
+        def parser = new CountingParser()
+        writeChangeLog("CREATE TABLE a (id INT)")
+        def first = parse(parser)
+        def second = parse(parser)
+
+        then:
+        parser.parses == 1
+        new File(cacheDir, "changelogs").listFiles().length == 1
+        second.changeSets*.toString() == first.changeSets*.toString()
+        second.changeSets*.generateCheckSum() == first.changeSets*.generateCheckSum()
+
+        when: "changing the file invalidates the entry"
+        writeChangeLog("CREATE TABLE b (id INT)")
+        def third = parse(parser)
+
+        then:
+        parser.parses == 2
+        third.changeSets[0].generateCheckSum() != first.changeSets[0].generateCheckSum()
+    }
+
+    def "changeLog parameters are expanded after reading from the cache"() {
+        when:
+        def parser = new CountingParser()
+        writeChangeLog('CREATE TABLE ${tableName} (id INT)')
+        def first = parse(parser, [tableName: "a"])
+        def second = parse(parser, [tableName: "b"])
+
+        then:
+        parser.parses == 1
+        first.changeSets[0].changes[0].sql == "CREATE TABLE a (id INT)"
+        second.changeSets[0].changes[0].sql == "CREATE TABLE b (id INT)"
+    }
+
+    def "nothing is cached when the cache is disabled"() {
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setChangeLogCacheEnabled(false)
+        def parser = new CountingParser()
+        writeChangeLog("CREATE TABLE a (id INT)")
+        parse(parser)
+        parse(parser)
+
+        then:
+        parser.parses == 2
+        !new File(cacheDir, "changelogs").exists()
+    }
+
+    private void writeChangeLog(String sql) {
+        new File(baseDir, "changelog.xml").text = """<?xml version="1.0" encoding="UTF-8"?>
+<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-3.6.xsd">
+    <changeSet id="1" author="test">
+        <sql>${sql}</sql>
+    </changeSet>
+    <changeSet id="2" author="test" context="test">
+        <createTable tableName="b">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+</databaseChangeLog>
+"""
+    }
+
+    private DatabaseChangeLog parse(ChangeLogParser parser, Map<String, String> parameters = [:]) {
+        def changeLogParameters = new ChangeLogParameters()
+        parameters.each { key, value -> changeLogParameters.set(key, value) }
+        return parser.parse("changelog.xml", changeLogParameters, new FileSystemResourceAccessor(baseDir.absolutePath))
+    }
+
+    private static class CountingParser extends XMLChangeLogSAXParser {
+        int parses
+
+        @Override
+        protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                         ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+            parses++
+            return super.parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor)
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package liquibase.parser
+
+import liquibase.Scope
+import liquibase.changelog.ChangeLogParameters
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.core.xml.XMLChangeLogSAXParser
+import liquibase.test.JUnitResourceAccessor
+import spock.lang.Specification
+
+class SharedParsedNodeCacheTest extends Specification {
+
+    def "files are parsed once within the scope of the cache and every caller gets a copy"() {
+        when:
+        def cache = new SharedParsedNodeCache()
+        def parser = new XMLChangeLogSAXParser()
+        def accessor = new JUnitResourceAccessor()
+        def path = "liquibase/parser/core/xml/simpleChangeLog.xml"
+        def nodes = []
+        def changeLogs = []
+        Scope.child([(SharedParsedNodeCache.SCOPE_KEY): cache], {
+            nodes << parser.getParsedNode(path, new ChangeLogParameters(), accessor)
+            nodes << parser.getParsedNode(path, new ChangeLogParameters(), accessor)
+            changeLogs << parser.parse(path, new ChangeLogParameters(), accessor)
+            changeLogs << parser.parse(path, new ChangeLogParameters(), accessor)
+        } as Scope.ScopedRunner)
+
+        then:
+        cache.size() == 1
+        !nodes[0].is(nodes[1])
+        nodes[0].toString() == nodes[1].toString()
+        changeLogs[0].changeSets*.toString() == changeLogs[1].changeSets*.toString()
+        SharedParsedNodeCache.getCurrent() == null
+    }
+
+    def "failed parses are not cached"() {
+        when:
+        def cache = new SharedParsedNodeCache()
+        cache.getParsedNode("changelog.xml", new XMLChangeLogSAXParser(), { throw new ChangeLogParseException("invalid") } as CompiledChangeLogCache.Parser)
+
+        then:
+        thrown(ChangeLogParseException)
+        cache.size() == 0
+    }
+}
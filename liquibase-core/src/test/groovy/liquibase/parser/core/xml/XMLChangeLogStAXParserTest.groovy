@@ -0,0 +1,132 @@
+package liquibase.parser.core.xml
+
+import liquibase.changelog.ChangeLogParameters
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.configuration.GlobalConfiguration
+import liquibase.configuration.LiquibaseConfiguration
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.ChangeLogParserFactory
+import liquibase.sdk.resource.MockResourceAccessor
+import liquibase.test.JUnitResourceAccessor
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class XMLChangeLogStAXParserTest extends Specification {
+
+    def cleanup() {
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setStreamingXmlParserEnabled(false)
+    }
+
+    def "the streaming parser is only used when enabled"() {
+        when:
+        def accessor = new JUnitResourceAccessor()
+
+        then:
+        ChangeLogParserFactory.getInstance().getParser("changelog.xml", accessor) instanceof XMLChangeLogSAXParser
+
+        when:
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setStreamingXmlParserEnabled(true)
+
+        then:
+        ChangeLogParserFactory.getInstance().getParser("changelog.xml", accessor) instanceof XMLChangeLogStAXParser
+    }
+
+    @Unroll("#featureName: #path")
+    def "loads the same changelog as the SAX parser"() {
+        when:
+        def expected = parse(new XMLChangeLogSAXParser(), path)
+        LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration).setStreamingXmlParserEnabled(true)
+        def actual = parse(new XMLChangeLogStAXParser(), path)
+
+        then:
+        actual.logicalFilePath == expected.logicalFilePath
+        actual.objectQuotingStrategy == expected.objectQuotingStrategy
+        actual.preconditions.nestedPreconditions.size() == expected.preconditions.nestedPreconditions.size()
+        actual.changeSets*.toString() == expected.changeSets*.toString()
+        checkSums(actual) == checkSums(expected)
+        actual.changeSets*.isRunInTransaction() == expected.changeSets*.isRunInTransaction()
+        actual.changeSets*.objectQuotingStrategy == expected.changeSets*.objectQuotingStrategy
+        actual.changeSets.collect { String.valueOf(it.contexts) } == expected.changeSets.collect { String.valueOf(it.contexts) }
+        actual.changeSets*.comments == expected.changeSets*.comments
+        actual.changeSets.collect { it.rollback.changes.size() } == expected.changeSets.collect { it.rollback.changes.size() }
+
+        where:
+        path << [
+                "liquibase/parser/core/xml/simpleChangeLog.xml",
+                "liquibase/parser/core/xml/multiChangeSetChangeLog.xml",
+                "liquibase/parser/core/xml/nestedChangeLog.xml",
+                "liquibase/parser/core/xml/doubleNestedChangeLog.xml",
+                "liquibase/parser/core/xml/logicalPathChangeLog.xml",
+                "liquibase/parser/core/xml/preconditionsChangeLog.xml",
+                "liquibase/parser/core/xml/rollbackWithDbmsChangeLog.xml",
+                "liquibase/parser/core/xml/testCasesChangeLog.xml",
+                "liquibase/parser/core/xml/ignoreDuplicatedChangeLogs/master.changelog.xml",
+        ]
+    }
+
+    def "adds the attribute defaults of the XSD"() {
+        when:
+        def accessor = new MockResourceAccessor(["com/example/changelog.xml": """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog">
+    <changeSet id="1" author="test">
+        <loadData tableName="person" file="com/example/data.csv"/>
+    </changeSet>
+    <includeAll path="com/example/missing"/>
+</databaseChangeLog>"""])
+        def changeLog = new XMLChangeLogStAXParser().parse("com/example/changelog.xml", new ChangeLogParameters(), accessor)
+
+        then:
+        changeLog.changeSets.size() == 1
+        changeLog.changeSets[0].runInTransaction
+        changeLog.changeSets[0].changes[0].encoding == "UTF-8"
+        changeLog.changeSets[0].changes[0].separator == ","
+        changeLog.changeSets[0].changes[0].quotchar == "\""
+    }
+
+    def "reports the position of malformed XML"() {
+        when:
+        def accessor = new MockResourceAccessor(["com/example/changelog.xml": """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog">
+    <changeSet id="1" author="test">
+</databaseChangeLog>"""])
+        new XMLChangeLogStAXParser().parse("com/example/changelog.xml", new ChangeLogParameters(), accessor)
+
+        then:
+        def e = thrown(ChangeLogParseException)
+        e.message.startsWith("Error parsing line 3")
+    }
+
+    def "validates the file against the XSD"() {
+        when:
+        def accessor = new MockResourceAccessor(["com/example/changelog.xml": """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog">
+    <changeSet id="1" author="test">
+        <createTable tableName="person">
+            <notAColumn name="id"/>
+        </createTable>
+    </changeSet>
+</databaseChangeLog>"""])
+        new XMLChangeLogStAXParser().parse("com/example/changelog.xml", new ChangeLogParameters(), accessor)
+
+        then:
+        def e = thrown(ChangeLogParseException)
+        e.message.startsWith("Error parsing line 4")
+        e.message.contains("notAColumn")
+    }
+
+    /**
+     * Returns the checksums, or the error if one cannot be computed, like a loadData file that does not exist.
+     */
+    private static List<String> checkSums(DatabaseChangeLog changeLog) {
+        return changeLog.changeSets.collect {
+            try {
+                return it.generateCheckSum().toString()
+            } catch (Exception e) {
+                return e.class.name
+            }
+        }
+    }
+
+    private static DatabaseChangeLog parse(parser, String path) {
+        def parameters = new ChangeLogParameters()
+        parameters.set("tablename", "my_table")
+        return parser.parse(path, parameters, new JUnitResourceAccessor())
+    }
+}
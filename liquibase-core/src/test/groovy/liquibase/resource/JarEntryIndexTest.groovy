@@ -0,0 +1,91 @@
+package liquibase.resource
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+class JarEntryIndexTest extends Specification {
+
+    File baseDir
+
+    def setup() {
+        baseDir = Files.createTempDirectory("jars").toFile()
+    }
+
+    def cleanup() {
+        baseDir.deleteDir()
+    }
+
+    def "getEntries returns the sorted entries under a prefix"() {
+        when:
+        def jar = writeJar(new File(baseDir, "test.jar"), [
+                "db/", "db/changelog/", "db/changelog/b.xml", "db/changelog/a.xml", "db/changelog/sub/c.xml",
+                "db/changelog2/d.xml", "other/e.xml"])
+        def index = JarEntryIndex.build(jar)
+
+        then:
+        index.getEntries("db/changelog/") == ["db/changelog/", "db/changelog/a.xml", "db/changelog/b.xml", "db/changelog/sub/c.xml"]
+        index.getEntries("db/changelog") == ["db/changelog/", "db/changelog/a.xml", "db/changelog/b.xml", "db/changelog/sub/c.xml", "db/changelog2/d.xml"]
+        index.getEntries("missing/") == []
+        index.getEntries("").size() == 7
+    }
+
+    def "getNestedJar indexes the entries of a jar inside the archive"() {
+        when:
+        def nested = writeJar(new File(baseDir, "nested.jar"), ["db/changelog/n.xml", "com/example/Example.class"])
+        def jar = new File(baseDir, "fat.jar")
+        new JarOutputStream(new FileOutputStream(jar)).withCloseable { output ->
+            output.putNextEntry(new JarEntry("BOOT-INF/lib/nested.jar"))
+            output.write(nested.bytes)
+            output.closeEntry()
+        }
+        def index = JarEntryIndex.build(jar)
+
+        then:
+        index.getNestedJar("BOOT-INF/lib/nested.jar").getEntries("db/") == ["db/changelog/n.xml"]
+        index.getNestedJar("BOOT-INF/lib/nested.jar").is(index.getNestedJar("BOOT-INF/lib/nested.jar"))
+    }
+
+    def "isCurrent detects changed files"() {
+        when:
+        def jar = writeJar(new File(baseDir, "test.jar"), ["db/a.xml"])
+        def index = JarEntryIndex.build(jar)
+
+        then:
+        index.isCurrent()
+
+        when:
+        writeJar(jar, ["db/a.xml", "db/b.xml"])
+        jar.setLastModified(jar.lastModified() + 2000)
+
+        then:
+        !index.isCurrent()
+    }
+
+    def "ClassLoaderResourceAccessor lists jar entries through the index"() {
+        when:
+        def jar = writeJar(new File(baseDir, "test.jar"), [
+                "db/changelog/", "db/changelog/a.xml", "db/changelog/b.xml", "db/changelog/sub/c.xml", "other/d.xml"])
+        def accessor = new ClassLoaderResourceAccessor(new URLClassLoader([jar.toURI().toURL()] as URL[], (ClassLoader) null))
+
+        then:
+        accessor.list(null, "db/changelog", true, false, false).findAll { !it.startsWith("jar:") } == ["db/changelog/a.xml", "db/changelog/b.xml"] as Set
+        accessor.list(null, "db/changelog", true, false, true).findAll { !it.startsWith("jar:") } == ["db/changelog/a.xml", "db/changelog/b.xml", "db/changelog/sub/c.xml"] as Set
+        accessor.list(null, "db/changelog", false, true, true).contains("db/changelog/")
+    }
+
+    private static File writeJar(File file, List<String> entries) {
+        new JarOutputStream(new FileOutputStream(file)).withCloseable { output ->
+            for (String entry : entries) {
+                output.putNextEntry(new JarEntry(entry))
+                if (!entry.endsWith("/")) {
+                    output.write(entry.bytes)
+                }
+                output.closeEntry()
+            }
+        }
+        return file
+    }
+}
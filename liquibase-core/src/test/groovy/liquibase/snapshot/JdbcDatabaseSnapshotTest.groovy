@@ -0,0 +1,69 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Column
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.Index
+import liquibase.structure.core.PrimaryKey
+import liquibase.structure.core.Table
+import liquibase.structure.core.UniqueConstraint
+import liquibase.structure.core.View
+import org.h2.jdbcx.JdbcDataSource
+import spock.lang.Specification
+
+class JdbcDatabaseSnapshotTest extends Specification {
+
+    JdbcDataSource dataSource
+    Database database
+
+    def setup() {
+        dataSource = new JdbcDataSource()
+        dataSource.setURL("jdbc:h2:mem:parallelSnapshot;DB_CLOSE_DELAY=-1")
+        dataSource.setUser("sa")
+        dataSource.setPassword("")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(dataSource.getConnection()))
+        def statement = ((JdbcConnection) database.getConnection()).createStatement()
+        for (String schema : ["S1", "S2"]) {
+            statement.execute("CREATE SCHEMA " + schema)
+            statement.execute("CREATE TABLE " + schema + ".PERSON (ID INT PRIMARY KEY, NAME VARCHAR(50) NOT NULL, EMAIL VARCHAR(50) UNIQUE)")
+            statement.execute("CREATE TABLE " + schema + ".ADDRESS (ID INT PRIMARY KEY, PERSON_ID INT, CITY VARCHAR(50), " +
+                    "CONSTRAINT FK_ADDRESS_PERSON FOREIGN KEY (PERSON_ID) REFERENCES " + schema + ".PERSON (ID))")
+            statement.execute("CREATE INDEX IDX_CITY ON " + schema + ".ADDRESS (CITY)")
+            statement.execute("CREATE VIEW " + schema + ".PERSON_NAMES AS SELECT NAME FROM " + schema + ".PERSON")
+        }
+        statement.close()
+    }
+
+    def cleanup() {
+        def statement = ((JdbcConnection) database.getConnection()).createStatement()
+        statement.execute("DROP ALL OBJECTS")
+        statement.close()
+        database.close()
+    }
+
+    def "reading the metadata on parallel connections finds the same objects"() {
+        when:
+        def schemas = [new CatalogAndSchema(null, "S1"), new CatalogAndSchema(null, "S2")] as CatalogAndSchema[]
+        def serial = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, new SnapshotControl(database))
+        def parallel = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database,
+                new SnapshotControl(database).setParallelDataSource(dataSource, 3))
+
+        then:
+        for (def type : [Table, View, Column, PrimaryKey, Index, ForeignKey, UniqueConstraint]) {
+            assert describe(parallel, type) == describe(serial, type)
+        }
+        describe(parallel, Table) == ["S1.ADDRESS", "S1.PERSON", "S2.ADDRESS", "S2.PERSON"]
+        describe(parallel, ForeignKey).size() == 2
+        parallel.getResultSetCacheStatistics().singleQueries < serial.getResultSetCacheStatistics().singleQueries
+        parallel.getResultSetCacheStatistics().misses < serial.getResultSetCacheStatistics().misses
+        parallel.getResultSetCache("getIndexInfo").getStatistics().singleQueries == 0
+        parallel.getResultSetCache("getImportedKeys").getStatistics().singleQueries == 0
+    }
+
+    private static List<String> describe(DatabaseSnapshot snapshot, Class type) {
+        return snapshot.get(type).collect { it.schema?.name + "." + it.name }.sort()
+    }
+}
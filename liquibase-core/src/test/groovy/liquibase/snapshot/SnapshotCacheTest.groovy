@@ -0,0 +1,112 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffGeneratorFactory
+import liquibase.diff.compare.CompareControl
+import liquibase.structure.core.Table
+import org.h2.jdbcx.JdbcDataSource
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class SnapshotCacheTest extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    Database database
+    CatalogAndSchema[] schemas = [new CatalogAndSchema(null, "CACHED")] as CatalogAndSchema[]
+
+    def setup() {
+        def dataSource = new JdbcDataSource()
+        dataSource.setURL("jdbc:h2:mem:snapshotCache;DB_CLOSE_DELAY=-1")
+        dataSource.setUser("sa")
+        dataSource.setPassword("")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(dataSource.getConnection()))
+        execute("CREATE SCHEMA CACHED")
+        execute("CREATE TABLE CACHED.PERSON (ID INT PRIMARY KEY, NAME VARCHAR(50) NOT NULL, EMAIL VARCHAR(50) UNIQUE)")
+        execute("CREATE INDEX IDX_NAME ON CACHED.PERSON (NAME)")
+        execute("CREATE VIEW CACHED.PERSON_NAMES AS SELECT NAME FROM CACHED.PERSON")
+    }
+
+    def cleanup() {
+        execute("DROP ALL OBJECTS")
+        database.close()
+    }
+
+    def "a stored snapshot is reused while the schema does not change"() {
+        when:
+        def cache = new SnapshotCache(temporaryFolder.getRoot())
+        def first = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        def second = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        def fresh = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, new SnapshotControl(database))
+
+        then:
+        first instanceof JdbcDatabaseSnapshot
+        second instanceof RestoredDatabaseSnapshot
+        second.getDatabase().is(database)
+        temporaryFolder.getRoot().listFiles().length == 1
+        temporaryFolder.getRoot().listFiles()[0].readLines()[0] == cache.getFingerprint(schemas, database)
+        DiffGeneratorFactory.getInstance().compare(second, fresh, new CompareControl()).areEqual()
+    }
+
+    def "a new snapshot is taken when objects are created or the stored one is too old"() {
+        when:
+        def cache = new SnapshotCache(temporaryFolder.getRoot())
+        cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        execute("CREATE TABLE CACHED.ADDRESS (ID INT PRIMARY KEY)")
+        def afterCreate = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        def reused = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+
+        temporaryFolder.getRoot().listFiles()[0].setLastModified(System.currentTimeMillis() - 60000)
+        def expired = cache.setMaxAge(30000).getSnapshot(schemas, database, new SnapshotControl(database))
+
+        then:
+        afterCreate instanceof JdbcDatabaseSnapshot
+        afterCreate.get(Table)*.name.sort() == ["ADDRESS", "PERSON"]
+        reused instanceof RestoredDatabaseSnapshot
+        reused.get(Table)*.name.sort() == ["ADDRESS", "PERSON"]
+        expired instanceof JdbcDatabaseSnapshot
+    }
+
+    def "a new snapshot is taken when columns change"() {
+        when:
+        def cache = new SnapshotCache(temporaryFolder.getRoot())
+        cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        execute("ALTER TABLE CACHED.PERSON ADD COLUMN PHONE VARCHAR(20)")
+        def afterAlter = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        execute("ALTER TABLE CACHED.PERSON ALTER COLUMN PHONE VARCHAR(30)")
+        def afterResize = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        def reused = cache.getSnapshot(schemas, database, new SnapshotControl(database))
+
+        then:
+        cache.getMaxAge() == SnapshotCache.DEFAULT_MAX_AGE
+        afterAlter instanceof JdbcDatabaseSnapshot
+        afterResize instanceof JdbcDatabaseSnapshot
+        reused instanceof RestoredDatabaseSnapshot
+        reused.get(new Table(null, "CACHED", "PERSON")).getColumn("PHONE").getType().getColumnSize() == 30
+    }
+
+    def "snapshots of other types are stored separately"() {
+        when:
+        def cache = new SnapshotCache(temporaryFolder.getRoot())
+        cache.getSnapshot(schemas, database, new SnapshotControl(database))
+        def tablesOnly = cache.getSnapshot(schemas, database, new SnapshotControl(database, Table))
+
+        then:
+        tablesOnly instanceof JdbcDatabaseSnapshot
+        temporaryFolder.getRoot().listFiles().length == 2
+    }
+
+    private void execute(String sql) {
+        def statement = ((JdbcConnection) database.getConnection()).createStatement()
+        try {
+            statement.execute(sql)
+        } finally {
+            statement.close()
+        }
+    }
+}
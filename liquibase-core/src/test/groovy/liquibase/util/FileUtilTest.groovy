@@ -0,0 +1,49 @@
+package liquibase.util
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class FileUtilTest extends Specification {
+
+    File directory
+
+    def setup() {
+        directory = Files.createTempDirectory("fileUtilTest").toFile()
+    }
+
+    def cleanup() {
+        directory.listFiles()*.delete()
+        directory.delete()
+    }
+
+    def "writeAtomically replaces the file and leaves no temporary files"() {
+        when:
+        def file = new File(directory, "sub/cache.properties")
+        FileUtil.writeAtomically(file, { it.write("first".bytes) } as FileUtil.ContentWriter)
+        FileUtil.writeAtomically(file, { it.write("second".bytes) } as FileUtil.ContentWriter)
+
+        then:
+        file.text == "second"
+        file.parentFile.list() as List == ["cache.properties"]
+
+        cleanup:
+        file.delete()
+        file.parentFile.delete()
+    }
+
+    def "writeAtomically keeps the previous contents when writing fails"() {
+        when:
+        def file = new File(directory, "cache.properties")
+        file.text = "previous"
+        FileUtil.writeAtomically(file, {
+            it.write("partial".bytes)
+            throw new IOException("disk full")
+        } as FileUtil.ContentWriter)
+
+        then:
+        thrown(IOException)
+        file.text == "previous"
+        directory.list() as List == ["cache.properties"]
+    }
+}
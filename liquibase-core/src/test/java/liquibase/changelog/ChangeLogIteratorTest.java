@@ -75,6 +75,24 @@ public class ChangeLogIteratorTest {
         assertEquals("1", testChangeLogVisitor.visitedChangeSets.get(2).getId());
     }
 
+    @Test
+    public void runChangeSet_filtersStopAtFirstRejection() throws Exception {
+        TestChangeSetVisitor testChangeLogVisitor = new TestChangeSetVisitor();
+        final List<ChangeSet> checkedChangeSets = new ArrayList<ChangeSet>();
+        ContextChangeSetFilter contextFilter = new ContextChangeSetFilter(new Contexts("test1")) {
+            @Override
+            public ChangeSetFilterResult accepts(ChangeSet changeSet) {
+                checkedChangeSets.add(changeSet);
+                return super.accepts(changeSet);
+            }
+        };
+
+        ChangeLogIterator iterator = new ChangeLogIterator(changeLog, new DbmsChangeSetFilter(new MySQLDatabase()), contextFilter);
+        iterator.run(testChangeLogVisitor, new RuntimeEnvironment(null, null, null));
+        assertEquals(3, testChangeLogVisitor.visitedChangeSets.size());
+        assertEquals(5, checkedChangeSets.size());
+    }
+
     private static class TestChangeSetVisitor implements ChangeSetVisitor {
 
         public List<ChangeSet> visitedChangeSets = new ArrayList<ChangeSet>();
@@ -129,4 +129,51 @@ public class ValidatingVisitorTest {
 
         assertTrue(handler.validationPassed());
     }
+
+    @Test
+    public void visit_incrementalSkipsRanUnchangedRunOnChange() throws Exception {
+        ChangeSet runOnChange = new ChangeSet("3", "testAuthor", false, true, "path/changelog", null, null, null);
+        runOnChange.addChange(new CreateTableChange() {
+            @Override
+            public ValidationErrors validate(Database database) {
+                ValidationErrors changeValidationErrors = new ValidationErrors();
+                changeValidationErrors.addError("Test message");
+                return changeValidationErrors;
+            }
+        });
+
+        List<RanChangeSet> ran = new ArrayList<RanChangeSet>();
+        ran.add(new RanChangeSet(runOnChange));
+
+        ValidatingVisitor handler = new ValidatingVisitor(ran);
+        handler.visit(runOnChange, new DatabaseChangeLog(), null, null);
+        assertFalse(handler.validationPassed());
+
+        handler = new ValidatingVisitor(ran);
+        handler.setIncremental(true);
+        handler.visit(runOnChange, new DatabaseChangeLog(), null, null);
+        assertTrue(handler.validationPassed());
+    }
+
+    @Test
+    public void visit_incrementalValidatesChangedChangeSets() throws Exception {
+        List<RanChangeSet> ran = new ArrayList<RanChangeSet>();
+        ran.add(new RanChangeSet(new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null, null)));
+
+        changeSet1.addChange(new CreateTableChange() {
+            @Override
+            public ValidationErrors validate(Database database) {
+                ValidationErrors changeValidationErrors = new ValidationErrors();
+                changeValidationErrors.addError("Test message");
+                return changeValidationErrors;
+            }
+        });
+
+        ValidatingVisitor handler = new ValidatingVisitor(ran);
+        handler.setIncremental(true);
+        handler.visit(changeSet1, new DatabaseChangeLog(), null, null);
+
+        assertEquals(1, handler.getInvalidMD5Sums().size());
+        assertTrue(handler.getValidationErrors().getErrorMessages().get(0).startsWith("Test message"));
+    }
 }
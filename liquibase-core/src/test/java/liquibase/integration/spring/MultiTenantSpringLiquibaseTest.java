@@ -0,0 +1,75 @@
+package liquibase.integration.spring;
+
+import liquibase.exception.LiquibaseException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MultiTenantSpringLiquibase}
+ */
+public class MultiTenantSpringLiquibaseTest {
+
+    private JdbcDataSource dataSource;
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:multitenant;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA TENANT1");
+            statement.execute("CREATE SCHEMA TENANT2");
+            statement.execute("CREATE SCHEMA TENANT3");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void runsAllSchemasAndReportsFailedTenants() throws Exception {
+        MultiTenantSpringLiquibase liquibase = new MultiTenantSpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setSchemas(Arrays.asList("TENANT1", "MISSING", "TENANT2", "TENANT3"));
+        liquibase.setChangeLog("classpath:liquibase/parser/core/xml/simpleChangeLog.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setParallelism(2);
+
+        try {
+            liquibase.afterPropertiesSet();
+            fail("Expected the missing schema to fail");
+        } catch (LiquibaseException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Liquibase failed for 1 of 4 tenants: schema MISSING"));
+        }
+
+        assertEquals(Arrays.asList("schema MISSING"), Arrays.asList(liquibase.getFailedTenants().keySet().toArray()));
+        for (String schema : Arrays.asList("TENANT1", "TENANT2", "TENANT3")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + schema + ".DATABASECHANGELOG")) {
+                assertTrue(resultSet.next());
+                assertEquals(schema, 1, resultSet.getInt(1));
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("SELECT ID, FIRSTNAME, LASTNAME FROM " + schema + ".PERSON").close();
+            }
+        }
+    }
+}
@@ -9,6 +9,8 @@ import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.changelog.visitor.ChangeSetVisitor;
+import liquibase.configuration.GlobalConfiguration;
+import liquibase.configuration.LiquibaseConfiguration;
 import liquibase.database.Database;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.exception.LiquibaseException;
@@ -17,6 +19,7 @@ import liquibase.test.JUnitResourceAccessor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javax.xml.parsers.SAXParserFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -73,4 +76,52 @@ public class XMLChangeLogSAXParserTest {
             changeSets.get(7).toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testInternalSchemaIsCompiledOnce() throws Exception {
+        DatabaseChangeLog expected = new XMLChangeLogSAXParser().parse("liquibase/parser/core/xml/ignoreDuplicatedChangeLogs/master.changelog.xml",
+            new ChangeLogParameters(), new JUnitResourceAccessor());
+
+        GlobalConfiguration configuration = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+        configuration.setPreferInternalXsd(true);
+        try {
+            Assert.assertNotNull(XMLChangeLogSAXParser.getInternalSchema());
+            Assert.assertSame(XMLChangeLogSAXParser.getInternalSchema(), XMLChangeLogSAXParser.getInternalSchema());
+
+            DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse("liquibase/parser/core/xml/ignoreDuplicatedChangeLogs/master.changelog.xml",
+                new ChangeLogParameters(), new JUnitResourceAccessor());
+            Assert.assertEquals(expected.getChangeSets().size(), changeLog.getChangeSets().size());
+        } finally {
+            configuration.setPreferInternalXsd(false);
+        }
+    }
+
+    @Test
+    public void testValidateOnceReusesValidatedFiles() throws Exception {
+        GlobalConfiguration configuration = LiquibaseConfiguration.getInstance().getConfiguration(GlobalConfiguration.class);
+        configuration.setValidateXmlChangeLogOnce(true);
+        try {
+            final int[] parses = {0};
+            XMLChangeLogSAXParser xmlParser = new XMLChangeLogSAXParser() {
+                @Override
+                protected SAXParserFactory getSaxParserFactory() {
+                    parses[0]++;
+                    return super.getSaxParserFactory();
+                }
+            };
+            DatabaseChangeLog first = xmlParser.parse("liquibase/parser/core/xml/ignoreDuplicatedChangeLogs/master.changelog.xml",
+                new ChangeLogParameters(), new JUnitResourceAccessor());
+            int firstParses = parses[0];
+            DatabaseChangeLog second = xmlParser.parse("liquibase/parser/core/xml/ignoreDuplicatedChangeLogs/master.changelog.xml",
+                new ChangeLogParameters(), new JUnitResourceAccessor());
+
+            Assert.assertEquals(firstParses, parses[0]);
+            Assert.assertEquals(first.getChangeSets().size(), second.getChangeSets().size());
+            for (int i = 0; i < first.getChangeSets().size(); i++) {
+                Assert.assertEquals(first.getChangeSets().get(i).toString(), second.getChangeSets().get(i).toString());
+                Assert.assertEquals(first.getChangeSets().get(i).generateCheckSum(), second.getChangeSets().get(i).generateCheckSum());
+            }
+        } finally {
+            configuration.setValidateXmlChangeLogOnce(false);
+        }
+    }
+}
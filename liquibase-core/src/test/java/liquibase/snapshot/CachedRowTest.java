@@ -0,0 +1,54 @@
+package liquibase.snapshot;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CachedRowTest {
+
+    @Test
+    public void rowsShareColumnsButNotValues() {
+        CachedRow.Columns columns = new CachedRow.Columns("TABLE_NAME", "COLUMN_SIZE");
+        CachedRow first = new CachedRow(columns, new Object[]{"PERSON", 10});
+        CachedRow second = new CachedRow(columns, new Object[]{"ADDRESS", null});
+
+        assertEquals("PERSON", first.getString("TABLE_NAME"));
+        assertEquals("ADDRESS", second.getString("TABLE_NAME"));
+        assertEquals(10, (int) first.getInt("COLUMN_SIZE"));
+        assertTrue(second.containsColumn("COLUMN_SIZE"));
+        assertNull(second.get("COLUMN_SIZE"));
+        assertFalse(second.containsColumn("REMARKS"));
+        assertNull(second.get("REMARKS"));
+    }
+
+    @Test
+    public void setAddsUnknownColumnsToThatRowOnly() {
+        CachedRow.Columns columns = new CachedRow.Columns("TABLE_NAME");
+        CachedRow first = new CachedRow(columns, new Object[]{"PERSON"});
+        CachedRow second = new CachedRow(columns, new Object[]{"ADDRESS"});
+
+        first.set("ORDINAL_POSITION", 1);
+        second.set("TABLE_NAME", "CITY");
+
+        assertEquals(1, (int) first.getInt("ORDINAL_POSITION"));
+        assertFalse(second.containsColumn("ORDINAL_POSITION"));
+        assertEquals("CITY", second.getString("TABLE_NAME"));
+        assertEquals("PERSON", first.getString("TABLE_NAME"));
+        assertEquals(1, columns.size());
+    }
+
+    @Test
+    public void mapConstructorKeepsColumns() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("TABLE_NAME", "PERSON");
+        row.put("REMARKS", null);
+        CachedRow cachedRow = new CachedRow(row);
+
+        assertEquals("PERSON", cachedRow.getString("TABLE_NAME"));
+        assertTrue(cachedRow.containsColumn("REMARKS"));
+        assertTrue(cachedRow.getApproximateSize() > 0);
+    }
+}
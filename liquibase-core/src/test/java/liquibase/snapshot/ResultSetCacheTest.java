@@ -1,7 +1,26 @@
 package liquibase.snapshot;
 
+import liquibase.database.Database;
+import liquibase.database.core.MockDatabase;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
 public class ResultSetCacheTest {
 
+    private final Database database = new MockDatabase();
+
 //    @Test
 //    public void permutations() {
 //        assertEquals(4, new ResultSetCache().permutations(new String[]{"a", "b"}).length);
@@ -29,4 +48,135 @@ public class ResultSetCacheTest {
 //                new String[]{null, null, null}
 //        ));
 //    }
+
+    @Test
+    public void get_bulkQueryIsCachedAndCounted() throws Exception {
+        ResultSetCache cache = new ResultSetCache();
+        AtomicInteger bulkFetches = new AtomicInteger();
+
+        assertEquals(1, cache.get(new TableExtractor("S1", "T1", true, bulkFetches)).size());
+        assertEquals(1, cache.get(new TableExtractor("S1", "T2", true, bulkFetches)).size());
+        assertEquals(0, cache.get(new TableExtractor("S1", "MISSING", true, bulkFetches)).size());
+
+        assertEquals(1, bulkFetches.get());
+        ResultSetCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getBulkQueries());
+        assertEquals(0, statistics.getSingleQueries());
+        assertEquals(1, statistics.getCachedSchemas());
+        assertTrue(statistics.getApproximateSize() > 0);
+    }
+
+    @Test
+    public void get_singleQueriesAreNotCached() throws Exception {
+        ResultSetCache cache = new ResultSetCache();
+        AtomicInteger bulkFetches = new AtomicInteger();
+
+        assertEquals(1, cache.get(new TableExtractor("S1", "T1", false, bulkFetches)).size());
+        assertEquals(1, cache.get(new TableExtractor("S1", "T1", false, bulkFetches)).size());
+
+        ResultSetCacheStatistics statistics = cache.getStatistics();
+        assertEquals(0, statistics.getHits());
+        assertEquals(2, statistics.getSingleQueries());
+        assertEquals(0, statistics.getCachedSchemas());
+        assertEquals(0, statistics.getApproximateSize());
+    }
+
+    @Test
+    public void evictSchema_rowsAreQueriedAgain() throws Exception {
+        ResultSetCache cache = new ResultSetCache();
+        AtomicInteger bulkFetches = new AtomicInteger();
+        cache.get(new TableExtractor("S1", "T1", true, bulkFetches));
+        cache.get(new TableExtractor("S2", "T1", true, bulkFetches));
+
+        cache.evictSchema(new ResultSetCache.RowData(null, "S1", database).createSchemaKey(database));
+
+        assertEquals(1, cache.getStatistics().getEvictedSchemas());
+        assertEquals(1, cache.getStatistics().getCachedSchemas());
+        assertEquals(1, cache.get(new TableExtractor("S1", "T1", true, bulkFetches)).size());
+        assertEquals(3, bulkFetches.get());
+    }
+
+    @Test
+    public void get_concurrentRequestsBulkQueryOnce() throws Exception {
+        final ResultSetCache cache = new ResultSetCache();
+        final AtomicInteger bulkFetches = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> requests = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final String table = "T" + (i % 3);
+                requests.add(() -> cache.get(new TableExtractor("S1", table, true, bulkFetches)).size());
+            }
+            for (Future<Integer> result : executorService.invokeAll(requests)) {
+                assertEquals(1, (int) result.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(1, bulkFetches.get());
+        assertEquals(200, cache.getStatistics().getHits() + cache.getStatistics().getMisses());
+    }
+
+    /**
+     * Returns the tables T0, T1 and T2 of a schema.
+     */
+    private class TableExtractor extends ResultSetCache.SingleResultSetExtractor {
+        private final String schema;
+        private final String table;
+        private final boolean bulk;
+        private final AtomicInteger bulkFetches;
+
+        TableExtractor(String schema, String table, boolean bulk, AtomicInteger bulkFetches) {
+            super(database);
+            this.schema = schema;
+            this.table = table;
+            this.bulk = bulk;
+            this.bulkFetches = bulkFetches;
+        }
+
+        @Override
+        boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
+            return bulk;
+        }
+
+        @Override
+        public boolean bulkContainsSchema(String schemaKey) {
+            return false;
+        }
+
+        @Override
+        public ResultSetCache.RowData rowKeyParameters(CachedRow row) {
+            return new ResultSetCache.RowData(null, schema, database, row.getString("TABLE_NAME"));
+        }
+
+        @Override
+        public ResultSetCache.RowData wantedKeyParameters() {
+            return new ResultSetCache.RowData(null, schema, database, table);
+        }
+
+        @Override
+        public List<CachedRow> fastFetchQuery() {
+            return Collections.singletonList(row(table));
+        }
+
+        @Override
+        public List<CachedRow> bulkFetchQuery() {
+            bulkFetches.incrementAndGet();
+            List<CachedRow> rows = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                rows.add(row("T" + i));
+            }
+            return rows;
+        }
+
+        private CachedRow row(String tableName) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("TABLE_SCHEM", schema);
+            row.put("TABLE_NAME", tableName);
+            return new CachedRow(row);
+        }
+    }
 }
@@ -14,8 +14,14 @@ import liquibase.statement.core.AddAutoIncrementStatement;
 import org.junit.After;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -126,6 +132,80 @@ public class SqlGeneratorFactoryTest {
         assertEquals(1, allGenerators.size());        
     }
 
+    @Test
+    public void getGenerators_registerClearsResolvedGenerators() {
+        AddAutoIncrementStatement statement = new AddAutoIncrementStatement(null, null, "person", "name", "varchar(255)", null, null);
+        H2Database database = new H2Database();
+        SortedSet<SqlGenerator> generators = SqlGeneratorFactory.getInstance().getGenerators(statement, database);
+        assertSame(generators, SqlGeneratorFactory.getInstance().getGenerators(statement, database));
+
+        SqlGenerator generator = addGenerator(AddAutoIncrementStatement.class, H2Database.class, 10);
+        assertEquals(2, SqlGeneratorFactory.getInstance().getGenerators(statement, database).size());
+        assertSame(generator, SqlGeneratorFactory.getInstance().getGenerators(statement, database).first());
+
+        SqlGeneratorFactory.getInstance().unregister(generator);
+        assertEquals(1, SqlGeneratorFactory.getInstance().getGenerators(statement, database).size());
+
+        SqlGeneratorFactory.getInstance().getGenerators().add(generator);
+        assertEquals(2, SqlGeneratorFactory.getInstance().getGenerators(statement, database).size());
+
+        SqlGeneratorFactory.getInstance().getGenerators().remove(generator);
+        assertEquals(1, SqlGeneratorFactory.getInstance().getGenerators(statement, database).size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getGenerators_resolvedGeneratorsCannotBeChanged() {
+        AddAutoIncrementStatement statement = new AddAutoIncrementStatement(null, null, "person", "name", "varchar(255)", null, null);
+        SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).clear();
+    }
+
+    @Test
+    public void getGenerators_statementDependentGenerator() {
+        SqlGeneratorFactory.getInstance().register(new TableNameSqlGenerator());
+
+        SortedSet<SqlGenerator> generators = SqlGeneratorFactory.getInstance().getGenerators(new AddAutoIncrementStatement(null, null, "special", "name", "varchar(255)", null, null), new H2Database());
+        assertEquals(2, generators.size());
+        assertTrue(generators.first() instanceof TableNameSqlGenerator);
+
+        generators = SqlGeneratorFactory.getInstance().getGenerators(new AddAutoIncrementStatement(null, null, "person", "name", "varchar(255)", null, null), new H2Database());
+        assertEquals(1, generators.size());
+    }
+
+    @Test
+    public void getInstance_concurrentAccess() throws Exception {
+        SqlGeneratorFactory.reset();
+        final AddAutoIncrementStatement statement = new AddAutoIncrementStatement(null, null, "person", "name", "varchar(255)", null, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SqlGenerator>> results = new ArrayList<Future<SqlGenerator>>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(new Callable<SqlGenerator>() {
+                    @Override
+                    public SqlGenerator call() {
+                        return SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).first();
+                    }
+                }));
+            }
+            for (Future<SqlGenerator> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class TableNameSqlGenerator extends AddAutoIncrementGeneratorHsqlH2 implements StatementDependentSqlGenerator {
+        @Override
+        public int getPriority() {
+            return super.getPriority() + 1;
+        }
+
+        @Override
+        public boolean supports(AddAutoIncrementStatement statement, Database database) {
+            return "special".equals(statement.getTableName());
+        }
+    }
+
     private SqlGenerator addGenerator(final Class<? extends SqlStatement> sqlStatementClass, final Class<? extends Database> sqlDatabaseClass, final int level) {
     	
         SqlGenerator generator = new SqlGenerator() {